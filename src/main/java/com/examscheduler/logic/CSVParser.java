@@ -60,6 +60,8 @@ public class CSVParser {
                     continue;
                 String[] parts = line.split(",");
                 if (parts.length >= 3) {
+                    courses.add(new Course(parts[0].trim(), parts[1].trim(), parseDuration(parts[2])));
+                } else if (parts.length == 2) {
                     courses.add(new Course(parts[0].trim(), parts[1].trim(), 1));
                 } else if (parts.length >= 1) {
                     courses.add(new Course(parts[0].trim()));
@@ -71,6 +73,15 @@ public class CSVParser {
         return courses;
     }
 
+    /** Exam length in consecutive slots; anything unreadable counts as one slot. */
+    private static int parseDuration(String value) {
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
     public static List<Classroom> parseClassrooms(String filePath) throws CSVParseException {
         List<Classroom> classrooms = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
@@ -241,6 +252,7 @@ public class CSVParser {
                         } catch (NumberFormatException e) {
                         }
                     }
+                    boolean pinned = parts.length >= 7 && Boolean.parseBoolean(parts[6].trim());
 
                     Course course = dm.getCourseByCode(courseCode);
                     Classroom room = dm.getClassroomByID(roomId);
@@ -265,6 +277,7 @@ public class CSVParser {
                         if (importedStudentCount != -1) {
                             exam.setStudentCount(importedStudentCount);
                         }
+                        exam.setPinned(pinned);
 
                         loadedExams.add(exam);
                     }
@@ -297,10 +310,11 @@ public class CSVParser {
         if (file == null)
             return;
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write("CourseCode,CourseName");
+            writer.write("CourseCode,CourseName,ExamDurationSlots");
             writer.newLine();
             for (Course c : courses) {
-                String line = String.format("%s,%s", c.getCourseCode(), c.getCourseName());
+                String line = String.format("%s,%s,%d", c.getCourseCode(), c.getCourseName(),
+                        c.getExamDurationSlots());
                 writer.write(line);
                 writer.newLine();
             }
@@ -0,0 +1,262 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.examscheduler.model.Course;
+import com.examscheduler.model.Student;
+
+/**
+ * ConflictGraph - course x course clash graph.
+ * Two courses are neighbours when they share at least one student; the edge
+ * weight is the number of shared students. Built once per generation from
+ * Course.getEnrolledStudents and stored in CSR form (offsets / neighbours /
+ * weights) over dense course and student indices, so the placement loop works
+ * on primitive arrays instead of hashing Student and TimeSlot objects.
+ */
+public class ConflictGraph {
+
+    private final List<Course> courses;
+    private final Map<String, Integer> courseIndex;
+    private final Map<String, Integer> studentIndex;
+    private final int[][] rosters;
+
+    // CSR adjacency
+    private final int[] offsets;
+    private final int[] neighbours;
+    private final int[] weights;
+
+    private ConflictGraph(List<Course> courses, Map<String, Integer> courseIndex, Map<String, Integer> studentIndex,
+            int[][] rosters, int[] offsets, int[] neighbours, int[] weights) {
+        this.courses = courses;
+        this.courseIndex = courseIndex;
+        this.studentIndex = studentIndex;
+        this.rosters = rosters;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.weights = weights;
+    }
+
+    public static ConflictGraph build(List<Course> courseList) {
+        List<Course> courses = new ArrayList<>(courseList);
+        int courseCount = courses.size();
+
+        Map<String, Integer> courseIndex = new HashMap<>();
+        Map<String, Integer> studentIndex = new HashMap<>();
+        int[][] rosters = new int[courseCount][];
+
+        for (int c = 0; c < courseCount; c++) {
+            Course course = courses.get(c);
+            courseIndex.put(course.getCourseCode(), c);
+            List<Student> enrolled = course.getEnrolledStudents();
+            int[] roster = new int[enrolled.size()];
+            int size = 0;
+            for (Student s : enrolled) {
+                Integer idx = studentIndex.get(s.getStudentID());
+                if (idx == null) {
+                    idx = studentIndex.size();
+                    studentIndex.put(s.getStudentID(), idx);
+                }
+                roster[size++] = idx;
+            }
+            Arrays.sort(roster);
+            rosters[c] = roster;
+        }
+
+        // Invert rosters: student -> courses
+        int studentCount = studentIndex.size();
+        int[] courseCountPerStudent = new int[studentCount];
+        for (int[] roster : rosters) {
+            for (int s : roster) {
+                courseCountPerStudent[s]++;
+            }
+        }
+        int[][] studentCourses = new int[studentCount][];
+        for (int s = 0; s < studentCount; s++) {
+            studentCourses[s] = new int[courseCountPerStudent[s]];
+            courseCountPerStudent[s] = 0;
+        }
+        for (int c = 0; c < courseCount; c++) {
+            for (int s : rosters[c]) {
+                studentCourses[s][courseCountPerStudent[s]++] = c;
+            }
+        }
+
+        // Count shared students per course pair with a scratch counter
+        int[] shared = new int[courseCount];
+        int[] touched = new int[courseCount];
+        int[] offsets = new int[courseCount + 1];
+        int[][] rowNeighbours = new int[courseCount][];
+        int[][] rowWeights = new int[courseCount][];
+
+        for (int c = 0; c < courseCount; c++) {
+            int touchedCount = 0;
+            for (int s : rosters[c]) {
+                for (int d : studentCourses[s]) {
+                    if (d == c)
+                        continue;
+                    if (shared[d]++ == 0) {
+                        touched[touchedCount++] = d;
+                    }
+                }
+            }
+            Arrays.sort(touched, 0, touchedCount);
+            rowNeighbours[c] = Arrays.copyOf(touched, touchedCount);
+            rowWeights[c] = new int[touchedCount];
+            for (int i = 0; i < touchedCount; i++) {
+                rowWeights[c][i] = shared[touched[i]];
+                shared[touched[i]] = 0;
+            }
+            offsets[c + 1] = offsets[c] + touchedCount;
+        }
+
+        int[] neighbours = new int[offsets[courseCount]];
+        int[] weights = new int[offsets[courseCount]];
+        for (int c = 0; c < courseCount; c++) {
+            System.arraycopy(rowNeighbours[c], 0, neighbours, offsets[c], rowNeighbours[c].length);
+            System.arraycopy(rowWeights[c], 0, weights, offsets[c], rowWeights[c].length);
+        }
+
+        return new ConflictGraph(courses, courseIndex, studentIndex, rosters, offsets, neighbours, weights);
+    }
+
+    public int getCourseCount() {
+        return courses.size();
+    }
+
+    public int getStudentCount() {
+        return studentIndex.size();
+    }
+
+    public Course getCourse(int index) {
+        return courses.get(index);
+    }
+
+    /**
+     * @return dense index of the course, or -1 if it is not part of the graph
+     */
+    public int indexOf(Course course) {
+        if (course == null)
+            return -1;
+        Integer idx = courseIndex.get(course.getCourseCode());
+        return idx != null ? idx : -1;
+    }
+
+    /**
+     * @return dense index of the student, or -1 if the student takes none of the courses
+     */
+    public int studentIndexOf(Student student) {
+        if (student == null)
+            return -1;
+        Integer idx = studentIndex.get(student.getStudentID());
+        return idx != null ? idx : -1;
+    }
+
+    /** Sorted dense student indices of the course. Do not modify. */
+    public int[] roster(int course) {
+        return rosters[course];
+    }
+
+    // ==================== CSR ACCESS ====================
+
+    public int neighbourStart(int course) {
+        return offsets[course];
+    }
+
+    public int neighbourEnd(int course) {
+        return offsets[course + 1];
+    }
+
+    public int neighbourAt(int position) {
+        return neighbours[position];
+    }
+
+    public int weightAt(int position) {
+        return weights[position];
+    }
+
+    public int degree(int course) {
+        return offsets[course + 1] - offsets[course];
+    }
+
+    public long weightedDegree(int course) {
+        long sum = 0;
+        for (int i = offsets[course]; i < offsets[course + 1]; i++) {
+            sum += weights[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return number of students shared by the two courses (0 when they do not conflict)
+     */
+    public int sharedStudents(int a, int b) {
+        int pos = Arrays.binarySearch(neighbours, offsets[a], offsets[a + 1], b);
+        return pos >= 0 ? weights[pos] : 0;
+    }
+
+    public boolean conflicts(int a, int b) {
+        return sharedStudents(a, b) > 0;
+    }
+
+    /** Longest exam of all courses, in consecutive slots. */
+    public int getMaxExamDuration() {
+        int max = 1;
+        for (Course course : courses) {
+            max = Math.max(max, course.getExamDurationSlots());
+        }
+        return max;
+    }
+
+    /**
+     * Connected components: groups of courses linked by chains of shared
+     * students. Courses in different components never clash and only compete
+     * for rooms. Each component lists its course indices in ascending order;
+     * the largest component comes first.
+     */
+    public List<int[]> components() {
+        int courseCount = getCourseCount();
+        boolean[] seen = new boolean[courseCount];
+        int[] queue = new int[courseCount];
+        List<int[]> components = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) {
+            if (seen[c])
+                continue;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = c;
+            seen[c] = true;
+            while (head < tail) {
+                int course = queue[head++];
+                for (int i = offsets[course]; i < offsets[course + 1]; i++) {
+                    int next = neighbours[i];
+                    if (!seen[next]) {
+                        seen[next] = true;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            int[] component = Arrays.copyOf(queue, tail);
+            Arrays.sort(component);
+            components.add(component);
+        }
+        components.sort((a, b) -> Integer.compare(b.length, a.length));
+        return components;
+    }
+
+    public int getEdgeCount() {
+        return neighbours.length / 2;
+    }
+
+    @Override
+    public String toString() {
+        return "ConflictGraph{" +
+                "courses=" + getCourseCount() +
+                ", students=" + getStudentCount() +
+                ", edges=" + getEdgeCount() +
+                '}';
+    }
+}
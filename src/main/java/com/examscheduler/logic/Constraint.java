@@ -0,0 +1,36 @@
+package com.examscheduler.logic;
+
+/**
+ * Constraint - a rule on the exams of one student, shared by the scheduler
+ * and the validator.
+ * A rule is stated over dense slot indices ((day - 1) * slotsPerDay +
+ * (slotNumber - 1)) and is only evaluated while a {@link ConstraintKernel}
+ * is compiled. After that the solver and the validator read precomputed
+ * tables, so a custom rule costs as little as a built-in one. See
+ * {@link Constraints} for the built-in rules.
+ */
+public interface Constraint {
+
+    /** Short name, used as the prefix of validation messages. */
+    String getName();
+
+    /**
+     * Whether the validator reports a violation as an error rather than a
+     * warning. The scheduler never violates any rule.
+     */
+    boolean isCritical();
+
+    /**
+     * True if one student may not have an exam in both slots. Called for
+     * every pair of slots when the kernel is compiled, including
+     * {@code slotA == slotB}.
+     */
+    default boolean forbids(int slotA, int slotB, int slotsPerDay) {
+        return false;
+    }
+
+    /** Most exams one student may have on one day; {@link Integer#MAX_VALUE} for no limit. */
+    default int getMaxExamsPerDay() {
+        return Integer.MAX_VALUE;
+    }
+}
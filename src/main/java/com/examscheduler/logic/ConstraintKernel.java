@@ -0,0 +1,272 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ConstraintKernel - a list of {@link Constraint}s compiled for one exam
+ * period.
+ * Pair rules become a slot x slot table holding the first rule that forbids
+ * the pair, plus, per slot, the list of slots it blocks. Daily limits fold
+ * into one number. {@link PlacementState} walks the blocked-slot lists when
+ * an exam is placed, and the validator looks up the table. Neither calls a
+ * rule again after compilation.
+ * Exams longer than one slot occupy an interval of consecutive slots of one
+ * day; for every pair of durations up to the longest exam the kernel also
+ * lists, per start, the starts of the other exam that overlap or touch a
+ * forbidden slot, so a multi-slot placement costs the same as a single one.
+ */
+public final class ConstraintKernel {
+
+    private final List<Constraint> constraints;
+    private final int days;
+    private final int slotsPerDay;
+    private final int slotCount;
+    private final byte[] pairRule;
+    private final int[][] blockedSlots;
+    private final int maxDuration;
+    // [(durationA - 1) * maxDuration + (durationB - 1)][startA] -> blocked starts of B
+    private final int[][][] blockedStarts;
+    private final boolean dayLocal;
+    private final int maxExamsPerDay;
+    private final Constraint dailyRule;
+
+    private ConstraintKernel(List<Constraint> constraints, int days, int slotsPerDay, int maxDuration) {
+        this.constraints = Collections.unmodifiableList(new ArrayList<>(constraints));
+        this.days = days;
+        this.slotsPerDay = slotsPerDay;
+        this.slotCount = days * slotsPerDay;
+        this.maxDuration = maxDuration;
+        this.pairRule = new byte[slotCount * slotCount];
+
+        for (int a = 0; a < slotCount; a++) {
+            for (int b = a; b < slotCount; b++) {
+                for (int k = 0; k < this.constraints.size(); k++) {
+                    Constraint rule = this.constraints.get(k);
+                    if (rule.forbids(a, b, slotsPerDay) || rule.forbids(b, a, slotsPerDay)) {
+                        pairRule[a * slotCount + b] = (byte) (k + 1);
+                        pairRule[b * slotCount + a] = (byte) (k + 1);
+                        break;
+                    }
+                }
+            }
+        }
+
+        this.blockedSlots = new int[slotCount][];
+        for (int a = 0; a < slotCount; a++) {
+            int count = 0;
+            for (int b = 0; b < slotCount; b++) {
+                if (pairRule[a * slotCount + b] != 0)
+                    count++;
+            }
+            blockedSlots[a] = new int[count];
+            count = 0;
+            for (int b = 0; b < slotCount; b++) {
+                if (pairRule[a * slotCount + b] != 0)
+                    blockedSlots[a][count++] = b;
+            }
+        }
+
+        boolean local = true;
+        for (int a = 0; a < slotCount && local; a++) {
+            for (int b : blockedSlots[a]) {
+                local &= a / slotsPerDay == b / slotsPerDay;
+            }
+        }
+        this.dayLocal = local;
+
+        this.blockedStarts = new int[maxDuration * maxDuration][][];
+        blockedStarts[0] = blockedSlots;
+        for (int durationA = 1; durationA <= maxDuration; durationA++) {
+            for (int durationB = 1; durationB <= maxDuration; durationB++) {
+                if (durationA > 1 || durationB > 1) {
+                    blockedStarts[(durationA - 1) * maxDuration + (durationB - 1)] =
+                            compileStarts(durationA, durationB);
+                }
+            }
+        }
+
+        int max = Integer.MAX_VALUE;
+        Constraint daily = null;
+        for (Constraint rule : this.constraints) {
+            if (rule.getMaxExamsPerDay() < max) {
+                max = rule.getMaxExamsPerDay();
+                daily = rule;
+            }
+        }
+        this.maxExamsPerDay = max;
+        this.dailyRule = daily;
+    }
+
+    /**
+     * Starts of a {@code durationB} exam that clash with a {@code durationA}
+     * exam starting at each slot: some slot of one interval and some slot of
+     * the other form a forbidden pair. Invalid starts get no list.
+     */
+    private int[][] compileStarts(int durationA, int durationB) {
+        int[][] starts = new int[slotCount][];
+        boolean[] hit = new boolean[slotCount];
+        for (int a = 0; a < slotCount; a++) {
+            if (!isValidStart(a, durationA)) {
+                starts[a] = new int[0];
+                continue;
+            }
+            Arrays.fill(hit, false);
+            int count = 0;
+            for (int x = a; x < a + durationA; x++) {
+                for (int y : blockedSlots[x]) {
+                    for (int u = Math.max(0, y - durationB + 1); u <= y; u++) {
+                        if (!hit[u] && isValidStart(u, durationB)) {
+                            hit[u] = true;
+                            count++;
+                        }
+                    }
+                }
+            }
+            starts[a] = new int[count];
+            count = 0;
+            for (int u = 0; u < slotCount; u++) {
+                if (hit[u])
+                    starts[a][count++] = u;
+            }
+        }
+        return starts;
+    }
+
+    public static ConstraintKernel compile(List<Constraint> constraints, int days, int slotsPerDay) {
+        return compile(constraints, days, slotsPerDay, 1);
+    }
+
+    /**
+     * @param maxDuration longest exam, in consecutive slots, the kernel has to
+     *                    handle
+     */
+    public static ConstraintKernel compile(List<Constraint> constraints, int days, int slotsPerDay,
+            int maxDuration) {
+        if (constraints == null) {
+            throw new IllegalArgumentException("Constraints are required");
+        }
+        if (constraints.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("At most " + Byte.MAX_VALUE + " constraints are supported");
+        }
+        if (days <= 0 || slotsPerDay <= 0) {
+            throw new IllegalArgumentException("Days and slots per day must be positive");
+        }
+        if (maxDuration <= 0) {
+            throw new IllegalArgumentException("Exam duration must be positive");
+        }
+        return new ConstraintKernel(constraints, days, slotsPerDay, maxDuration);
+    }
+
+    /** Kernel of {@link Constraints#standard()}. */
+    public static ConstraintKernel standard(int days, int slotsPerDay) {
+        return compile(Constraints.standard(), days, slotsPerDay);
+    }
+
+    /** Kernel of {@link Constraints#standard()} for exams up to {@code maxDuration} slots. */
+    public static ConstraintKernel standard(int days, int slotsPerDay, int maxDuration) {
+        return compile(Constraints.standard(), days, slotsPerDay, maxDuration);
+    }
+
+    public List<Constraint> getConstraints() {
+        return constraints;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getSlotsPerDay() {
+        return slotsPerDay;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public int getMaxDuration() {
+        return maxDuration;
+    }
+
+    /** True if an exam of the given length can start in the slot without running past the end of its day. */
+    public boolean isValidStart(int slot, int duration) {
+        return slot >= 0 && slot < slotCount && slot % slotsPerDay + duration <= slotsPerDay;
+    }
+
+    /**
+     * True if no pair rule links slots of different days, so each day can be
+     * checked on its own. Daily limits are per day by definition.
+     */
+    public boolean isDayLocal() {
+        return dayLocal;
+    }
+
+    /** True if one student may not have exams in both slots. */
+    public boolean conflicts(int slotA, int slotB) {
+        return pairRule[slotA * slotCount + slotB] != 0;
+    }
+
+    /** First rule forbidding the pair, or null if it is allowed. */
+    public Constraint ruleBetween(int slotA, int slotB) {
+        int k = pairRule[slotA * slotCount + slotB];
+        return k == 0 ? null : constraints.get(k - 1);
+    }
+
+    /** True if one student may not sit both exams, each given by its start and length. */
+    public boolean conflicts(int startA, int durationA, int startB, int durationB) {
+        return ruleBetween(startA, durationA, startB, durationB) != null;
+    }
+
+    /**
+     * First rule forbidding some slot of one exam together with some slot of
+     * the other, or null if the two intervals are allowed.
+     */
+    public Constraint ruleBetween(int startA, int durationA, int startB, int durationB) {
+        int first = 0;
+        for (int x = startA; x < startA + durationA; x++) {
+            for (int y = startB; y < startB + durationB; y++) {
+                int k = pairRule[x * slotCount + y];
+                if (k != 0 && (first == 0 || k < first))
+                    first = k;
+            }
+        }
+        return first == 0 ? null : constraints.get(first - 1);
+    }
+
+    /** Slots a student with an exam in {@code slot} cannot use, the slot itself included. Do not modify. */
+    public int[] blockedSlots(int slot) {
+        return blockedSlots[slot];
+    }
+
+    /**
+     * Starts a {@code durationB}-slot exam cannot use when a student also has
+     * a {@code durationA}-slot exam starting in {@code slot}. Starts where the
+     * second exam would run past the end of its day are left out. Do not
+     * modify.
+     */
+    public int[] blockedStarts(int slot, int durationA, int durationB) {
+        return blockedStarts[(durationA - 1) * maxDuration + (durationB - 1)][slot];
+    }
+
+    /** Tightest daily limit of all rules; {@link Integer#MAX_VALUE} if none. */
+    public int getMaxExamsPerDay() {
+        return maxExamsPerDay;
+    }
+
+    /** Rule that sets the daily limit, or null. */
+    public Constraint getDailyLimitRule() {
+        return dailyRule;
+    }
+
+    @Override
+    public String toString() {
+        return "ConstraintKernel{" +
+                "constraints=" + constraints +
+                ", days=" + days +
+                ", slotsPerDay=" + slotsPerDay +
+                ", maxDuration=" + maxDuration +
+                '}';
+    }
+}
@@ -0,0 +1,79 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Built-in {@link Constraint}s: the hard rules of the original generator.
+ */
+public final class Constraints {
+
+    /** A student cannot sit two exams in the same slot. */
+    public static final Constraint NO_OVERLAP = new Rule("Student Conflict", true) {
+        @Override
+        public boolean forbids(int slotA, int slotB, int slotsPerDay) {
+            return slotA == slotB;
+        }
+    };
+
+    /** A student cannot have exams in two consecutive slots of the same day. */
+    public static final Constraint NO_BACK_TO_BACK = new Rule("Consecutive Exam", false) {
+        @Override
+        public boolean forbids(int slotA, int slotB, int slotsPerDay) {
+            return slotA / slotsPerDay == slotB / slotsPerDay && Math.abs(slotA - slotB) == 1;
+        }
+    };
+
+    private Constraints() {
+    }
+
+    /** A student has at most {@code max} exams per day. */
+    public static Constraint maxExamsPerDay(int max) {
+        if (max <= 0) {
+            throw new IllegalArgumentException("Daily exam limit must be positive");
+        }
+        return new Rule("Daily Limit", false) {
+            @Override
+            public int getMaxExamsPerDay() {
+                return max;
+            }
+
+            @Override
+            public String toString() {
+                return getName() + " (" + max + ")";
+            }
+        };
+    }
+
+    /** The rules {@link SchedulingEngine} uses unless told otherwise. */
+    public static List<Constraint> standard() {
+        return new ArrayList<>(Arrays.asList(NO_OVERLAP, NO_BACK_TO_BACK,
+                maxExamsPerDay(SchedulingEngine.MAX_EXAMS_PER_DAY)));
+    }
+
+    private abstract static class Rule implements Constraint {
+        private final String name;
+        private final boolean critical;
+
+        Rule(String name, boolean critical) {
+            this.name = name;
+            this.critical = critical;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isCritical() {
+            return critical;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
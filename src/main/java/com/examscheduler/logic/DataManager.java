@@ -35,13 +35,18 @@ public class DataManager {
 
     private Schedule schedule;
 
+    // Variants kept for comparison in this session; not saved to file
+    private final List<ScheduleSnapshot> snapshots = new ArrayList<>();
+
     // Source File References (Required for automatic updates)
     private File studentFile;
     private File courseFile;
     private File classroomFile;
     private File attendanceFile;
 
-    private static final int DATA_VERSION = 1;
+    private static final int DATA_VERSION = 2;
+    // Version 1 files lack Exam.pinned, which then reads as false
+    private static final int OLDEST_DATA_VERSION = 1;
 
     private DataManager() {
         this.students = new ArrayList<>();
@@ -191,6 +196,31 @@ public class DataManager {
         this.schedule = schedule;
     }
 
+    public List<ScheduleSnapshot> getSnapshots() {
+        return new ArrayList<>(snapshots);
+    }
+
+    /** Keeps a snapshot; one with the same name is replaced. */
+    public void addSnapshot(ScheduleSnapshot snapshot) {
+        if (snapshot == null)
+            return;
+        snapshots.removeIf(s -> s.getName().equals(snapshot.getName()));
+        snapshots.add(snapshot);
+    }
+
+    public boolean removeSnapshot(ScheduleSnapshot snapshot) {
+        return snapshots.remove(snapshot);
+    }
+
+    /**
+     * Makes the snapshot's schedule the current one. The current schedule
+     * gets its own snapshot of it, so editing it leaves the stored one as it
+     * was.
+     */
+    public void restoreSnapshot(ScheduleSnapshot snapshot) {
+        this.schedule = snapshot.getSchedule().snapshot();
+    }
+
     public List<Student> getStudents() {
         return students;
     }
@@ -253,6 +283,7 @@ public class DataManager {
         courseIndex.clear();
         classroomIndex.clear();
         this.schedule = null;
+        snapshots.clear();
     }
 
     public Classroom getClassroomByID(String id) {
@@ -288,7 +319,7 @@ public class DataManager {
     public void loadFromFile(File file) throws IOException, ClassNotFoundException {
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
             int version = ois.readInt();
-            if (version != DATA_VERSION)
+            if (version < OLDEST_DATA_VERSION || version > DATA_VERSION)
                 throw new IOException("Incompatible data version");
 
             this.students = (List<Student>) ois.readObject();
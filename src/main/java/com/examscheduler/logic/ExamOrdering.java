@@ -0,0 +1,33 @@
+package com.examscheduler.logic;
+
+/**
+ * Order in which {@link SchedulingEngine} places exam units.
+ * All strategies except {@link #LARGEST_ENROLLMENT} are driven by the
+ * {@link ConflictGraph}; {@link #DSATUR} re-evaluates the order after every
+ * placement.
+ */
+public enum ExamOrdering {
+    LARGEST_ENROLLMENT("Largest enrollment first"),
+    LARGEST_DEGREE("Most conflicting courses first"),
+    WEIGHTED_DEGREE("Most shared students first"),
+    DSATUR("DSatur (most constrained first)");
+
+    private final String displayName;
+
+    ExamOrdering(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public boolean isDynamic() {
+        return this == DSATUR;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
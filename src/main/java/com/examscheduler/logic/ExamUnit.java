@@ -0,0 +1,140 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.examscheduler.model.Course;
+import com.examscheduler.model.Exam;
+import com.examscheduler.model.Student;
+
+/**
+ * ExamUnit - all exam sessions of one course.
+ * A course that fits into a single room has one part. A course larger than
+ * every room is splittable: the rooms are chosen per slot from what is still
+ * free there, and the roster is divided over them only when the schedule is
+ * built ({@link #createParts}). The scheduler places a unit as a whole.
+ */
+public class ExamUnit {
+    private final int courseIndex;
+    private final Course course;
+    private final List<Exam> parts;
+    private final boolean splittable;
+
+    public ExamUnit(int courseIndex, Course course, List<Exam> parts) {
+        this.courseIndex = courseIndex;
+        this.course = course;
+        this.parts = new ArrayList<>(parts);
+        this.splittable = false;
+        // Largest part first so it gets first pick of the big rooms
+        this.parts.sort((a, b) -> Integer.compare(b.getStudentCount(), a.getStudentCount()));
+    }
+
+    /**
+     * Splittable unit: the parts are decided by the rooms it gets.
+     */
+    public ExamUnit(int courseIndex, Course course) {
+        this.courseIndex = courseIndex;
+        this.course = course;
+        this.parts = new ArrayList<>();
+        this.splittable = true;
+    }
+
+    public int getCourseIndex() {
+        return courseIndex;
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+
+    /** Fixed parts; empty for a splittable unit. */
+    public List<Exam> getParts() {
+        return Collections.unmodifiableList(parts);
+    }
+
+    public int getPartCount() {
+        return parts.size();
+    }
+
+    public boolean isSplittable() {
+        return splittable;
+    }
+
+    public boolean isSplit() {
+        return splittable || parts.size() > 1;
+    }
+
+    public int getTotalStudents() {
+        if (splittable) {
+            return course.getStudentCount();
+        }
+        int total = 0;
+        for (Exam part : parts) {
+            total += part.getStudentCount();
+        }
+        return total;
+    }
+
+    /**
+     * Students per room for the given room capacities. Fixed units return
+     * their part sizes; a splittable unit is spread over the rooms in
+     * proportion to their capacity.
+     */
+    public int[] partSizes(int[] capacities) {
+        int[] sizes = new int[capacities.length];
+        if (!splittable) {
+            for (int p = 0; p < sizes.length; p++) {
+                sizes[p] = parts.get(p).getStudentCount();
+            }
+            return sizes;
+        }
+
+        int total = getTotalStudents();
+        long capacitySum = 0;
+        for (int capacity : capacities) {
+            capacitySum += capacity;
+        }
+        int assigned = 0;
+        for (int p = 0; p < sizes.length; p++) {
+            sizes[p] = (int) (total * (long) capacities[p] / capacitySum);
+            assigned += sizes[p];
+        }
+        for (int p = 0; assigned < total; p = (p + 1) % sizes.length) {
+            if (sizes[p] < capacities[p]) {
+                sizes[p]++;
+                assigned++;
+            }
+        }
+        return sizes;
+    }
+
+    /**
+     * Exam sessions for the given sizes, each with its own slice of the
+     * roster. Fixed units return their existing parts.
+     */
+    public List<Exam> createParts(int[] sizes) {
+        if (!splittable) {
+            return getParts();
+        }
+        List<Student> students = course.getEnrolledStudents();
+        List<Exam> created = new ArrayList<>();
+        int start = 0;
+        for (int size : sizes) {
+            Exam part = new Exam(course);
+            part.setAssignedStudents(students.subList(start, start + size));
+            created.add(part);
+            start += size;
+        }
+        return created;
+    }
+
+    @Override
+    public String toString() {
+        return "ExamUnit{" +
+                "course=" + course.getCourseCode() +
+                ", parts=" + (splittable ? "split" : String.valueOf(parts.size())) +
+                ", students=" + getTotalStudents() +
+                '}';
+    }
+}
@@ -0,0 +1,287 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.examscheduler.model.Classroom;
+import com.examscheduler.model.Course;
+import com.examscheduler.model.Student;
+
+/**
+ * FeasibilityCheck - cheap lower bounds on the exam period, computed before
+ * solving.
+ * Every bound is a number of days no schedule can do without:
+ * <ul>
+ * <li>a group of courses that pairwise share students needs one slot each,
+ * and the constraints allow only so many of them per day;</li>
+ * <li>the busiest student's exams are limited the same way, and by the
+ * daily limit;</li>
+ * <li>exams need room-slots (the fewest rooms that seat each one, times its
+ * length) and seats, and a day offers only rooms x slots of each.</li>
+ * </ul>
+ * Courses larger than all rooms together, or longer than a day, can never be
+ * placed. Everything that does not depend on the number of days is computed
+ * once, so {@link #check} can be called for many period lengths.
+ */
+public class FeasibilityCheck {
+
+    // Greedy clique search stops after this long; the bound only gets weaker
+    private static final long CLIQUE_BUDGET_MILLIS = 300;
+
+    private final ConflictGraph graph;
+    private final int slotsPerDay;
+    private final int roomCount;
+
+    private final List<String> blockers = new ArrayList<>();
+    private int cliqueSize;
+    private String cliqueExample;
+    private int cliquePerDay;
+    private int busiestExams;
+    private String busiestStudent;
+    private int studentPerDay;
+    private long roomSlotDemand;
+    private long seatDemand;
+    private long totalSeats;
+    private final long computeMillis;
+
+    /** Builds the conflict graph from the courses that have students. */
+    public FeasibilityCheck(List<Course> courses, List<Classroom> classrooms, int slotsPerDay,
+            List<Constraint> constraints) {
+        this(ConflictGraph.build(courses.stream()
+                .filter(c -> c.getStudentCount() > 0)
+                .collect(Collectors.toList())), classrooms, slotsPerDay, constraints);
+    }
+
+    public FeasibilityCheck(ConflictGraph graph, List<Classroom> classrooms, int slotsPerDay,
+            List<Constraint> constraints) {
+        if (slotsPerDay <= 0) {
+            throw new IllegalArgumentException("Slots per day must be positive");
+        }
+        long start = System.currentTimeMillis();
+        this.graph = graph;
+        this.slotsPerDay = slotsPerDay;
+        this.roomCount = classrooms.size();
+
+        ConstraintKernel kernel = ConstraintKernel.compile(constraints, 1, slotsPerDay);
+        this.cliquePerDay = slotsPerDayApart(kernel);
+        this.studentPerDay = Math.min(cliquePerDay, kernel.getMaxExamsPerDay());
+
+        computeRoomDemand(classrooms);
+        computeBusiestStudent();
+        computeClique(start);
+        this.computeMillis = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Bounds for a period of {@code days} days.
+     */
+    public FeasibilityReport check(int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Days must be positive");
+        }
+        long start = System.currentTimeMillis();
+        List<String> bounds = new ArrayList<>();
+        List<String> problems = new ArrayList<>(blockers);
+        int minimumDays = getMinimumDays();
+
+        if (cliqueSize > 0) {
+            int needed = daysFor(cliqueSize, cliquePerDay);
+            String line = "Clash group: " + cliqueSize + " courses share students pairwise (e.g. " + cliqueExample
+                    + "), at most " + cliquePerDay + " per day → ≥ " + describeDays(needed);
+            bounds.add(line);
+            if (needed > days)
+                problems.add(line);
+        }
+        if (busiestExams > 0) {
+            int needed = daysFor(busiestExams, studentPerDay);
+            String line = "Busiest student: " + busiestStudent + " has " + busiestExams + " exams, at most "
+                    + studentPerDay + " per day → ≥ " + describeDays(needed);
+            bounds.add(line);
+            if (needed > days)
+                problems.add(line);
+        }
+        if (roomSlotDemand > 0) {
+            int needed = daysFor(roomSlotDemand, (long) roomCount * slotsPerDay);
+            String line = String.format("Rooms: exams need %,d room-slots, %d rooms × %d slots give %,d per day → ≥ %s",
+                    roomSlotDemand, roomCount, slotsPerDay, (long) roomCount * slotsPerDay, describeDays(needed));
+            bounds.add(line);
+            if (needed > days)
+                problems.add(line);
+
+            needed = daysFor(seatDemand, totalSeats * slotsPerDay);
+            line = String.format("Seats: exams need %,d seat-slots, %,d seats × %d slots give %,d per day → ≥ %s",
+                    seatDemand, totalSeats, slotsPerDay, totalSeats * slotsPerDay, describeDays(needed));
+            bounds.add(line);
+            if (needed > days)
+                problems.add(line);
+        }
+        return new FeasibilityReport(days, slotsPerDay, minimumDays, bounds, problems,
+                computeMillis + System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Largest of the day bounds, or -1 if some course cannot be placed in any
+     * number of days.
+     */
+    public int getMinimumDays() {
+        if (!blockers.isEmpty())
+            return -1;
+        int days = 1;
+        days = Math.max(days, daysFor(cliqueSize, cliquePerDay));
+        days = Math.max(days, daysFor(busiestExams, studentPerDay));
+        days = Math.max(days, daysFor(roomSlotDemand, (long) roomCount * slotsPerDay));
+        days = Math.max(days, daysFor(seatDemand, totalSeats * slotsPerDay));
+        return days == Integer.MAX_VALUE ? -1 : days;
+    }
+
+    // ==================== BOUNDS ====================
+
+    /**
+     * Most slots of one day that pairwise do not clash under the kernel,
+     * taken earliest first (optimal for rules between nearby slots).
+     */
+    private static int slotsPerDayApart(ConstraintKernel kernel) {
+        List<Integer> picked = new ArrayList<>();
+        for (int slot = 0; slot < kernel.getSlotsPerDay(); slot++) {
+            boolean free = true;
+            for (int p : picked) {
+                if (kernel.conflicts(p, slot)) {
+                    free = false;
+                    break;
+                }
+            }
+            if (free)
+                picked.add(slot);
+        }
+        return picked.size();
+    }
+
+    /** Room-slots and seats every course needs at least, and courses that fit nowhere. */
+    private void computeRoomDemand(List<Classroom> classrooms) {
+        int[] capacities = classrooms.stream()
+                .mapToInt(Classroom::getCapacity)
+                .filter(c -> c > 0)
+                .sorted()
+                .toArray();
+        long[] largest = new long[capacities.length + 1];
+        for (int k = 1; k <= capacities.length; k++) {
+            largest[k] = largest[k - 1] + capacities[capacities.length - k];
+        }
+        totalSeats = largest[capacities.length];
+
+        for (int c = 0; c < graph.getCourseCount(); c++) {
+            Course course = graph.getCourse(c);
+            int students = graph.roster(c).length;
+            int duration = course.getExamDurationSlots();
+            if (duration > slotsPerDay) {
+                blockers.add(course.getCourseCode() + " needs " + duration + " consecutive slots, but a day has only "
+                        + slotsPerDay);
+                continue;
+            }
+            if (students > totalSeats) {
+                blockers.add(course.getCourseCode() + " has " + students + " students, but all rooms together seat "
+                        + totalSeats);
+                continue;
+            }
+            int rooms = 1;
+            while (largest[rooms] < students) {
+                rooms++;
+            }
+            roomSlotDemand += (long) rooms * duration;
+            seatDemand += (long) students * duration;
+        }
+    }
+
+    /** A student's courses pairwise clash, and the daily limit applies on top. */
+    private void computeBusiestStudent() {
+        int[] exams = new int[graph.getStudentCount()];
+        for (int c = 0; c < graph.getCourseCount(); c++) {
+            for (int s : graph.roster(c)) {
+                exams[s]++;
+            }
+        }
+        int busiest = -1;
+        for (int s = 0; s < exams.length; s++) {
+            if (busiest < 0 || exams[s] > exams[busiest])
+                busiest = s;
+        }
+        if (busiest < 0)
+            return;
+        busiestExams = exams[busiest];
+        for (int c = 0; c < graph.getCourseCount() && busiestStudent == null; c++) {
+            for (Student student : graph.getCourse(c).getEnrolledStudents()) {
+                if (graph.studentIndexOf(student) == busiest) {
+                    busiestStudent = student.getStudentID();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Greedy cliques grown from each course in descending degree order, each
+     * step adding the highest-degree course that clashes with all members.
+     * Stops when no remaining start can beat the best clique or the time
+     * budget is spent.
+     */
+    private void computeClique(long start) {
+        int n = graph.getCourseCount();
+        if (n == 0)
+            return;
+        BitSet[] adjacency = new BitSet[n];
+        Integer[] order = new Integer[n];
+        for (int c = 0; c < n; c++) {
+            adjacency[c] = new BitSet(n);
+            for (int i = graph.neighbourStart(c); i < graph.neighbourEnd(c); i++) {
+                adjacency[c].set(graph.neighbourAt(i));
+            }
+            order[c] = c;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(graph.degree(b), graph.degree(a)));
+
+        List<Integer> best = new ArrayList<>();
+        for (int v : order) {
+            if (graph.degree(v) + 1 <= best.size()
+                    || System.currentTimeMillis() - start > CLIQUE_BUDGET_MILLIS)
+                break;
+            List<Integer> clique = new ArrayList<>();
+            clique.add(v);
+            BitSet candidates = (BitSet) adjacency[v].clone();
+            while (!candidates.isEmpty()) {
+                int pick = -1;
+                for (int u = candidates.nextSetBit(0); u >= 0; u = candidates.nextSetBit(u + 1)) {
+                    if (pick < 0 || graph.degree(u) > graph.degree(pick))
+                        pick = u;
+                }
+                clique.add(pick);
+                candidates.and(adjacency[pick]);
+            }
+            if (clique.size() > best.size())
+                best = clique;
+        }
+
+        cliqueSize = best.size();
+        List<String> codes = new ArrayList<>();
+        for (int k = 0; k < Math.min(3, best.size()); k++) {
+            codes.add(graph.getCourse(best.get(k)).getCourseCode());
+        }
+        cliqueExample = String.join(", ", codes) + (best.size() > 3 ? ", ..." : "");
+    }
+
+    private static int daysFor(long needed, long perDay) {
+        if (needed <= 0)
+            return 1;
+        if (perDay <= 0)
+            return Integer.MAX_VALUE;
+        return (int) Math.min(Integer.MAX_VALUE, (needed + perDay - 1) / perDay);
+    }
+
+    private static String describeDays(int days) {
+        if (days == Integer.MAX_VALUE)
+            return "no number of days";
+        return days + (days == 1 ? " day" : " days");
+    }
+}
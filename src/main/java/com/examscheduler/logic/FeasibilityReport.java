@@ -0,0 +1,78 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a {@link FeasibilityCheck} for one exam period: the lower
+ * bounds that were computed and the ones the period does not meet.
+ * A period that passes may still be too short; one that fails cannot work.
+ */
+public class FeasibilityReport {
+    private final int days;
+    private final int slotsPerDay;
+    private final int minimumDays;
+    private final List<String> bounds;
+    private final List<String> problems;
+    private final long elapsedMillis;
+
+    public FeasibilityReport(int days, int slotsPerDay, int minimumDays, List<String> bounds, List<String> problems,
+            long elapsedMillis) {
+        this.days = days;
+        this.slotsPerDay = slotsPerDay;
+        this.minimumDays = minimumDays;
+        this.bounds = new ArrayList<>(bounds);
+        this.problems = new ArrayList<>(problems);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getSlotsPerDay() {
+        return slotsPerDay;
+    }
+
+    /** Fewest days every bound allows, or -1 if some course fits in no period. */
+    public int getMinimumDays() {
+        return minimumDays;
+    }
+
+    /** One line per bound, whether met or not. */
+    public List<String> getBounds() {
+        return new ArrayList<>(bounds);
+    }
+
+    /** Bounds the period does not meet, and courses that can never be placed. */
+    public List<String> getProblems() {
+        return new ArrayList<>(problems);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /** False when the period certainly cannot hold all exams. */
+    public boolean isPossible() {
+        return problems.isEmpty();
+    }
+
+    public String getSummary() {
+        if (minimumDays < 0)
+            return String.format("Feasibility: some courses can never be placed (%d ms)", elapsedMillis);
+        return String.format("Feasibility: %d days × %d slots %s, at least %d days needed (%d ms)",
+                days, slotsPerDay, isPossible() ? "may work" : "cannot work", minimumDays, elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "FeasibilityReport{" +
+                "days=" + days +
+                ", slotsPerDay=" + slotsPerDay +
+                ", minimumDays=" + minimumDays +
+                ", problems=" + problems.size() +
+                ", elapsedMs=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,406 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.examscheduler.model.Classroom;
+import com.examscheduler.model.Course;
+import com.examscheduler.model.Exam;
+import com.examscheduler.model.Schedule;
+import com.examscheduler.model.TimeSlot;
+
+/**
+ * IncrementalRepair - fixes an existing schedule after edits instead of
+ * generating a new one.
+ * The current placement is loaded into a {@link PlacementState}; only the
+ * courses that clash, no longer fit their rooms, or were changed without an
+ * exam are taken out. Each of them first tries the slot it had, then the
+ * nearest slots, and finally a {@link KempeChainRepair} pass that moves a few
+ * other exams. Everything else keeps its slot and room, and pinned exams
+ * are treated like exams moved by hand. Courses that still cannot be placed
+ * are unscheduled and reported, as in a full generation.
+ * After edits only the edited courses and their neighbours in the
+ * {@link ConflictGraph} are re-checked, since no other course can have
+ * gained a student clash; courses left unscheduled earlier stay as they are.
+ * With an empty change set, or with {@link #setCheckAll}, the whole
+ * schedule is checked. The conflict graph, the expensive part to build, is
+ * kept for the next repair as long as no enrollment changed.
+ */
+public class IncrementalRepair {
+
+    private final List<Course> courses;
+    private final List<Classroom> classrooms;
+    private long timeLimitMillis = 500;
+    private List<Constraint> constraints = Constraints.standard();
+    private ConflictGraph graph;
+    private boolean checkAll;
+
+    public IncrementalRepair(List<Course> courses, List<Classroom> classrooms) {
+        if (courses == null) {
+            throw new IllegalArgumentException("Courses are required");
+        }
+        if (classrooms == null || classrooms.isEmpty()) {
+            throw new IllegalArgumentException("At least one classroom is required");
+        }
+        this.courses = new ArrayList<>(courses);
+        this.classrooms = new ArrayList<>(classrooms);
+    }
+
+    /** Upper bound for the ejection-chain part of the repair. */
+    public long getTimeLimitMillis() {
+        return timeLimitMillis;
+    }
+
+    public void setTimeLimitMillis(long timeLimitMillis) {
+        this.timeLimitMillis = Math.max(0, timeLimitMillis);
+    }
+
+    /** Rules the repaired schedule must satisfy; should match the ones it was generated with. */
+    public List<Constraint> getConstraints() {
+        return new ArrayList<>(constraints);
+    }
+
+    public void setConstraints(List<Constraint> constraints) {
+        this.constraints = constraints != null ? new ArrayList<>(constraints) : Constraints.standard();
+    }
+
+    /** True if every course is checked, not only the edited ones and their neighbours. */
+    public boolean isCheckAll() {
+        return checkAll;
+    }
+
+    public void setCheckAll(boolean checkAll) {
+        this.checkAll = checkAll;
+    }
+
+    /** Conflict graph of the last repair, to hand to the next repair of the same data. */
+    public ConflictGraph getConflictGraph() {
+        return graph;
+    }
+
+    /**
+     * Graph from an earlier repair. It is used only if it still matches the
+     * courses and their enrollment counts and the change set records no
+     * enrollment change; otherwise it is rebuilt.
+     */
+    public void setConflictGraph(ConflictGraph graph) {
+        this.graph = graph;
+    }
+
+    public RepairResult repair(Schedule schedule, ScheduleChangeSet changes) {
+        return repair(schedule, changes, SchedulingListener.NONE);
+    }
+
+    /**
+     * Repairs the schedule in place.
+     */
+    public RepairResult repair(Schedule schedule, ScheduleChangeSet changes, SchedulingListener listener) {
+        if (schedule == null) {
+            throw new IllegalArgumentException("No schedule to repair");
+        }
+        if (changes == null) {
+            changes = new ScheduleChangeSet();
+        }
+        if (listener == null) {
+            listener = SchedulingListener.NONE;
+        }
+        long start = System.currentTimeMillis();
+
+        Map<Course, List<Exam>> examsByCourse = new LinkedHashMap<>();
+        for (Exam exam : schedule.getExams()) {
+            examsByCourse.computeIfAbsent(exam.getCourse(), k -> new ArrayList<>()).add(exam);
+        }
+        Set<Course> examCourses = new LinkedHashSet<>();
+        for (Course course : courses) {
+            if (course.getStudentCount() > 0)
+                examCourses.add(course);
+        }
+        for (Course course : examsByCourse.keySet()) {
+            if (course.getStudentCount() > 0)
+                examCourses.add(course);
+        }
+
+        ConflictGraph graph = conflictGraph(new ArrayList<>(examCourses), changes);
+        PlacementState state = new PlacementState(graph, classrooms,
+                ConstraintKernel.compile(constraints, schedule.getExamPeriodDays(), schedule.getSlotsPerDay(),
+                        graph.getMaxExamDuration()));
+        int maxRoomCapacity = classrooms.stream().mapToInt(Classroom::getCapacity).max().orElse(0);
+        Map<String, Integer> roomIndex = new HashMap<>();
+        for (int r = 0; r < classrooms.size(); r++) {
+            roomIndex.put(classrooms.get(r).getClassroomID(), r);
+        }
+
+        int courseCount = graph.getCourseCount();
+        boolean[] affected = checkAll ? null : affectedCourses(graph, changes);
+        ExamUnit[] units = new ExamUnit[courseCount];
+        int[] originalSlot = new int[courseCount];
+        int[][] originalRooms = new int[courseCount][];
+        boolean[] rebuilt = new boolean[courseCount];
+        boolean[] fixed = new boolean[courseCount];
+        List<Integer> pending = new ArrayList<>();
+
+        // ---- Load the current placement, hand-placed exams first so they keep their rooms ----
+        List<Integer> loadOrder = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) {
+            fixed[c] = changes.getFixedCourses().contains(graph.getCourse(c))
+                    || examsByCourse.getOrDefault(graph.getCourse(c), Collections.emptyList()).stream()
+                            .anyMatch(Exam::isPinned);
+            originalSlot[c] = -1;
+            loadOrder.add(c);
+        }
+        loadOrder.sort(Comparator.comparing(c -> !fixed[c]));
+        for (int c : loadOrder) {
+            Course course = graph.getCourse(c);
+            List<Exam> existing = examsByCourse.getOrDefault(course, Collections.emptyList());
+            boolean changed = changes.getChangedCourses().contains(course);
+            if (existing.isEmpty() && !changed)
+                continue;
+            if (affected != null && !affected[c] && existing.stream().noneMatch(Exam::isScheduled))
+                continue;
+
+            int seats = 0;
+            for (Exam exam : existing) {
+                seats += exam.getStudentCount();
+            }
+            // Split parts carry their own roster slices, which go stale when enrollment changes
+            rebuilt[c] = existing.isEmpty() || (changed && (existing.size() > 1 || seats != course.getStudentCount()));
+            if (rebuilt[c]) {
+                units[c] = course.getStudentCount() > maxRoomCapacity
+                        ? new ExamUnit(c, course)
+                        : new ExamUnit(c, course, Collections.singletonList(new Exam(course)));
+            } else {
+                units[c] = new ExamUnit(c, course, existing);
+            }
+
+            int slot = commonSlot(existing, state);
+            int[] rooms = slot >= 0 && !rebuilt[c] ? roomIndices(units[c].getParts(), roomIndex) : null;
+            originalSlot[c] = slot;
+            originalRooms[c] = rooms;
+            if (rooms == null || !allFree(state, c, rooms, slot)) {
+                pending.add(c);
+            } else {
+                state.placeUnit(c, slot, rooms);
+            }
+        }
+
+        // ---- Take out what no longer fits, changed courses first ----
+        int checked = pending.size();
+        List<Integer> check = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) {
+            if (state.isPlaced(c) && !fixed[c] && (affected == null || affected[c]))
+                check.add(c);
+        }
+        Set<Course> changedCourses = changes.getChangedCourses();
+        check.sort(Comparator.<Integer, Boolean>comparing(c -> !changedCourses.contains(graph.getCourse(c)))
+                .thenComparingInt(c -> units[c].getTotalStudents()));
+        for (int c : check) {
+            int slot = state.slotOf(c);
+            int[] rooms = state.roomsOf(c).clone();
+            state.removeUnit(c);
+            if (state.isStudentFeasible(c, slot) && roomsFit(state, units[c], rooms)) {
+                state.placeUnit(c, slot, rooms);
+            } else {
+                pending.add(c);
+            }
+        }
+        checked += check.size();
+
+        // ---- Re-place, nearest slot first ----
+        pending.sort(Comparator.<Integer>comparingInt(c -> -graph.degree(c))
+                .thenComparingInt(c -> -units[c].getTotalStudents()));
+        List<ExamUnit> stillOpen = new ArrayList<>();
+        for (int c : pending) {
+            if (!placeNearest(state, units[c], originalSlot[c])) {
+                stillOpen.add(units[c]);
+            }
+        }
+        if (!stillOpen.isEmpty()) {
+            List<ExamUnit> all = new ArrayList<>();
+            for (ExamUnit unit : units) {
+                if (unit != null)
+                    all.add(unit);
+            }
+            KempeChainRepair kempe = new KempeChainRepair(state, all, 0L);
+            for (int c = 0; c < courseCount; c++) {
+                if (fixed[c])
+                    kempe.fix(c);
+            }
+            kempe.repair(stillOpen, System.currentTimeMillis() + timeLimitMillis, listener);
+        }
+
+        // ---- Write back only what moved ----
+        List<String> moved = new ArrayList<>();
+        List<String> unresolved = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) {
+            ExamUnit unit = units[c];
+            if (unit == null)
+                continue;
+            String code = unit.getCourse().getCourseCode();
+            int slot = state.slotOf(c);
+            if (slot < 0) {
+                // Its old slot or rooms are taken now; leaving it there would break the schedule
+                for (Exam exam : examsByCourse.getOrDefault(unit.getCourse(), Collections.emptyList())) {
+                    Exam editable = schedule.editable(exam);
+                    editable.setTimeSlot(null);
+                    editable.setClassroom(null);
+                }
+                unresolved.add(code);
+                listener.onMessage("❌ Could not repair: " + code + " (unscheduled)");
+                continue;
+            }
+            int[] rooms = state.roomsOf(c);
+            if (!rebuilt[c] && slot == originalSlot[c] && Arrays.equals(rooms, originalRooms[c]))
+                continue;
+
+            TimeSlot timeSlot = state.toTimeSlot(slot);
+            List<Exam> parts;
+            if (rebuilt[c]) {
+                boolean pinned = false;
+                for (Exam old : examsByCourse.getOrDefault(unit.getCourse(), Collections.emptyList())) {
+                    pinned |= old.isPinned();
+                    schedule.removeExam(old);
+                }
+                int[] capacities = new int[rooms.length];
+                for (int p = 0; p < rooms.length; p++) {
+                    capacities[p] = state.getRoom(rooms[p]).getCapacity();
+                }
+                parts = unit.createParts(unit.partSizes(capacities));
+                for (Exam part : parts) {
+                    part.setPinned(pinned);
+                    schedule.addExam(part);
+                }
+            } else {
+                parts = unit.getParts();
+            }
+            for (int p = 0; p < parts.size(); p++) {
+                Exam part = schedule.editable(parts.get(p));
+                part.setTimeSlot(timeSlot);
+                part.setClassroom(state.getRoom(rooms[p]));
+            }
+            moved.add(code);
+            listener.onMessage("  🔧 " + code + " → Day " + timeSlot.getDay() + ", Slot " + timeSlot.getSlotNumber());
+        }
+        schedule.rebuildTimeSlotMap();
+
+        RepairResult result = new RepairResult(moved, unresolved, checked, System.currentTimeMillis() - start);
+        listener.onMessage("🔧 " + result.getSummary());
+        return result;
+    }
+
+    private ConflictGraph conflictGraph(List<Course> examCourses, ScheduleChangeSet changes) {
+        boolean reuse = graph != null && changes.getChangedCourses().isEmpty()
+                && graph.getCourseCount() == examCourses.size();
+        for (int c = 0; reuse && c < examCourses.size(); c++) {
+            Course course = examCourses.get(c);
+            reuse = graph.getCourse(c) == course && graph.roster(c).length == course.getStudentCount();
+        }
+        if (!reuse)
+            graph = ConflictGraph.build(examCourses);
+        return graph;
+    }
+
+    /** Edited courses and their conflict-graph neighbours, or null if nothing was recorded. */
+    private static boolean[] affectedCourses(ConflictGraph graph, ScheduleChangeSet changes) {
+        if (changes.isEmpty())
+            return null;
+        Set<Course> edited = new LinkedHashSet<>(changes.getChangedCourses());
+        edited.addAll(changes.getFixedCourses());
+        boolean[] affected = new boolean[graph.getCourseCount()];
+        for (Course course : edited) {
+            int c = graph.indexOf(course);
+            if (c < 0)
+                continue;
+            affected[c] = true;
+            for (int i = graph.neighbourStart(c); i < graph.neighbourEnd(c); i++) {
+                affected[graph.neighbourAt(i)] = true;
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Tries the original slot, then the other slots of the same day, then the
+     * remaining days ordered by distance.
+     */
+    private boolean placeNearest(PlacementState state, ExamUnit unit, int origin) {
+        int c = unit.getCourseIndex();
+        List<Integer> slots = new ArrayList<>();
+        for (int t = 0; t < state.getSlotCount(); t++) {
+            slots.add(t);
+        }
+        if (origin >= 0) {
+            int originDay = state.dayOf(origin);
+            slots.sort(Comparator.<Integer, Boolean>comparing(t -> state.dayOf(t) != originDay)
+                    .thenComparingInt(t -> Math.abs(t - origin)));
+        }
+        for (int t : slots) {
+            if (!state.isStudentFeasible(c, t))
+                continue;
+            int[] rooms = state.findBestFitRooms(unit, t);
+            if (rooms != null) {
+                state.placeUnit(c, t, rooms);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Slot shared by all exams of the course, or -1 if unscheduled, split up or outside the period. */
+    private static int commonSlot(List<Exam> exams, PlacementState state) {
+        if (exams.isEmpty())
+            return -1;
+        TimeSlot first = exams.get(0).getTimeSlot();
+        for (Exam exam : exams) {
+            if (!exam.isScheduled() || !exam.getTimeSlot().equals(first))
+                return -1;
+        }
+        if (first.getDay() < 1 || first.getDay() > state.getDays()
+                || first.getSlotNumber() < 1 || first.getSlotNumber() > state.getSlotsPerDay())
+            return -1;
+        return state.slotIndex(first.getDay(), first.getSlotNumber());
+    }
+
+    private static int[] roomIndices(List<Exam> parts, Map<String, Integer> roomIndex) {
+        int[] rooms = new int[parts.size()];
+        for (int p = 0; p < rooms.length; p++) {
+            Integer r = roomIndex.get(parts.get(p).getClassroom().getClassroomID());
+            if (r == null)
+                return null;
+            for (int q = 0; q < p; q++) {
+                if (rooms[q] == r)
+                    return null;
+            }
+            rooms[p] = r;
+        }
+        return rooms;
+    }
+
+    private static boolean allFree(PlacementState state, int course, int[] rooms, int slot) {
+        for (int r : rooms) {
+            if (!state.isRoomFree(r, slot, state.durationOf(course)))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean roomsFit(PlacementState state, ExamUnit unit, int[] rooms) {
+        int[] capacities = new int[rooms.length];
+        for (int p = 0; p < rooms.length; p++) {
+            capacities[p] = state.getRoom(rooms[p]).getCapacity();
+        }
+        int[] sizes = unit.partSizes(capacities);
+        for (int p = 0; p < rooms.length; p++) {
+            if (sizes[p] > capacities[p])
+                return false;
+        }
+        return true;
+    }
+}
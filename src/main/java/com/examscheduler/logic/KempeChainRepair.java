@@ -0,0 +1,386 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * KempeChainRepair - second chance for exams the construction could not place.
+ * For each unplaced exam it tries, in order:
+ * 1. a direct placement (rooms or slots may have been freed meanwhile),
+ * 2. a Kempe-chain swap: the connected group of conflicting exams in two
+ *    slots trades places so the target slot no longer clashes,
+ * 3. a bounded-depth ejection chain: the few exams blocking a slot are
+ *    moved out and re-placed elsewhere, recursively.
+ * Every change goes through a journal and is rolled back if the attempt
+ * does not end with all involved exams placed. Courses marked with
+ * {@link #fix} and pinned courses are never moved.
+ */
+public class KempeChainRepair {
+
+    private static final int MAX_EJECTIONS = 3;
+    private static final int MAX_DEPTH = 2;
+    private static final int MAX_CHAIN = 40;
+    private static final int KEMPE_PARTNER_SLOTS = 8;
+
+    private final PlacementState state;
+    private final ConflictGraph graph;
+    private final ExamUnit[] unitByCourse;
+    private final boolean[] fixed;
+    private final Random rnd;
+    private final List<Change> journal = new ArrayList<>();
+    private long deadline = Long.MAX_VALUE;
+    private BooleanSupplier stopCondition = () -> false;
+
+    public KempeChainRepair(PlacementState state, List<ExamUnit> units, long seed) {
+        this.state = state;
+        this.graph = state.getGraph();
+        this.rnd = new Random(seed);
+        this.unitByCourse = new ExamUnit[graph.getCourseCount()];
+        this.fixed = new boolean[graph.getCourseCount()];
+        for (ExamUnit unit : units) {
+            unitByCourse[unit.getCourseIndex()] = unit;
+            fixed[unit.getCourseIndex()] = state.isPinned(unit.getCourseIndex());
+        }
+    }
+
+    /** Checked together with the deadline; when it turns true the repair ends early. */
+    public void setStopCondition(BooleanSupplier stopCondition) {
+        this.stopCondition = stopCondition != null ? stopCondition : () -> false;
+    }
+
+    /** Keeps the course where it is during repair. */
+    public void fix(int course) {
+        fixed[course] = true;
+    }
+
+    /**
+     * Tries to insert every unplaced unit.
+     *
+     * @return number of units that were placed by the repair
+     */
+    public int repair(List<ExamUnit> units, long deadline, SchedulingListener listener) {
+        this.deadline = deadline;
+        int repaired = 0;
+        int attempted = 0;
+        for (ExamUnit unit : units) {
+            int c = unit.getCourseIndex();
+            if (state.isPlaced(c))
+                continue;
+            if (expired())
+                break;
+            attempted++;
+
+            journal.clear();
+            boolean placed = placeDirect(c) || kempeInsert(c) || ejectionInsert(c, MAX_DEPTH, new HashSet<>());
+            if (placed) {
+                repaired++;
+                listener.onMessage("  🔧 Repaired: " + unit.getCourse().getCourseCode() + " placed after moving "
+                        + (movedCourses() - 1) + " exam(s)");
+            }
+        }
+        journal.clear();
+        if (attempted > 0) {
+            listener.onMessage("🔧 Repair: " + repaired + " of " + attempted + " unplaced courses inserted");
+        }
+        return repaired;
+    }
+
+    // ==================== STRATEGIES ====================
+
+    private boolean placeDirect(int c) {
+        for (int t = 0; t < state.getSlotCount(); t++) {
+            if (!state.isStudentFeasible(c, t))
+                continue;
+            int[] rooms = state.findBestFitRooms(unitByCourse[c], t);
+            if (rooms != null) {
+                move(c, t, rooms);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks a target slot whose only obstacles are exams in that very slot,
+     * and swaps their Kempe chain with a partner slot.
+     */
+    private boolean kempeInsert(int c) {
+        for (int t : slotsByBlockers(c)) {
+            if (expired())
+                return false;
+            List<Integer> seeds = new ArrayList<>();
+            boolean onlySameSlot = true;
+            for (int n : blockers(c, t)) {
+                if (state.slotOf(n) == t) {
+                    seeds.add(n);
+                } else {
+                    onlySameSlot = false;
+                    break;
+                }
+            }
+            if (!onlySameSlot || seeds.isEmpty())
+                continue;
+
+            for (int k = 0; k < KEMPE_PARTNER_SLOTS; k++) {
+                int partner = rnd.nextInt(state.getSlotCount());
+                if (partner == t)
+                    continue;
+                int mark = journal.size();
+                if (swapChain(seeds, t, partner) && placeAt(c, t)) {
+                    return true;
+                }
+                rollback(mark);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves out the (few) exams that block a slot, places the exam there and
+     * re-places the ejected ones, recursing up to {@code depth} levels.
+     */
+    private boolean ejectionInsert(int c, int depth, Set<Integer> tabu) {
+        if (depth <= 0)
+            return false;
+        tabu.add(c);
+        for (int t : slotsByBlockers(c)) {
+            if (expired())
+                break;
+            List<Integer> ejected = blockers(c, t);
+            if (ejected.size() > MAX_EJECTIONS || !isMovable(ejected, tabu))
+                continue;
+
+            int mark = journal.size();
+            for (int b : ejected) {
+                move(b, -1, null);
+            }
+            if (!state.isStudentFeasible(c, t)) {
+                // Daily limit still exceeded: eject everything the course meets that day
+                List<Integer> sameDay = sameDayNeighbours(c, state.dayOf(t));
+                if (ejected.size() + sameDay.size() > MAX_EJECTIONS || !isMovable(sameDay, tabu)) {
+                    rollback(mark);
+                    continue;
+                }
+                for (int b : sameDay) {
+                    move(b, -1, null);
+                    ejected.add(b);
+                }
+            }
+            int roomVictim = -1;
+            if (state.isStudentFeasible(c, t) && state.findBestFitRooms(unitByCourse[c], t) == null) {
+                roomVictim = roomOccupantToEject(c, t, tabu);
+                if (roomVictim >= 0) {
+                    move(roomVictim, -1, null);
+                    ejected.add(roomVictim);
+                }
+            }
+
+            if (!placeAt(c, t)) {
+                rollback(mark);
+                continue;
+            }
+
+            Set<Integer> innerTabu = new HashSet<>(tabu);
+            innerTabu.addAll(ejected);
+            boolean allBack = true;
+            for (int b : ejected) {
+                if (!placeDirect(b) && !ejectionInsert(b, depth - 1, innerTabu)) {
+                    allBack = false;
+                    break;
+                }
+            }
+            if (allBack) {
+                tabu.remove(c);
+                return true;
+            }
+            rollback(mark);
+        }
+        tabu.remove(c);
+        return false;
+    }
+
+    // ==================== KEMPE CHAIN ====================
+
+    /**
+     * Swaps slots {@code a} and {@code b} for the connected component of
+     * conflicting exams reachable from the seeds. Fails if the chain grows
+     * too large or a moved exam no longer fits.
+     */
+    private boolean swapChain(List<Integer> seeds, int a, int b) {
+        if (!isMovable(seeds, Collections.emptySet()))
+            return false;
+        Set<Integer> chain = new HashSet<>(seeds);
+        Deque<Integer> queue = new ArrayDeque<>(seeds);
+        while (!queue.isEmpty()) {
+            int x = queue.poll();
+            int other = state.slotOf(x) == a ? b : a;
+            for (int i = graph.neighbourStart(x); i < graph.neighbourEnd(x); i++) {
+                int n = graph.neighbourAt(i);
+                if (state.slotOf(n) == other && chain.add(n)) {
+                    if (chain.size() > MAX_CHAIN || fixed[n])
+                        return false;
+                    queue.add(n);
+                }
+            }
+        }
+
+        List<Integer> members = new ArrayList<>(chain);
+        int[] targets = new int[members.size()];
+        for (int i = 0; i < members.size(); i++) {
+            int x = members.get(i);
+            targets[i] = state.slotOf(x) == a ? b : a;
+            move(x, -1, null);
+        }
+        for (int i = 0; i < members.size(); i++) {
+            if (!placeAt(members.get(i), targets[i]))
+                return false;
+        }
+        return true;
+    }
+
+    // ==================== HELPERS ====================
+
+    private boolean placeAt(int c, int slot) {
+        if (!state.isStudentFeasible(c, slot))
+            return false;
+        int[] rooms = state.findBestFitRooms(unitByCourse[c], slot);
+        if (rooms == null)
+            return false;
+        move(c, slot, rooms);
+        return true;
+    }
+
+    /** Placed neighbours whose slot the constraints forbid together with {@code slot}. */
+    private List<Integer> blockers(int c, int slot) {
+        List<Integer> result = new ArrayList<>();
+        ConstraintKernel kernel = state.getKernel();
+        for (int i = graph.neighbourStart(c); i < graph.neighbourEnd(c); i++) {
+            int n = graph.neighbourAt(i);
+            int s = state.slotOf(n);
+            if (s >= 0 && kernel.conflicts(s, state.durationOf(n), slot, state.durationOf(c))) {
+                result.add(n);
+            }
+        }
+        return result;
+    }
+
+    private List<Integer> sameDayNeighbours(int c, int day) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = graph.neighbourStart(c); i < graph.neighbourEnd(c); i++) {
+            int n = graph.neighbourAt(i);
+            int s = state.slotOf(n);
+            if (s >= 0 && state.dayOf(s) == day) {
+                result.add(n);
+            }
+        }
+        return result;
+    }
+
+    /** Slots the exam can start in, ordered by how many placed exams block them, fewest first. */
+    private List<Integer> slotsByBlockers(int c) {
+        int slotCount = state.getSlotCount();
+        int[] count = new int[slotCount];
+        for (int i = graph.neighbourStart(c); i < graph.neighbourEnd(c); i++) {
+            int n = graph.neighbourAt(i);
+            int s = state.slotOf(n);
+            if (s < 0)
+                continue;
+            for (int u : state.getKernel().blockedStarts(s, state.durationOf(n), state.durationOf(c))) {
+                count[u]++;
+            }
+        }
+        List<Integer> slots = new ArrayList<>();
+        for (int t = 0; t < slotCount; t++) {
+            if (state.getKernel().isValidStart(t, state.durationOf(c)))
+                slots.add(t);
+        }
+        slots.sort((x, y) -> Integer.compare(count[x], count[y]));
+        return slots;
+    }
+
+    /**
+     * Single-part exam in the slot that holds the smallest room big enough
+     * for the largest part of {@code c}.
+     */
+    private int roomOccupantToEject(int c, int slot, Set<Integer> tabu) {
+        if (unitByCourse[c].isSplittable())
+            return -1;
+        int needed = unitByCourse[c].getParts().get(0).getStudentCount();
+        int bestCourse = -1;
+        int bestCapacity = Integer.MAX_VALUE;
+        for (ExamUnit unit : unitByCourse) {
+            if (unit == null || unit.isSplit())
+                continue;
+            int x = unit.getCourseIndex();
+            if (state.slotOf(x) != slot || tabu.contains(x) || fixed[x])
+                continue;
+            int capacity = state.getRoom(state.roomsOf(x)[0]).getCapacity();
+            if (capacity >= needed && capacity < bestCapacity) {
+                bestCapacity = capacity;
+                bestCourse = x;
+            }
+        }
+        return bestCourse;
+    }
+
+    private boolean isMovable(List<Integer> courses, Set<Integer> tabu) {
+        for (int c : courses) {
+            if (fixed[c] || tabu.contains(c))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean expired() {
+        return System.currentTimeMillis() > deadline || stopCondition.getAsBoolean();
+    }
+
+    // ==================== JOURNAL ====================
+
+    private void move(int c, int slot, int[] rooms) {
+        int oldSlot = state.slotOf(c);
+        int[] oldRooms = oldSlot >= 0 ? state.roomsOf(c).clone() : null;
+        journal.add(new Change(c, oldSlot, oldRooms));
+        state.removeUnit(c);
+        if (slot >= 0) {
+            state.placeUnit(c, slot, rooms);
+        }
+    }
+
+    private int movedCourses() {
+        Set<Integer> moved = new HashSet<>();
+        for (Change change : journal) {
+            moved.add(change.course);
+        }
+        return moved.size();
+    }
+
+    private void rollback(int mark) {
+        for (int i = journal.size() - 1; i >= mark; i--) {
+            Change change = journal.remove(i);
+            state.removeUnit(change.course);
+            if (change.oldSlot >= 0) {
+                state.placeUnit(change.course, change.oldSlot, change.oldRooms);
+            }
+        }
+    }
+
+    private static class Change {
+        final int course;
+        final int oldSlot;
+        final int[] oldRooms;
+
+        Change(int course, int oldSlot, int[] oldRooms) {
+            this.course = course;
+            this.oldSlot = oldSlot;
+            this.oldRooms = oldRooms;
+        }
+    }
+}
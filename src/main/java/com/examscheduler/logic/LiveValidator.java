@@ -0,0 +1,313 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.examscheduler.model.Course;
+import com.examscheduler.model.Exam;
+import com.examscheduler.model.Schedule;
+import com.examscheduler.model.Student;
+import com.examscheduler.model.TimeSlot;
+
+/**
+ * LiveValidator - error and warning counts of a schedule, kept up to date as
+ * exams are added, moved, re-rostered or removed instead of validating the
+ * whole schedule again.
+ * Every exam is remembered as it was last counted: its dense slot, length,
+ * room and roster as student indices. Updating an exam takes that
+ * contribution back and adds the new one. Only the other exams of its own
+ * students are compared, so an update costs about (students of the exam) x
+ * (exams per student). Student rules are the same {@link ConstraintKernel}
+ * lookups {@link ScheduleValidator} makes, so the counts match its report. The
+ * one exception is longer exams: a room slot booked n times counts n - 1
+ * double-bookings.
+ * Exams changed in place must be passed to {@link #update(Exam)}.
+ */
+public class LiveValidator {
+
+    private final List<Constraint> constraints;
+    private Schedule schedule;
+    private ConstraintKernel kernel;
+
+    private final Map<Student, Integer> studentIndex = new HashMap<>();
+    private final List<List<Entry>> examsOf = new ArrayList<>();
+    private final List<int[]> dayCounts = new ArrayList<>();
+    private final Map<Exam, Entry> entries = new IdentityHashMap<>();
+    private final Map<Course, List<Entry>> entriesByCourse = new HashMap<>();
+    private final Map<String, int[]> roomBookings = new HashMap<>();
+
+    private final Map<Constraint, Integer> ruleCounts = new LinkedHashMap<>();
+    private int doubleBookings;
+    private int capacityViolations;
+    private int invalidSlots;
+    private int critical;
+    private int warnings;
+
+    public LiveValidator() {
+        this(Constraints.standard());
+    }
+
+    public LiveValidator(List<Constraint> constraints) {
+        if (constraints == null) {
+            throw new IllegalArgumentException("Constraints are required");
+        }
+        this.constraints = new ArrayList<>(constraints);
+    }
+
+    /** Counts the whole schedule from scratch; null clears the counts. */
+    public void reset(Schedule schedule) {
+        this.schedule = schedule;
+        studentIndex.clear();
+        examsOf.clear();
+        dayCounts.clear();
+        entries.clear();
+        entriesByCourse.clear();
+        roomBookings.clear();
+        ruleCounts.clear();
+        doubleBookings = 0;
+        capacityViolations = 0;
+        invalidSlots = 0;
+        critical = 0;
+        warnings = 0;
+        kernel = null;
+        if (schedule == null)
+            return;
+
+        List<Exam> exams = schedule.getScheduledExams();
+        int maxDuration = 1;
+        for (Exam exam : exams) {
+            maxDuration = Math.max(maxDuration, exam.getCourse().getExamDurationSlots());
+        }
+        kernel = ConstraintKernel.compile(constraints, schedule.getExamPeriodDays(), schedule.getSlotsPerDay(),
+                maxDuration);
+        for (Constraint rule : constraints) {
+            ruleCounts.put(rule, 0);
+        }
+        for (Exam exam : exams) {
+            add(exam);
+        }
+    }
+
+    /** Counts an exam again after it was added, moved or its students changed. */
+    public void update(Exam exam) {
+        if (kernel == null || exam == null)
+            return;
+        remove(exam);
+        if (exam.getCourse().getExamDurationSlots() > kernel.getMaxDuration()) {
+            // The kernel was compiled for shorter exams
+            reset(schedule);
+            return;
+        }
+        add(exam);
+    }
+
+    /** Takes back the counts of an exam that left the schedule. */
+    public void remove(Exam exam) {
+        Entry entry = entries.remove(exam);
+        if (entry == null)
+            return;
+        apply(entry, -1);
+        List<Entry> ofCourse = entriesByCourse.get(entry.course);
+        ofCourse.remove(entry);
+        if (ofCourse.isEmpty())
+            entriesByCourse.remove(entry.course);
+    }
+
+    /** Counts a course again, e.g. after it was split into new exams or repaired. */
+    public void updateCourse(Course course, List<Exam> exams) {
+        if (kernel == null)
+            return;
+        List<Entry> old = entriesByCourse.get(course);
+        if (old != null) {
+            for (Entry entry : new ArrayList<>(old)) {
+                remove(entry.exam);
+            }
+        }
+        for (Exam exam : exams) {
+            update(exam);
+        }
+    }
+
+    /** The schedule replaced an exam by an equal copy; the counts stay. */
+    public void replace(Exam exam, Exam copy) {
+        Entry entry = entries.remove(exam);
+        if (entry == null)
+            return;
+        entry.exam = copy;
+        entries.put(copy, entry);
+    }
+
+    public int getCriticalCount() {
+        return critical;
+    }
+
+    public int getWarningCount() {
+        return warnings;
+    }
+
+    /** Findings of one student rule, e.g. clashes or back-to-back pairs. */
+    public int getCount(Constraint rule) {
+        return ruleCounts.getOrDefault(rule, 0);
+    }
+
+    public int getDoubleBookingCount() {
+        return doubleBookings;
+    }
+
+    public int getCapacityViolationCount() {
+        return capacityViolations;
+    }
+
+    public int getInvalidSlotCount() {
+        return invalidSlots;
+    }
+
+    public int getExamCount() {
+        return entries.size();
+    }
+
+    /** One line per kind of finding that occurs. */
+    public List<String> getBreakdown() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<Constraint, Integer> count : ruleCounts.entrySet()) {
+            if (count.getValue() > 0)
+                lines.add(count.getKey().getName() + ": " + count.getValue());
+        }
+        if (doubleBookings > 0)
+            lines.add("Room Double-booking: " + doubleBookings);
+        if (capacityViolations > 0)
+            lines.add("Capacity Violation: " + capacityViolations);
+        if (invalidSlots > 0)
+            lines.add("Invalid Time Slot: " + invalidSlots);
+        return lines;
+    }
+
+    public String getSummary() {
+        return critical + (critical == 1 ? " error, " : " errors, ") + warnings
+                + (warnings == 1 ? " warning" : " warnings");
+    }
+
+    @Override
+    public String toString() {
+        return "LiveValidator{" +
+                "exams=" + entries.size() +
+                ", critical=" + critical +
+                ", warnings=" + warnings +
+                '}';
+    }
+
+    // ==================== COUNTING ====================
+
+    private void add(Exam exam) {
+        if (!exam.isScheduled())
+            return;
+        Entry entry = new Entry(exam);
+        TimeSlot timeSlot = exam.getTimeSlot();
+        if (timeSlot.getDay() <= kernel.getDays() && timeSlot.getSlotNumber() <= kernel.getSlotsPerDay()) {
+            int slot = (timeSlot.getDay() - 1) * kernel.getSlotsPerDay() + (timeSlot.getSlotNumber() - 1);
+            if (kernel.isValidStart(slot, entry.duration))
+                entry.slot = slot;
+        }
+        List<Student> enrolled = exam.getEnrolledStudents();
+        entry.students = new int[enrolled.size()];
+        for (int i = 0; i < enrolled.size(); i++) {
+            entry.students[i] = studentIndexOf(enrolled.get(i));
+        }
+        entries.put(exam, entry);
+        entriesByCourse.computeIfAbsent(entry.course, k -> new ArrayList<>()).add(entry);
+        apply(entry, 1);
+    }
+
+    /** Adds ({@code sign} 1) or takes back (-1) everything an exam contributes. */
+    private void apply(Entry entry, int sign) {
+        if (entry.slot < 0) {
+            invalidSlots += sign;
+            critical += sign;
+            return;
+        }
+        int[] bookings = roomBookings.computeIfAbsent(entry.roomId, k -> new int[kernel.getSlotCount()]);
+        for (int t = entry.slot; t < entry.slot + entry.duration; t++) {
+            if (sign > 0 ? bookings[t]++ > 0 : --bookings[t] > 0) {
+                doubleBookings += sign;
+                critical += sign;
+            }
+        }
+        if (entry.overCapacity) {
+            capacityViolations += sign;
+            critical += sign;
+        }
+
+        Constraint dailyRule = kernel.getDailyLimitRule();
+        int maxPerDay = kernel.getMaxExamsPerDay();
+        int day = entry.slot / kernel.getSlotsPerDay();
+        for (int s : entry.students) {
+            List<Entry> others = examsOf.get(s);
+            if (sign < 0)
+                others.remove(entry);
+            for (Entry other : others) {
+                Constraint rule = kernel.ruleBetween(entry.slot, entry.duration, other.slot, other.duration);
+                if (rule != null)
+                    count(rule, sign);
+            }
+            if (sign > 0)
+                others.add(entry);
+
+            if (dailyRule != null) {
+                int[] perDay = dayCounts.get(s);
+                if (perDay == null) {
+                    perDay = new int[kernel.getDays()];
+                    dayCounts.set(s, perDay);
+                }
+                int before = perDay[day];
+                perDay[day] += sign;
+                // One finding per student and overfull day, as in ScheduleValidator
+                int delta = (perDay[day] > maxPerDay ? 1 : 0) - (before > maxPerDay ? 1 : 0);
+                if (delta != 0)
+                    count(dailyRule, delta);
+            }
+        }
+    }
+
+    private void count(Constraint rule, int delta) {
+        ruleCounts.merge(rule, delta, Integer::sum);
+        if (rule.isCritical()) {
+            critical += delta;
+        } else {
+            warnings += delta;
+        }
+    }
+
+    private int studentIndexOf(Student student) {
+        Integer s = studentIndex.get(student);
+        if (s == null) {
+            s = examsOf.size();
+            studentIndex.put(student, s);
+            examsOf.add(new ArrayList<>());
+            dayCounts.add(null);
+        }
+        return s;
+    }
+
+    /** An exam as it was last counted. */
+    private static final class Entry {
+        Exam exam;
+        final Course course;
+        final String roomId;
+        final int duration;
+        final boolean overCapacity;
+        int slot = -1;
+        int[] students;
+
+        Entry(Exam exam) {
+            this.exam = exam;
+            this.course = exam.getCourse();
+            this.roomId = exam.getClassroom().getClassroomID();
+            this.duration = exam.getCourse().getExamDurationSlots();
+            this.overCapacity = exam.getStudentCount() > exam.getClassroom().getCapacity();
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * LocalSearchOptimizer - simulated annealing on a finished construction.
+ * Moves: shift one exam to another slot, swap the slots of two exams,
+ * re-room an exam into the tightest free rooms, swap the rooms of two exams
+ * sharing a slot. Every move is checked against the hard constraints through
+ * {@link PlacementState} and scored with an O(conflict degree) delta of the
+ * {@link ScheduleObjective} penalty, so no full re-evaluation is needed.
+ * The number of placed exams never changes, and pinned exams
+ * ({@link PlacementState#isPinned}) are never moved.
+ */
+public class LocalSearchOptimizer {
+
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private static final double FINAL_TEMPERATURE_RATIO = 0.001;
+    private static final double EPSILON = 1e-9;
+
+    private final PlacementState state;
+    private final ConflictGraph graph;
+    private final List<ExamUnit> units;
+    private final ExamUnit[] unitByCourse;
+    private final int[] placed;
+    private final long[] dayLoad;
+    private final Random rnd;
+    private BooleanSupplier stopCondition = () -> false;
+    private long reportStart = -1;
+    private long moveLimit;
+
+    private double current;
+    private double best;
+    private int[] bestSlots;
+    private int[][] bestRooms;
+    // The state is at the best placement, but it has not been copied yet
+    private boolean bestUnsaved;
+
+    public LocalSearchOptimizer(PlacementState state, List<ExamUnit> units, long seed) {
+        this.state = state;
+        this.graph = state.getGraph();
+        this.rnd = new Random(seed);
+        this.units = new ArrayList<>(units);
+        this.unitByCourse = new ExamUnit[graph.getCourseCount()];
+        List<Integer> placedList = new ArrayList<>();
+        for (ExamUnit unit : units) {
+            unitByCourse[unit.getCourseIndex()] = unit;
+            if (state.isPlaced(unit.getCourseIndex()) && !state.isPinned(unit.getCourseIndex())) {
+                placedList.add(unit.getCourseIndex());
+            }
+        }
+        // Only movable exams; pinned ones still count towards the day loads
+        this.placed = placedList.stream().mapToInt(Integer::intValue).toArray();
+
+        this.dayLoad = new long[state.getDays()];
+        for (ExamUnit unit : units) {
+            if (state.isPlaced(unit.getCourseIndex())) {
+                dayLoad[state.dayOf(state.slotOf(unit.getCourseIndex()))]++;
+            }
+        }
+    }
+
+    /** Checked together with the deadline; when it turns true the search ends early. */
+    public void setStopCondition(BooleanSupplier stopCondition) {
+        this.stopCondition = stopCondition != null ? stopCondition : () -> false;
+    }
+
+    /** Time that progress reports count from; defaults to the start of {@link #optimize}. */
+    public void setReportStart(long reportStart) {
+        this.reportStart = reportStart;
+    }
+
+    /**
+     * With a positive limit the search stops after that many moves and cools
+     * by move count instead of by the clock, so a seeded run repeats exactly
+     * as long as the deadline is not reached first. 0 = run until the deadline.
+     */
+    public void setMoveLimit(long moveLimit) {
+        this.moveLimit = Math.max(0, moveLimit);
+    }
+
+    /**
+     * Anneals until the deadline. The state is left at the best placement
+     * seen. A new best is only copied when an uphill move is about to leave
+     * it, so runs of improving moves cost nothing extra.
+     */
+    public Stats optimize(long deadline, SchedulingListener listener) {
+        long startTime = System.currentTimeMillis();
+        long clockStart = reportStart >= 0 ? reportStart : startTime;
+        SolutionScore startScore = ScheduleObjective.evaluate(state, units);
+        current = startScore.getPenalty();
+        best = current;
+        saveBest();
+        bestUnsaved = false;
+
+        Stats stats = new Stats();
+        stats.initialPenalty = current;
+        if (placed.length < 2 || deadline <= startTime) {
+            stats.finalPenalty = current;
+            return stats;
+        }
+
+        double startTemperature = estimateStartTemperature();
+        double temperature = startTemperature;
+        long totalMillis = Math.max(1, deadline - startTime);
+
+        while (moveLimit == 0 || stats.moves < moveLimit) {
+            if (stats.moves % TIME_CHECK_INTERVAL == 0) {
+                long now = System.currentTimeMillis();
+                if (now >= deadline || stopCondition.getAsBoolean() || Thread.currentThread().isInterrupted())
+                    break;
+                if (stats.moves > 0) {
+                    long elapsed = Math.max(1, now - startTime);
+                    listener.onBestSoFar(new SolverProgress("Optimization", state.getPlacedCount(), units.size(),
+                            Math.min(best, current), stats.moves * 1000 / elapsed, now - clockStart));
+                }
+                double progress = moveLimit > 0
+                        ? (double) stats.moves / moveLimit
+                        : (double) (now - startTime) / totalMillis;
+                temperature = startTemperature * Math.pow(FINAL_TEMPERATURE_RATIO, progress);
+            }
+            stats.moves++;
+
+            boolean accepted;
+            int kind = rnd.nextInt(10);
+            if (kind < 5) {
+                accepted = tryShift(temperature);
+            } else if (kind < 8) {
+                accepted = trySwap(temperature);
+            } else if (kind < 9) {
+                accepted = tryReRoom(temperature);
+            } else {
+                accepted = trySwapRooms();
+            }
+            if (accepted) {
+                stats.accepted++;
+                if (current < best - EPSILON) {
+                    best = current;
+                    bestUnsaved = true;
+                }
+            }
+        }
+
+        if (current > best + EPSILON) {
+            restoreBest();
+            current = best;
+        }
+
+        stats.finalPenalty = current;
+        stats.elapsedMillis = System.currentTimeMillis() - startTime;
+        listener.onMessage(String.format("🔥 Optimization: %,d moves (%,d/s), penalty %.1f → %.1f",
+                stats.moves, stats.getMovesPerSecond(), stats.initialPenalty, stats.finalPenalty));
+        return stats;
+    }
+
+    // ==================== MOVES ====================
+
+    private boolean tryShift(double temperature) {
+        int c = placed[rnd.nextInt(placed.length)];
+        int from = state.slotOf(c);
+        int to = rnd.nextInt(state.getSlotCount());
+        if (to == from)
+            return false;
+
+        int[] oldRooms = state.roomsOf(c).clone();
+        state.removeUnit(c);
+        int[] newRooms = state.isStudentFeasible(c, to) ? state.findBestFitRooms(unitByCourse[c], to) : null;
+        if (newRooms == null) {
+            state.placeUnit(c, from, oldRooms);
+            return false;
+        }
+
+        int fromDay = state.dayOf(from);
+        int toDay = state.dayOf(to);
+        double delta = ScheduleObjective.SAME_DAY_WEIGHT * (sameDayLoad(c, toDay) - sameDayLoad(c, fromDay))
+                + ScheduleObjective.WASTED_SEAT_WEIGHT * (capacity(newRooms) - capacity(oldRooms));
+        if (fromDay != toDay) {
+            delta += ScheduleObjective.DAY_LOAD_WEIGHT
+                    * (2 * dayLoad[toDay] + 1 - (2 * dayLoad[fromDay] - 1));
+        }
+
+        if (accept(delta, temperature)) {
+            if (delta > 0)
+                saveBestBefore(c, from, oldRooms, -1, -1, null);
+            state.placeUnit(c, to, newRooms);
+            dayLoad[fromDay]--;
+            dayLoad[toDay]++;
+            current += delta;
+            return true;
+        }
+        state.placeUnit(c, from, oldRooms);
+        return false;
+    }
+
+    private boolean trySwap(double temperature) {
+        int a = placed[rnd.nextInt(placed.length)];
+        int b = placed[rnd.nextInt(placed.length)];
+        int slotA = state.slotOf(a);
+        int slotB = state.slotOf(b);
+        if (a == b || slotA == slotB)
+            return false;
+
+        int[] roomsA = state.roomsOf(a).clone();
+        int[] roomsB = state.roomsOf(b).clone();
+        state.removeUnit(a);
+        state.removeUnit(b);
+
+        int dayA = state.dayOf(slotA);
+        int dayB = state.dayOf(slotB);
+        double delta = 0;
+        if (dayA != dayB) {
+            delta += ScheduleObjective.SAME_DAY_WEIGHT
+                    * (sameDayLoad(a, dayB) + sameDayLoad(b, dayA) - sameDayLoad(a, dayA) - sameDayLoad(b, dayB));
+        }
+
+        int[] newRoomsA = null;
+        int[] newRoomsB = null;
+        if (state.isStudentFeasible(a, slotB)) {
+            newRoomsA = state.findBestFitRooms(unitByCourse[a], slotB);
+            if (newRoomsA != null) {
+                state.placeUnit(a, slotB, newRoomsA);
+                if (state.isStudentFeasible(b, slotA)) {
+                    newRoomsB = state.findBestFitRooms(unitByCourse[b], slotA);
+                }
+                if (newRoomsB == null) {
+                    state.removeUnit(a);
+                }
+            }
+        }
+        if (newRoomsA == null || newRoomsB == null) {
+            state.placeUnit(a, slotA, roomsA);
+            state.placeUnit(b, slotB, roomsB);
+            return false;
+        }
+
+        delta += ScheduleObjective.WASTED_SEAT_WEIGHT
+                * (capacity(newRoomsA) + capacity(newRoomsB) - capacity(roomsA) - capacity(roomsB));
+
+        if (accept(delta, temperature)) {
+            if (delta > 0)
+                saveBestBefore(a, slotA, roomsA, b, slotB, roomsB);
+            state.placeUnit(b, slotA, newRoomsB);
+            current += delta;
+            return true;
+        }
+        state.removeUnit(a);
+        state.placeUnit(a, slotA, roomsA);
+        state.placeUnit(b, slotB, roomsB);
+        return false;
+    }
+
+    private boolean tryReRoom(double temperature) {
+        int c = placed[rnd.nextInt(placed.length)];
+        int slot = state.slotOf(c);
+        int[] oldRooms = state.roomsOf(c).clone();
+        state.removeUnit(c);
+        int[] newRooms = state.findBestFitRooms(unitByCourse[c], slot);
+        if (newRooms == null) {
+            state.placeUnit(c, slot, oldRooms);
+            return false;
+        }
+        double delta = ScheduleObjective.WASTED_SEAT_WEIGHT * (capacity(newRooms) - capacity(oldRooms));
+        if (delta < 0 && accept(delta, temperature)) {
+            state.placeUnit(c, slot, newRooms);
+            current += delta;
+            return true;
+        }
+        state.placeUnit(c, slot, oldRooms);
+        return false;
+    }
+
+    /**
+     * Exchanges the rooms of two single-room exams of the same length in the
+     * same slot. The total of empty seats does not change, so this is a
+     * neutral move that frees a large room for later shifts.
+     */
+    private boolean trySwapRooms() {
+        int a = placed[rnd.nextInt(placed.length)];
+        int b = placed[rnd.nextInt(placed.length)];
+        if (a == b || state.slotOf(a) != state.slotOf(b) || state.durationOf(a) != state.durationOf(b)
+                || unitByCourse[a].isSplit() || unitByCourse[b].isSplit())
+            return false;
+
+        int roomA = state.roomsOf(a)[0];
+        int roomB = state.roomsOf(b)[0];
+        if (!state.getRoom(roomB).canAccommodate(unitByCourse[a].getTotalStudents())
+                || !state.getRoom(roomA).canAccommodate(unitByCourse[b].getTotalStudents()))
+            return false;
+
+        int slot = state.slotOf(a);
+        state.removeUnit(a);
+        state.removeUnit(b);
+        state.placeUnit(a, slot, new int[] { roomB });
+        state.placeUnit(b, slot, new int[] { roomA });
+        return true;
+    }
+
+    // ==================== DELTA HELPERS ====================
+
+    /** Shared students between the course and placed neighbours on the day. */
+    private long sameDayLoad(int course, int day) {
+        long load = 0;
+        for (int i = graph.neighbourStart(course); i < graph.neighbourEnd(course); i++) {
+            int slot = state.slotOf(graph.neighbourAt(i));
+            if (slot >= 0 && state.dayOf(slot) == day) {
+                load += graph.weightAt(i);
+            }
+        }
+        return load;
+    }
+
+    private long capacity(int[] rooms) {
+        long total = 0;
+        for (int r : rooms) {
+            total += state.getRoom(r).getCapacity();
+        }
+        return total;
+    }
+
+    private boolean accept(double delta, double temperature) {
+        if (delta <= 0)
+            return true;
+        return temperature > 0 && rnd.nextDouble() < Math.exp(-delta / temperature);
+    }
+
+    /**
+     * Average uphill delta of a sample of shift moves, so that roughly half
+     * of the worsening moves are accepted at the start.
+     */
+    private double estimateStartTemperature() {
+        double sum = 0;
+        int count = 0;
+        for (int i = 0; i < 200; i++) {
+            int c = placed[rnd.nextInt(placed.length)];
+            int fromDay = state.dayOf(state.slotOf(c));
+            int toDay = rnd.nextInt(state.getDays());
+            if (fromDay == toDay)
+                continue;
+            double delta = ScheduleObjective.SAME_DAY_WEIGHT * Math.abs(sameDayLoad(c, toDay) - sameDayLoad(c, fromDay))
+                    + ScheduleObjective.DAY_LOAD_WEIGHT * Math.abs(2 * (dayLoad[toDay] - dayLoad[fromDay]) + 2);
+            if (delta > 0) {
+                sum += delta;
+                count++;
+            }
+        }
+        return count > 0 ? (sum / count) / Math.log(2) : 1.0;
+    }
+
+    // ==================== BEST SNAPSHOT ====================
+
+    private void saveBest() {
+        if (bestSlots == null) {
+            bestSlots = new int[placed.length];
+            bestRooms = new int[placed.length][];
+        }
+        for (int i = 0; i < placed.length; i++) {
+            bestSlots[i] = state.slotOf(placed[i]);
+            bestRooms[i] = state.roomsOf(placed[i]).clone();
+        }
+    }
+
+    /**
+     * Copies a best placement that has not been saved yet, just before an
+     * uphill move leaves it. The courses of the move are already lifted out
+     * of the state, so their places before the move are passed in.
+     */
+    private void saveBestBefore(int a, int slotA, int[] roomsA, int b, int slotB, int[] roomsB) {
+        if (!bestUnsaved)
+            return;
+        for (int i = 0; i < placed.length; i++) {
+            int c = placed[i];
+            if (c == a) {
+                bestSlots[i] = slotA;
+                bestRooms[i] = roomsA.clone();
+            } else if (c == b) {
+                bestSlots[i] = slotB;
+                bestRooms[i] = roomsB.clone();
+            } else {
+                bestSlots[i] = state.slotOf(c);
+                bestRooms[i] = state.roomsOf(c).clone();
+            }
+        }
+        bestUnsaved = false;
+    }
+
+    private void restoreBest() {
+        for (int c : placed) {
+            dayLoad[state.dayOf(state.slotOf(c))]--;
+            state.removeUnit(c);
+        }
+        for (int i = 0; i < placed.length; i++) {
+            state.placeUnit(placed[i], bestSlots[i], bestRooms[i]);
+            dayLoad[state.dayOf(bestSlots[i])]++;
+        }
+    }
+
+    /** Counters of one optimization run. */
+    public static class Stats {
+        private long moves;
+        private long accepted;
+        private double initialPenalty;
+        private double finalPenalty;
+        private long elapsedMillis;
+
+        public long getMoves() {
+            return moves;
+        }
+
+        public long getAccepted() {
+            return accepted;
+        }
+
+        public double getInitialPenalty() {
+            return initialPenalty;
+        }
+
+        public double getFinalPenalty() {
+            return finalPenalty;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public long getMovesPerSecond() {
+            return elapsedMillis > 0 ? moves * 1000 / elapsedMillis : moves;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.examscheduler.model.Classroom;
+import com.examscheduler.model.Exam;
+import com.examscheduler.model.Schedule;
+import com.examscheduler.model.Student;
+import com.examscheduler.model.TimeSlot;
+
+/**
+ * MoveAdvisor - where one exam of a schedule could move: every day, slot and
+ * room of the period rated as free, allowed with warnings, or not allowed.
+ * The other exams are indexed once: the slots each room is booked, how many
+ * of the exam's students every start slot would put in a clash or a soft
+ * rule (through {@link ConstraintKernel#blockedStarts}), and how many would
+ * go over the daily limit on each day. After that every query is a few
+ * array lookups, so a whole grid can be redrawn on each keystroke.
+ * The exam itself is left out, so its current place counts as free.
+ */
+public class MoveAdvisor {
+
+    public enum Status {
+        /** No rule is broken. */
+        FREE,
+        /** Only warnings, e.g. back-to-back exams or the daily limit. */
+        SOFT,
+        /** Room taken or too small, a student clash, or the exam runs past its day. */
+        BLOCKED
+    }
+
+    private final Exam exam;
+    private final ConstraintKernel kernel;
+    private final int duration;
+    private final List<Classroom> classrooms;
+    private final Map<String, Integer> roomIndex = new HashMap<>();
+    private final BitSet[] bookedSlots;
+    private final int[] hardStudents;
+    private final int[] softStudents;
+    private final String[] hardRule;
+    private final String[] softRule;
+    private final int[] overLimit;
+    private final long buildMicros;
+
+    public MoveAdvisor(Schedule schedule, Exam exam, List<Classroom> classrooms) {
+        this(schedule, exam, classrooms, Constraints.standard());
+    }
+
+    public MoveAdvisor(Schedule schedule, Exam exam, List<Classroom> classrooms, List<Constraint> constraints) {
+        if (schedule == null || exam == null) {
+            throw new IllegalArgumentException("Schedule and exam are required");
+        }
+        if (classrooms == null || constraints == null) {
+            throw new IllegalArgumentException("Classrooms and constraints are required");
+        }
+        long startNanos = System.nanoTime();
+        this.exam = exam;
+        this.classrooms = new ArrayList<>(classrooms);
+        this.duration = exam.getCourse().getExamDurationSlots();
+
+        List<Exam> others = new ArrayList<>();
+        int maxDuration = duration;
+        for (Exam other : schedule.getScheduledExams()) {
+            if (other != exam) {
+                others.add(other);
+                maxDuration = Math.max(maxDuration, other.getCourse().getExamDurationSlots());
+            }
+        }
+        this.kernel = ConstraintKernel.compile(constraints, schedule.getExamPeriodDays(), schedule.getSlotsPerDay(),
+                maxDuration);
+        int slotCount = kernel.getSlotCount();
+
+        for (int r = 0; r < this.classrooms.size(); r++) {
+            roomIndex.put(this.classrooms.get(r).getClassroomID(), r);
+        }
+        bookedSlots = new BitSet[this.classrooms.size()];
+        for (int r = 0; r < bookedSlots.length; r++) {
+            bookedSlots[r] = new BitSet(slotCount);
+        }
+        hardStudents = new int[slotCount];
+        softStudents = new int[slotCount];
+        hardRule = new String[slotCount];
+        softRule = new String[slotCount];
+        overLimit = new int[kernel.getDays()];
+
+        Set<Student> students = new HashSet<>(exam.getEnrolledStudents());
+        Map<Student, int[]> examsPerDay = new HashMap<>();
+        for (Exam other : others) {
+            int otherDuration = other.getCourse().getExamDurationSlots();
+            int slot = slotOf(other.getTimeSlot(), otherDuration);
+            if (slot < 0)
+                continue;
+            Integer room = roomIndex.get(other.getClassroom().getClassroomID());
+            if (room != null)
+                bookedSlots[room].set(slot, slot + otherDuration);
+
+            int shared = 0;
+            for (Student student : other.getEnrolledStudents()) {
+                if (students.contains(student)) {
+                    shared++;
+                    examsPerDay.computeIfAbsent(student, k -> new int[kernel.getDays()])[slot
+                            / kernel.getSlotsPerDay()]++;
+                }
+            }
+            if (shared == 0)
+                continue;
+            for (int start : kernel.blockedStarts(slot, otherDuration, duration)) {
+                Constraint rule = kernel.ruleBetween(start, duration, slot, otherDuration);
+                if (rule.isCritical()) {
+                    hardStudents[start] += shared;
+                    hardRule[start] = rule.getName();
+                } else {
+                    softStudents[start] += shared;
+                    softRule[start] = rule.getName();
+                }
+            }
+        }
+        for (int[] perDay : examsPerDay.values()) {
+            for (int day = 0; day < perDay.length; day++) {
+                if (perDay[day] >= kernel.getMaxExamsPerDay())
+                    overLimit[day]++;
+            }
+        }
+        this.buildMicros = (System.nanoTime() - startNanos) / 1000;
+    }
+
+    public Exam getExam() {
+        return exam;
+    }
+
+    public int getDays() {
+        return kernel.getDays();
+    }
+
+    public int getSlotsPerDay() {
+        return kernel.getSlotsPerDay();
+    }
+
+    /** Time taken to index the other exams. */
+    public long getBuildMicros() {
+        return buildMicros;
+    }
+
+    /** Status of the exam at a day and slot (both from 1) in the given room. */
+    public Status getStatus(int day, int slotNumber, Classroom room) {
+        int start = startOf(day, slotNumber);
+        if (start < 0 || room == null || !roomFits(start, room))
+            return Status.BLOCKED;
+        return studentStatus(start, day);
+    }
+
+    /** Best status over all rooms at a day and slot. */
+    public Status getStatus(int day, int slotNumber) {
+        int start = startOf(day, slotNumber);
+        if (start < 0 || suggestRoom(day, slotNumber) == null)
+            return Status.BLOCKED;
+        return studentStatus(start, day);
+    }
+
+    /** Rooms that are free for the whole exam and seat all its students. */
+    public int getFreeRoomCount(int day, int slotNumber) {
+        int start = startOf(day, slotNumber);
+        if (start < 0)
+            return 0;
+        int count = 0;
+        for (Classroom room : classrooms) {
+            if (roomFits(start, room))
+                count++;
+        }
+        return count;
+    }
+
+    /** Smallest room that is free and seats all students, or null. */
+    public Classroom suggestRoom(int day, int slotNumber) {
+        int start = startOf(day, slotNumber);
+        if (start < 0)
+            return null;
+        Classroom best = null;
+        for (Classroom room : classrooms) {
+            if (roomFits(start, room) && (best == null || room.getCapacity() < best.getCapacity()))
+                best = room;
+        }
+        return best;
+    }
+
+    /** Why the exam would not be free there, one reason per line; empty if it would. */
+    public List<String> explain(int day, int slotNumber, Classroom room) {
+        List<String> reasons = new ArrayList<>();
+        if (day < 1 || day > kernel.getDays() || slotNumber < 1 || slotNumber > kernel.getSlotsPerDay()) {
+            reasons.add("Outside the exam period");
+            return reasons;
+        }
+        int start = (day - 1) * kernel.getSlotsPerDay() + (slotNumber - 1);
+        if (!kernel.isValidStart(start, duration)) {
+            reasons.add("Needs " + duration + " slots and runs past the end of the day");
+            return reasons;
+        }
+        if (room == null) {
+            reasons.add("Unknown room");
+        } else {
+            if (isBooked(start, room))
+                reasons.add("Room " + room.getClassroomID() + " is booked");
+            if (exam.getStudentCount() > room.getCapacity())
+                reasons.add("Room " + room.getClassroomID() + " seats " + room.getCapacity() + ", exam has "
+                        + exam.getStudentCount() + " students");
+        }
+        if (hardStudents[start] > 0)
+            reasons.add(hardRule[start] + ": " + hardStudents[start] + " students");
+        if (softStudents[start] > 0)
+            reasons.add(softRule[start] + ": " + softStudents[start] + " students");
+        if (overLimit[day - 1] > 0 && kernel.getDailyLimitRule() != null)
+            reasons.add(kernel.getDailyLimitRule().getName() + ": " + overLimit[day - 1] + " students over "
+                    + kernel.getMaxExamsPerDay() + " exams");
+        return reasons;
+    }
+
+    private Status studentStatus(int start, int day) {
+        if (hardStudents[start] > 0
+                || overLimit[day - 1] > 0 && kernel.getDailyLimitRule() != null
+                        && kernel.getDailyLimitRule().isCritical())
+            return Status.BLOCKED;
+        if (softStudents[start] > 0 || overLimit[day - 1] > 0)
+            return Status.SOFT;
+        return Status.FREE;
+    }
+
+    private boolean roomFits(int start, Classroom room) {
+        return exam.getStudentCount() <= room.getCapacity() && !isBooked(start, room);
+    }
+
+    /** True if another exam has the room in some slot the exam would cover. */
+    private boolean isBooked(int start, Classroom room) {
+        Integer r = roomIndex.get(room.getClassroomID());
+        if (r == null)
+            return false;
+        int booked = bookedSlots[r].nextSetBit(start);
+        return booked >= 0 && booked < start + duration;
+    }
+
+    /** Dense start slot, or -1 if the exam cannot start there. */
+    private int startOf(int day, int slotNumber) {
+        if (day < 1 || day > kernel.getDays() || slotNumber < 1 || slotNumber > kernel.getSlotsPerDay())
+            return -1;
+        int start = (day - 1) * kernel.getSlotsPerDay() + (slotNumber - 1);
+        return kernel.isValidStart(start, duration) ? start : -1;
+    }
+
+    private int slotOf(TimeSlot timeSlot, int examDuration) {
+        if (timeSlot.getDay() > kernel.getDays() || timeSlot.getSlotNumber() > kernel.getSlotsPerDay())
+            return -1;
+        int slot = (timeSlot.getDay() - 1) * kernel.getSlotsPerDay() + (timeSlot.getSlotNumber() - 1);
+        return kernel.isValidStart(slot, examDuration) ? slot : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "MoveAdvisor{" +
+                "exam=" + exam.getCourse().getCourseCode() +
+                ", days=" + kernel.getDays() +
+                ", slotsPerDay=" + kernel.getSlotsPerDay() +
+                ", buildMicros=" + buildMicros +
+                '}';
+    }
+}
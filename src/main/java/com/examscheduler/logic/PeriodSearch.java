@@ -0,0 +1,262 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import com.examscheduler.model.Classroom;
+import com.examscheduler.model.Course;
+import com.examscheduler.model.Schedule;
+
+/**
+ * PeriodSearch - finds the shortest exam period in which the engine places
+ * every exam.
+ * The number of days is searched between the {@link FeasibilityCheck} lower
+ * bound and a maximum. Each round runs several candidate lengths at once, one
+ * {@link SchedulingEngine} per core, spread evenly over the open range, and
+ * narrows the range to between the longest failing and the shortest complete
+ * length (a binary search when only one core is used). Optionally the number
+ * of slots per day is then reduced the same way, using the first labels.
+ * Placing all exams is assumed to get no harder as the period grows.
+ */
+public class PeriodSearch {
+
+    public static final int DEFAULT_MAX_DAYS = 30;
+
+    private final List<Course> courses;
+    private final List<Classroom> classrooms;
+    private final List<String> timeSlotLabels;
+    private final SchedulingOptions options;
+    private int maxDays = DEFAULT_MAX_DAYS;
+    private boolean minimizeSlots;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private volatile boolean stopRequested;
+    private final List<SchedulingEngine> running = new ArrayList<>();
+
+    public PeriodSearch(List<Course> courses, List<Classroom> classrooms, List<String> timeSlotLabels,
+            SchedulingOptions options) {
+        if (courses == null || courses.isEmpty()) {
+            throw new IllegalArgumentException("At least one course is required");
+        }
+        if (classrooms == null || classrooms.isEmpty()) {
+            throw new IllegalArgumentException("At least one classroom is required");
+        }
+        if (timeSlotLabels == null || timeSlotLabels.isEmpty()) {
+            throw new IllegalArgumentException("At least one time slot is required");
+        }
+        this.courses = new ArrayList<>(courses);
+        this.classrooms = new ArrayList<>(classrooms);
+        this.timeSlotLabels = new ArrayList<>(timeSlotLabels);
+        this.options = options != null ? options : new SchedulingOptions();
+    }
+
+    public int getMaxDays() {
+        return maxDays;
+    }
+
+    public void setMaxDays(int maxDays) {
+        this.maxDays = Math.max(1, maxDays);
+    }
+
+    /** Also look for the fewest slots per day at the shortest period found. */
+    public boolean isMinimizeSlots() {
+        return minimizeSlots;
+    }
+
+    public void setMinimizeSlots(boolean minimizeSlots) {
+        this.minimizeSlots = minimizeSlots;
+    }
+
+    /** Candidate lengths run at the same time; defaults to the number of cores. */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /** Stops the running candidates; the search returns what it has found so far. */
+    public void stop() {
+        stopRequested = true;
+        synchronized (running) {
+            for (SchedulingEngine engine : running) {
+                engine.stop();
+            }
+        }
+    }
+
+    public PeriodSearchResult search() {
+        return search(SchedulingListener.NONE);
+    }
+
+    public PeriodSearchResult search(SchedulingListener listener) {
+        long start = System.currentTimeMillis();
+        int slotsPerDay = timeSlotLabels.size();
+        List<PeriodSearchResult.Trial> trials = Collections.synchronizedList(new ArrayList<>());
+        SchedulingResult[] shortest = new SchedulingResult[1];
+
+        FeasibilityCheck feasibility = new FeasibilityCheck(courses, classrooms, slotsPerDay,
+                options.getConstraints());
+        int lowerBound = feasibility.getMinimumDays();
+        listener.onMessage("📅 Period search: up to " + maxDays + " days, " + slotsPerDay + " slots/day, "
+                + parallelism + " lengths at a time");
+        if (lowerBound < 0 || lowerBound > maxDays) {
+            for (String problem : feasibility.check(maxDays).getProblems()) {
+                listener.onMessage("⚠️ " + problem);
+            }
+            listener.onMessage("❌ No period of up to " + maxDays + " days can hold all exams");
+            return new PeriodSearchResult(null, trials, System.currentTimeMillis() - start);
+        }
+        listener.onMessage("🧮 Lower bound: " + lowerBound + " days");
+
+        int days = searchShortest(lowerBound, maxDays, d -> runTrial(d, slotsPerDay, trials, shortest, listener));
+        if (days < 0) {
+            listener.onMessage(stopRequested ? "⏹ Period search stopped"
+                    : "❌ No period of up to " + maxDays + " days placed every exam");
+            return new PeriodSearchResult(null, trials, System.currentTimeMillis() - start);
+        }
+
+        if (minimizeSlots && slotsPerDay > 1 && !stopRequested) {
+            int fewest = slotsPerDay;
+            for (int s = 1; s < slotsPerDay; s++) {
+                if (new FeasibilityCheck(courses, classrooms, s, options.getConstraints()).check(days).isPossible()) {
+                    fewest = s;
+                    break;
+                }
+            }
+            if (fewest < slotsPerDay) {
+                searchShortest(fewest, slotsPerDay - 1, s -> runTrial(days, s, trials, shortest, listener));
+            }
+        }
+
+        SchedulingResult best = shortest[0];
+        listener.onMessage("✅ Shortest period: " + best.getSchedule().getExamPeriodDays() + " days × "
+                + best.getSchedule().getSlotsPerDay() + " slots");
+        return new PeriodSearchResult(best, trials, System.currentTimeMillis() - start);
+    }
+
+    // ==================== SEARCH ====================
+
+    /**
+     * Smallest value in [lo, hi] for which {@code complete} holds, testing up
+     * to {@link #parallelism} values per round.
+     *
+     * @return the value, or -1 if none in the range works
+     */
+    private int searchShortest(int lo, int hi, IntFunction<Boolean> complete) {
+        int found = -1;
+        while (lo <= hi && !stopRequested) {
+            int range = hi - lo + 1;
+            TreeSet<Integer> candidates = new TreeSet<>();
+            if (range <= parallelism) {
+                for (int v = lo; v <= hi; v++) {
+                    candidates.add(v);
+                }
+            } else {
+                for (int i = 1; i <= parallelism; i++) {
+                    candidates.add(lo + (int) ((long) i * range / (parallelism + 1)));
+                }
+            }
+
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int v : candidates) {
+                tasks.add(() -> complete.apply(v));
+            }
+            List<Boolean> outcomes = invokeAll(tasks);
+            if (stopRequested)
+                break;
+
+            int longestFailed = lo - 1;
+            int shortestComplete = hi + 1;
+            int k = 0;
+            for (int v : candidates) {
+                if (outcomes.get(k++)) {
+                    shortestComplete = Math.min(shortestComplete, v);
+                }
+            }
+            for (int v : candidates) {
+                if (v < shortestComplete) {
+                    longestFailed = Math.max(longestFailed, v);
+                }
+            }
+            if (shortestComplete <= hi) {
+                found = shortestComplete;
+            }
+            lo = longestFailed + 1;
+            hi = shortestComplete - 1;
+        }
+        return found;
+    }
+
+    private List<Boolean> invokeAll(List<Callable<Boolean>> tasks) {
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, tasks.size()));
+        List<Boolean> outcomes = new ArrayList<>();
+        try {
+            for (Future<Boolean> future : pool.invokeAll(tasks)) {
+                outcomes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Period search interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Period search failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return outcomes;
+    }
+
+    /** One engine run for the period; keeps its schedule if it is the shortest complete one so far. */
+    private boolean runTrial(int days, int slotsPerDay, List<PeriodSearchResult.Trial> trials,
+            SchedulingResult[] shortest, SchedulingListener listener) {
+        SchedulingEngine engine = new SchedulingEngine(courses, classrooms, days,
+                timeSlotLabels.subList(0, slotsPerDay), options);
+        // Candidates of a round share the cores, or they would eat into each other's time budget
+        engine.setParallelism(Runtime.getRuntime().availableProcessors() / parallelism);
+        synchronized (running) {
+            if (stopRequested)
+                return false;
+            running.add(engine);
+        }
+        SchedulingResult result;
+        try {
+            result = engine.generate();
+        } finally {
+            synchronized (running) {
+                running.remove(engine);
+            }
+        }
+        if (result.isStopped())
+            return false;
+
+        PeriodSearchResult.Trial trial = new PeriodSearchResult.Trial(days, slotsPerDay,
+                result.getPlacedCount(), result.getTotalSessions(), result.getUnplacedCourses().size(),
+                result.getElapsedMillis());
+        trials.add(trial);
+        listener.onMessage("  📅 " + trial);
+        if (result.isComplete()) {
+            synchronized (shortest) {
+                if (shortest[0] == null || isShorter(result, shortest[0])) {
+                    shortest[0] = result;
+                }
+            }
+        }
+        return result.isComplete();
+    }
+
+    private static boolean isShorter(SchedulingResult a, SchedulingResult b) {
+        Schedule x = a.getSchedule();
+        Schedule y = b.getSchedule();
+        if (x.getExamPeriodDays() != y.getExamPeriodDays())
+            return x.getExamPeriodDays() < y.getExamPeriodDays();
+        return x.getSlotsPerDay() < y.getSlotsPerDay();
+    }
+}
@@ -0,0 +1,134 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outcome of a {@link PeriodSearch}: the schedule of the shortest period that
+ * placed every exam, and one row per period length that was tried.
+ */
+public class PeriodSearchResult {
+    private final SchedulingResult shortest;
+    private final List<Trial> trials;
+    private final long elapsedMillis;
+
+    public PeriodSearchResult(SchedulingResult shortest, List<Trial> trials, long elapsedMillis) {
+        this.shortest = shortest;
+        this.trials = new ArrayList<>(trials);
+        this.trials.sort(Comparator.comparingInt(Trial::getDays).thenComparingInt(Trial::getSlotsPerDay));
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /** True if some period up to the maximum placed every exam. */
+    public boolean isFound() {
+        return shortest != null;
+    }
+
+    /** Engine result of the shortest complete period, or null. */
+    public SchedulingResult getResult() {
+        return shortest;
+    }
+
+    public int getDays() {
+        return shortest != null ? shortest.getSchedule().getExamPeriodDays() : -1;
+    }
+
+    public int getSlotsPerDay() {
+        return shortest != null ? shortest.getSchedule().getSlotsPerDay() : -1;
+    }
+
+    /** Every period length tried, shortest first. */
+    public List<Trial> getTrials() {
+        return new ArrayList<>(trials);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /** Placement table, one line per period tried. */
+    public String getTableText() {
+        StringBuilder text = new StringBuilder(String.format("%5s %6s %14s %9s %9s%n",
+                "Days", "Slots", "Placed", "Unplaced", "Time"));
+        for (Trial trial : trials) {
+            text.append(String.format("%5d %6d %6d / %-5d %9d %7.1fs%s%n", trial.getDays(),
+                    trial.getSlotsPerDay(), trial.getPlacedSessions(), trial.getTotalSessions(),
+                    trial.getUnplacedCourses(), trial.getElapsedMillis() / 1000.0,
+                    trial.isComplete() ? "  ✓" : ""));
+        }
+        return text.toString();
+    }
+
+    public String getSummary() {
+        if (shortest == null)
+            return String.format("Period search: no complete period found (%d lengths tried, %.1fs)",
+                    trials.size(), elapsedMillis / 1000.0);
+        return String.format("Period search: %d days × %d slots is the shortest complete period (%d lengths tried, %.1fs)",
+                getDays(), getSlotsPerDay(), trials.size(), elapsedMillis / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        return "PeriodSearchResult{" +
+                "days=" + getDays() +
+                ", slotsPerDay=" + getSlotsPerDay() +
+                ", trials=" + trials.size() +
+                ", elapsedMs=" + elapsedMillis +
+                '}';
+    }
+
+    /** One engine run for a period length. */
+    public static class Trial {
+        private final int days;
+        private final int slotsPerDay;
+        private final int placedSessions;
+        private final int totalSessions;
+        private final int unplacedCourses;
+        private final long elapsedMillis;
+
+        public Trial(int days, int slotsPerDay, int placedSessions, int totalSessions, int unplacedCourses,
+                long elapsedMillis) {
+            this.days = days;
+            this.slotsPerDay = slotsPerDay;
+            this.placedSessions = placedSessions;
+            this.totalSessions = totalSessions;
+            this.unplacedCourses = unplacedCourses;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getDays() {
+            return days;
+        }
+
+        public int getSlotsPerDay() {
+            return slotsPerDay;
+        }
+
+        public int getPlacedSessions() {
+            return placedSessions;
+        }
+
+        public int getTotalSessions() {
+            return totalSessions;
+        }
+
+        public int getUnplacedCourses() {
+            return unplacedCourses;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public boolean isComplete() {
+            return unplacedCourses == 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d days × %d slots: %d/%d sessions placed, %d courses unplaced (%.1fs)",
+                    days, slotsPerDay, placedSessions, totalSessions, unplacedCourses, elapsedMillis / 1000.0);
+        }
+    }
+}
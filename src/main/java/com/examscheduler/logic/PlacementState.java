@@ -0,0 +1,535 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import com.examscheduler.model.Classroom;
+import com.examscheduler.model.Exam;
+import com.examscheduler.model.TimeSlot;
+
+/**
+ * PlacementState - occupancy of one schedule under construction.
+ * Slots are dense indices (day - 1) * slotsPerDay + (slotNumber - 1).
+ * Every placed course adds to the "blocked" counter of each neighbour in the
+ * {@link ConflictGraph} for every slot its {@link ConstraintKernel} blocks
+ * (by default its own slot and the adjacent slots of the same day), so a
+ * clash / back-to-back probe is a single array read. Per-student daily
+ * counts are only consulted when the neighbours already on the probed day
+ * reach the daily limit.
+ * Free rooms are kept per slot in a bitset over rooms ranked by capacity,
+ * so the smallest free room that fits is a binary search plus one
+ * {@link BitSet#nextSetBit} call.
+ * An exam of several slots is placed by its first slot and holds its rooms
+ * in every slot it covers; the rooms free for all of them are the AND of the
+ * slots' bitsets. Starts from which it would run past the end of the day stay
+ * blocked for the course from the beginning.
+ */
+public class PlacementState {
+
+    private final ConflictGraph graph;
+    private final List<Classroom> rooms;
+    private final int days;
+    private final int slotsPerDay;
+    private final int slotCount;
+    private final ConstraintKernel kernel;
+    private final int maxExamsPerDay;
+
+    private final int[] courseSlot;
+    private final int[] duration;
+    private final int[] blocked;
+    private final int[] saturation;
+    private final int[] dayLoad;
+    private final byte[] studentDayCount;
+    private final int[] roomAtRank;
+    private final int[] rankOfRoom;
+    private final int[] rankCapacity;
+    private final BitSet[] freeRooms;
+    private final int[] roomOwner;
+    private final int[][] courseRooms;
+    private final boolean[] pinned;
+
+    public PlacementState(ConflictGraph graph, List<Classroom> rooms, int days, int slotsPerDay) {
+        this(graph, rooms, ConstraintKernel.standard(days, slotsPerDay, graph.getMaxExamDuration()));
+    }
+
+    public PlacementState(ConflictGraph graph, List<Classroom> rooms, ConstraintKernel kernel) {
+        this.graph = graph;
+        this.rooms = new ArrayList<>(rooms);
+        this.kernel = kernel;
+        this.days = kernel.getDays();
+        this.slotsPerDay = kernel.getSlotsPerDay();
+        this.slotCount = kernel.getSlotCount();
+        this.maxExamsPerDay = kernel.getMaxExamsPerDay();
+        if (graph.getMaxExamDuration() > kernel.getMaxDuration()) {
+            throw new IllegalArgumentException("Constraint kernel handles exams up to " + kernel.getMaxDuration()
+                    + " slots, but an exam takes " + graph.getMaxExamDuration());
+        }
+
+        int courseCount = graph.getCourseCount();
+        this.courseSlot = new int[courseCount];
+        Arrays.fill(courseSlot, -1);
+        this.duration = new int[courseCount];
+        this.blocked = new int[courseCount * slotCount];
+        this.saturation = new int[courseCount];
+        for (int c = 0; c < courseCount; c++) {
+            duration[c] = graph.getCourse(c).getExamDurationSlots();
+            if (duration[c] == 1)
+                continue;
+            for (int t = 0; t < slotCount; t++) {
+                if (!kernel.isValidStart(t, duration[c])) {
+                    blocked[c * slotCount + t] = 1;
+                    saturation[c]++;
+                }
+            }
+        }
+        this.dayLoad = new int[courseCount * days];
+        this.studentDayCount = new byte[graph.getStudentCount() * days];
+        this.courseRooms = new int[courseCount][];
+        this.pinned = new boolean[courseCount];
+
+        int roomCount = this.rooms.size();
+        Integer[] order = new Integer[roomCount];
+        for (int r = 0; r < roomCount; r++) {
+            order[r] = r;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(this.rooms.get(a).getCapacity(), this.rooms.get(b).getCapacity()));
+        this.roomAtRank = new int[roomCount];
+        this.rankOfRoom = new int[roomCount];
+        this.rankCapacity = new int[roomCount];
+        for (int k = 0; k < roomCount; k++) {
+            roomAtRank[k] = order[k];
+            rankOfRoom[order[k]] = k;
+            rankCapacity[k] = this.rooms.get(order[k]).getCapacity();
+        }
+        this.freeRooms = new BitSet[slotCount];
+        for (int t = 0; t < slotCount; t++) {
+            freeRooms[t] = new BitSet(roomCount);
+            freeRooms[t].set(0, roomCount);
+        }
+        this.roomOwner = new int[slotCount * roomCount];
+        Arrays.fill(roomOwner, -1);
+    }
+
+    public ConflictGraph getGraph() {
+        return graph;
+    }
+
+    public ConstraintKernel getKernel() {
+        return kernel;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getSlotsPerDay() {
+        return slotsPerDay;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public Classroom getRoom(int index) {
+        return rooms.get(index);
+    }
+
+    public int slotIndex(int day, int slotNumber) {
+        return (day - 1) * slotsPerDay + (slotNumber - 1);
+    }
+
+    public int dayOf(int slot) {
+        return slot / slotsPerDay;
+    }
+
+    public TimeSlot toTimeSlot(int slot) {
+        return new TimeSlot(slot / slotsPerDay + 1, slot % slotsPerDay + 1);
+    }
+
+    // ==================== STUDENT SIDE ====================
+
+    public int slotOf(int course) {
+        return courseSlot[course];
+    }
+
+    public boolean isPlaced(int course) {
+        return courseSlot[course] >= 0;
+    }
+
+    /** Length of the course's exam in consecutive slots. */
+    public int durationOf(int course) {
+        return duration[course];
+    }
+
+    /**
+     * True when no student of the course has an exam in a slot the kernel
+     * forbids together with this one, and no student would exceed the daily
+     * limit.
+     */
+    public boolean isStudentFeasible(int course, int slot) {
+        if (blocked[course * slotCount + slot] > 0)
+            return false;
+
+        int day = slot / slotsPerDay;
+        if (dayLoad[course * days + day] < maxExamsPerDay)
+            return true;
+
+        for (int s : graph.roster(course)) {
+            if (studentDayCount[s * days + day] >= maxExamsPerDay)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Saturation degree used by DSatur: number of slots blocked for the
+     * course by already placed neighbours.
+     */
+    public int getSaturation(int course) {
+        return saturation[course];
+    }
+
+    public void placeCourse(int course, int slot) {
+        if (courseSlot[course] >= 0) {
+            throw new IllegalStateException("Course already placed: " + graph.getCourse(course).getCourseCode());
+        }
+        courseSlot[course] = slot;
+        update(course, slot, 1);
+    }
+
+    public void removeCourse(int course) {
+        int slot = courseSlot[course];
+        if (slot < 0)
+            return;
+        courseSlot[course] = -1;
+        update(course, slot, -1);
+    }
+
+    private void update(int course, int slot, int delta) {
+        int day = slot / slotsPerDay;
+        int length = duration[course];
+
+        for (int i = graph.neighbourStart(course); i < graph.neighbourEnd(course); i++) {
+            int n = graph.neighbourAt(i);
+            int base = n * slotCount;
+            for (int u : kernel.blockedStarts(slot, length, duration[n])) {
+                int before = blocked[base + u];
+                blocked[base + u] = before + delta;
+                if (before == 0) {
+                    saturation[n]++;
+                } else if (before + delta == 0) {
+                    saturation[n]--;
+                }
+            }
+            dayLoad[n * days + day] += delta;
+        }
+        for (int s : graph.roster(course)) {
+            studentDayCount[s * days + day] += delta;
+        }
+    }
+
+    public int getPlacedCount() {
+        int placed = 0;
+        for (int slot : courseSlot) {
+            if (slot >= 0)
+                placed++;
+        }
+        return placed;
+    }
+
+    // ==================== UNIT PLACEMENT ====================
+
+    /**
+     * Places a whole exam unit: the course goes into the slot and each part
+     * books the room at the same position in {@code rooms}, for every slot
+     * the exam lasts.
+     */
+    public void placeUnit(int course, int slot, int[] rooms) {
+        placeCourse(course, slot);
+        for (int r : rooms) {
+            bookRoom(r, slot, course);
+        }
+        courseRooms[course] = rooms.clone();
+    }
+
+    /**
+     * Places the unit like {@link #placeUnit} and marks it as pinned: repair
+     * and optimization leave it where it is. Removing it clears the mark.
+     */
+    public void pinUnit(int course, int slot, int[] rooms) {
+        placeUnit(course, slot, rooms);
+        pinned[course] = true;
+    }
+
+    public boolean isPinned(int course) {
+        return pinned[course];
+    }
+
+    public void removeUnit(int course) {
+        pinned[course] = false;
+        int slot = courseSlot[course];
+        if (slot < 0)
+            return;
+        int[] rooms = courseRooms[course];
+        if (rooms != null) {
+            for (int r : rooms) {
+                releaseRoom(r, slot, course);
+            }
+            courseRooms[course] = null;
+        }
+        removeCourse(course);
+    }
+
+    /**
+     * Picks a distinct free room for every part of the unit in the given
+     * slot, walking rooms in the order given (shuffled for variety, or
+     * by ascending capacity). See {@link #findBestFitRooms} for the indexed
+     * best-fit variant.
+     *
+     * @return room index per part, or null if some part does not fit
+     */
+    public int[] findRooms(ExamUnit unit, int slot, int[] roomOrder) {
+        int length = duration[unit.getCourseIndex()];
+        if (!kernel.isValidStart(slot, length))
+            return null;
+        if (unit.isSplittable())
+            return packRooms(unit.getTotalStudents(), slot, length);
+        BitSet free = freeAcross(slot, length);
+        int[] chosen = new int[unit.getPartCount()];
+        List<Exam> parts = unit.getParts();
+        for (int p = 0; p < chosen.length; p++) {
+            int size = parts.get(p).getStudentCount();
+            chosen[p] = -1;
+            for (int r : roomOrder) {
+                if (!free.get(rankOfRoom[r]) || !rooms.get(r).canAccommodate(size))
+                    continue;
+                boolean taken = false;
+                for (int q = 0; q < p; q++) {
+                    if (chosen[q] == r) {
+                        taken = true;
+                        break;
+                    }
+                }
+                if (!taken) {
+                    chosen[p] = r;
+                    break;
+                }
+            }
+            if (chosen[p] < 0)
+                return null;
+        }
+        return chosen;
+    }
+
+    /**
+     * Best fit for every part of the unit: largest part first, each takes
+     * the smallest free room that holds it.
+     *
+     * @return room index per part, or null if some part does not fit
+     */
+    public int[] findBestFitRooms(ExamUnit unit, int slot) {
+        int length = duration[unit.getCourseIndex()];
+        if (!kernel.isValidStart(slot, length))
+            return null;
+        if (unit.isSplittable())
+            return packRooms(unit.getTotalStudents(), slot, length);
+        int[] chosen = new int[unit.getPartCount()];
+        List<Exam> parts = unit.getParts();
+        BitSet free = freeAcross(slot, length);
+        int p = 0;
+        for (; p < chosen.length; p++) {
+            int rank = free.nextSetBit(firstRankFitting(parts.get(p).getStudentCount()));
+            if (rank < 0)
+                break;
+            free.clear(rank);
+            chosen[p] = roomAtRank[rank];
+        }
+        // Parts were only reserved while choosing
+        for (int q = 0; q < p; q++) {
+            free.set(rankOfRoom[chosen[q]]);
+        }
+        return p == chosen.length ? chosen : null;
+    }
+
+    /**
+     * Fewest free rooms of the slot that seat {@code students} together,
+     * and among those a selection with little spare capacity: each pick is
+     * the smallest room that still lets the largest remaining rooms cover
+     * the rest.
+     *
+     * @return room indices, largest first, or null if the slot lacks seats
+     */
+    public int[] packRooms(int students, int slot) {
+        return packRooms(students, slot, 1);
+    }
+
+    /** {@link #packRooms(int, int)} over the rooms free for {@code length} slots from {@code slot} on. */
+    public int[] packRooms(int students, int slot, int length) {
+        int[] ranks = freeAcross(slot, length).stream().toArray();
+
+        int needed = 0;
+        long seats = 0;
+        for (int i = ranks.length - 1; i >= 0 && seats < students; i--) {
+            seats += rankCapacity[ranks[i]];
+            needed++;
+        }
+        if (seats < students)
+            return null;
+
+        boolean[] used = new boolean[ranks.length];
+        int[] chosen = new int[needed];
+        long remaining = students;
+        for (int k = 0; k < needed; k++) {
+            // Capacity of the `left` largest unused rooms, and of the next one below them
+            int left = needed - k - 1;
+            long top = 0;
+            int boundary = ranks.length;
+            int taken = 0;
+            for (int i = ranks.length - 1; i >= 0 && taken < left; i--) {
+                if (!used[i]) {
+                    top += rankCapacity[ranks[i]];
+                    boundary = i;
+                    taken++;
+                }
+            }
+            long next = 0;
+            for (int i = boundary - 1; i >= 0; i--) {
+                if (!used[i]) {
+                    next = rankCapacity[ranks[i]];
+                    break;
+                }
+            }
+
+            int pick = -1;
+            for (int i = 0; i < ranks.length; i++) {
+                if (used[i])
+                    continue;
+                int capacity = rankCapacity[ranks[i]];
+                long others = i >= boundary ? top - capacity + next : top;
+                if (capacity + others >= remaining) {
+                    pick = i;
+                    break;
+                }
+            }
+            used[pick] = true;
+            chosen[k] = ranks[pick];
+            remaining -= rankCapacity[ranks[pick]];
+        }
+
+        Arrays.sort(chosen);
+        int[] result = new int[needed];
+        for (int k = 0; k < needed; k++) {
+            result[k] = roomAtRank[chosen[needed - 1 - k]];
+        }
+        return result;
+    }
+
+    /** Smallest free room holding {@code size} students, or -1. */
+    public int bestFitRoom(int size, int slot) {
+        int rank = freeRooms[slot].nextSetBit(firstRankFitting(size));
+        return rank < 0 ? -1 : roomAtRank[rank];
+    }
+
+    /** Room index per part of the placed unit, or null if not placed. Do not modify. */
+    public int[] roomsOf(int course) {
+        return courseRooms[course];
+    }
+
+    /**
+     * Moves already placed courses of one slot to other rooms of the same
+     * slot. All listed courses give up their rooms before any new room is
+     * booked, so rooms may be exchanged among them.
+     */
+    public void reassignRooms(int slot, int[] courses, int[][] rooms) {
+        for (int c : courses) {
+            if (courseSlot[c] != slot) {
+                throw new IllegalStateException("Course not in slot: " + graph.getCourse(c).getCourseCode());
+            }
+            for (int r : courseRooms[c]) {
+                releaseRoom(r, slot, c);
+            }
+        }
+        for (int i = 0; i < courses.length; i++) {
+            for (int r : rooms[i]) {
+                bookRoom(r, slot, courses[i]);
+            }
+            courseRooms[courses[i]] = rooms[i].clone();
+        }
+    }
+
+    // ==================== ROOM SIDE ====================
+
+    public boolean isRoomFree(int room, int slot) {
+        return freeRooms[slot].get(rankOfRoom[room]);
+    }
+
+    /** True if the room is free in all {@code length} slots from {@code slot} on, within one day. */
+    public boolean isRoomFree(int room, int slot, int length) {
+        if (!kernel.isValidStart(slot, length))
+            return false;
+        for (int t = slot; t < slot + length; t++) {
+            if (!freeRooms[t].get(rankOfRoom[room]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ranks of the rooms free in every slot of the interval. A single slot
+     * returns the live bitset, which callers may only change temporarily.
+     */
+    private BitSet freeAcross(int slot, int length) {
+        if (length == 1)
+            return freeRooms[slot];
+        BitSet free = (BitSet) freeRooms[slot].clone();
+        for (int t = slot + 1; t < slot + length; t++) {
+            free.and(freeRooms[t]);
+        }
+        return free;
+    }
+
+    /** Course holding the room in the slot, or -1 if the room is free. */
+    public int courseInRoom(int room, int slot) {
+        return roomOwner[slot * rooms.size() + room];
+    }
+
+    /** Room index at the given position in ascending capacity order. */
+    public int roomAtRank(int rank) {
+        return roomAtRank[rank];
+    }
+
+    /** Position of the first room, in ascending capacity order, that holds {@code size}. */
+    public int firstRankFitting(int size) {
+        int lo = 0;
+        int hi = rankCapacity.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (rankCapacity[mid] < size) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void bookRoom(int room, int slot, int course) {
+        for (int t = slot; t < slot + duration[course]; t++) {
+            freeRooms[t].clear(rankOfRoom[room]);
+            roomOwner[t * rooms.size() + room] = course;
+        }
+    }
+
+    private void releaseRoom(int room, int slot, int course) {
+        for (int t = slot; t < slot + duration[course]; t++) {
+            freeRooms[t].set(rankOfRoom[room]);
+            roomOwner[t * rooms.size() + room] = -1;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output of an {@link IncrementalRepair} run: which courses were moved and
+ * which conflicts could not be resolved.
+ */
+public class RepairResult {
+    private final List<String> movedCourses;
+    private final List<String> unresolvedCourses;
+    private final int checkedCourses;
+    private final long elapsedMillis;
+
+    public RepairResult(List<String> movedCourses, List<String> unresolvedCourses, int checkedCourses,
+            long elapsedMillis) {
+        this.movedCourses = new ArrayList<>(movedCourses);
+        this.unresolvedCourses = new ArrayList<>(unresolvedCourses);
+        this.checkedCourses = checkedCourses;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<String> getMovedCourses() {
+        return new ArrayList<>(movedCourses);
+    }
+
+    /** Courses that found no conflict-free slot; their exams are now unscheduled. */
+    public List<String> getUnresolvedCourses() {
+        return new ArrayList<>(unresolvedCourses);
+    }
+
+    public int getCheckedCourses() {
+        return checkedCourses;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isClean() {
+        return unresolvedCourses.isEmpty();
+    }
+
+    public String getSummary() {
+        return String.format("Repair: %d course(s) moved, %d unresolved (%d ms)",
+                movedCourses.size(), unresolvedCourses.size(), elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "RepairResult{" +
+                "moved=" + movedCourses.size() +
+                ", unresolved=" + unresolvedCourses.size() +
+                ", checked=" + checkedCourses +
+                ", elapsedMs=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,30 @@
+package com.examscheduler.logic;
+
+/**
+ * How {@link SchedulingEngine} picks classrooms for a placed exam.
+ * {@link #RANDOM} is the original behaviour: the first free room that fits,
+ * from a shuffled list. {@link #BEST_FIT} takes the smallest free room that
+ * fits. {@link #MATCHING} also re-homes exams already in the slot when that
+ * frees a room, and re-assigns all rooms per slot once the time slots are
+ * final.
+ */
+public enum RoomAssignment {
+    RANDOM("Random room (original)"),
+    BEST_FIT("Best fit"),
+    MATCHING("Best fit + per-slot matching");
+
+    private final String displayName;
+
+    RoomAssignment(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,285 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * RoomMatcher - room assignment within one time slot as a bipartite
+ * matching between exam parts and classrooms (a part may use any room that
+ * holds it).
+ * {@link #augment} finds rooms for a new unit by moving parts already in the
+ * slot along augmenting paths, and {@link #optimizeRooms} re-assigns every
+ * slot with a minimum-waste matching once the time slots are fixed.
+ * Exams longer than one slot keep their rooms: a room change would have to
+ * hold in every slot they cover, which a per-slot matching cannot see.
+ * Pinned exams keep their rooms as well.
+ */
+public class RoomMatcher {
+
+    private static final long INFEASIBLE = Long.MAX_VALUE / 4;
+
+    private RoomMatcher() {
+    }
+
+    // ==================== AUGMENTING PATHS ====================
+
+    /**
+     * Finds a room for every part of {@code unit} in the slot, re-homing
+     * parts of already placed courses if needed (Kuhn's algorithm, smallest
+     * fitting room tried first). On success the moved courses have been
+     * re-assigned in the state; the new unit itself is not placed.
+     *
+     * @return room index per part of the unit, or null (state unchanged)
+     */
+    public static int[] augment(PlacementState state, ExamUnit[] unitByCourse, ExamUnit unit, int slot) {
+        if (unit.isSplittable() || state.durationOf(unit.getCourseIndex()) > 1)
+            return null;
+        SlotParts parts = SlotParts.collect(state, unitByCourse, slot);
+        int firstNew = parts.size();
+        for (int p = 0; p < unit.getPartCount(); p++) {
+            parts.add(unit.getCourseIndex(), p, unit.getParts().get(p).getStudentCount(), -1, false);
+        }
+
+        int roomCount = state.getRoomCount();
+        int[] holder = new int[roomCount];
+        Arrays.fill(holder, -1);
+        for (int i = 0; i < firstNew; i++) {
+            holder[parts.room[i]] = i;
+        }
+        for (int i = firstNew; i < parts.size(); i++) {
+            if (!tryAssign(state, parts, holder, i, new boolean[roomCount]))
+                return null;
+        }
+
+        List<Integer> changed = new ArrayList<>();
+        for (int i = 0; i < firstNew; i++) {
+            if (parts.room[i] != parts.originalRoom[i] && !changed.contains(parts.course[i])) {
+                changed.add(parts.course[i]);
+            }
+        }
+        if (!changed.isEmpty()) {
+            apply(state, parts, slot, changed);
+        }
+
+        int[] rooms = new int[unit.getPartCount()];
+        for (int i = firstNew; i < parts.size(); i++) {
+            rooms[parts.part[i]] = parts.room[i];
+        }
+        return rooms;
+    }
+
+    private static boolean tryAssign(PlacementState state, SlotParts parts, int[] holder, int i, boolean[] visited) {
+        if (parts.pinned[i])
+            return false;
+        for (int rank = state.firstRankFitting(parts.students[i]); rank < holder.length; rank++) {
+            int r = state.roomAtRank(rank);
+            if (visited[r])
+                continue;
+            visited[r] = true;
+            if (holder[r] < 0 || tryAssign(state, parts, holder, holder[r], visited)) {
+                holder[r] = i;
+                parts.room[i] = r;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== MINIMUM-WASTE MATCHING ====================
+
+    /**
+     * Re-assigns the rooms of every slot so that the total number of empty
+     * seats is minimal (Hungarian algorithm over parts x rooms).
+     *
+     * @return number of seats saved
+     */
+    public static long optimizeRooms(PlacementState state, List<ExamUnit> units) {
+        ExamUnit[] unitByCourse = new ExamUnit[state.getGraph().getCourseCount()];
+        for (ExamUnit unit : units) {
+            unitByCourse[unit.getCourseIndex()] = unit;
+        }
+
+        long saved = 0;
+        for (int slot = 0; slot < state.getSlotCount(); slot++) {
+            SlotParts parts = SlotParts.collect(state, unitByCourse, slot);
+            if (parts.size() == 0)
+                continue;
+
+            long before = 0;
+            for (int i = 0; i < parts.size(); i++) {
+                before += state.getRoom(parts.room[i]).getCapacity();
+            }
+            int[] assignment = minimumCost(state, parts);
+            if (assignment == null)
+                continue;
+
+            long after = 0;
+            for (int i = 0; i < parts.size(); i++) {
+                parts.room[i] = assignment[i];
+                after += state.getRoom(assignment[i]).getCapacity();
+            }
+            if (after < before) {
+                List<Integer> changed = new ArrayList<>();
+                for (int i = 0; i < parts.size(); i++) {
+                    if (!parts.pinned[i] && !changed.contains(parts.course[i])) {
+                        changed.add(parts.course[i]);
+                    }
+                }
+                apply(state, parts, slot, changed);
+                saved += before - after;
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Rectangular Hungarian algorithm (parts as rows, rooms as columns) with
+     * cost = room capacity, infinite where the part does not fit.
+     *
+     * @return room per part, or null if no complete assignment exists
+     */
+    private static int[] minimumCost(PlacementState state, SlotParts parts) {
+        int n = parts.size();
+        int m = state.getRoomCount();
+        if (n > m)
+            return null;
+
+        long[] u = new long[n + 1];
+        long[] v = new long[m + 1];
+        int[] rowOfColumn = new int[m + 1];
+        int[] way = new int[m + 1];
+        for (int i = 1; i <= n; i++) {
+            rowOfColumn[0] = i;
+            int j0 = 0;
+            long[] minv = new long[m + 1];
+            Arrays.fill(minv, Long.MAX_VALUE);
+            boolean[] used = new boolean[m + 1];
+            do {
+                used[j0] = true;
+                int i0 = rowOfColumn[j0];
+                long delta = Long.MAX_VALUE;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (used[j])
+                        continue;
+                    long cur = cost(state, parts, i0 - 1, j - 1) - u[i0] - v[j];
+                    if (cur < minv[j]) {
+                        minv[j] = cur;
+                        way[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[rowOfColumn[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (rowOfColumn[j0] != 0);
+            do {
+                int j1 = way[j0];
+                rowOfColumn[j0] = rowOfColumn[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] assignment = new int[n];
+        for (int j = 1; j <= m; j++) {
+            if (rowOfColumn[j] != 0) {
+                int i = rowOfColumn[j] - 1;
+                if (cost(state, parts, i, j - 1) >= INFEASIBLE)
+                    return null;
+                assignment[i] = j - 1;
+            }
+        }
+        return assignment;
+    }
+
+    private static long cost(PlacementState state, SlotParts parts, int i, int room) {
+        if (parts.pinned[i])
+            return room == parts.originalRoom[i] ? state.getRoom(room).getCapacity() : INFEASIBLE;
+        int capacity = state.getRoom(room).getCapacity();
+        return capacity >= parts.students[i] ? capacity : INFEASIBLE;
+    }
+
+    // ==================== HELPERS ====================
+
+    private static void apply(PlacementState state, SlotParts parts, int slot, List<Integer> changed) {
+        int[] courses = new int[changed.size()];
+        int[][] rooms = new int[changed.size()][];
+        for (int k = 0; k < courses.length; k++) {
+            courses[k] = changed.get(k);
+            rooms[k] = state.roomsOf(courses[k]).clone();
+        }
+        for (int i = 0; i < parts.size(); i++) {
+            int k = changed.indexOf(parts.course[i]);
+            if (k >= 0 && parts.originalRoom[i] >= 0) {
+                rooms[k][parts.part[i]] = parts.room[i];
+            }
+        }
+        state.reassignRooms(slot, courses, rooms);
+    }
+
+    /** Flat list of the exam parts sitting in one slot. */
+    private static class SlotParts {
+        int[] course = new int[8];
+        int[] part = new int[8];
+        int[] students = new int[8];
+        int[] room = new int[8];
+        int[] originalRoom = new int[8];
+        boolean[] pinned = new boolean[8];
+        private int count;
+
+        static SlotParts collect(PlacementState state, ExamUnit[] unitByCourse, int slot) {
+            SlotParts parts = new SlotParts();
+            for (int r = 0; r < state.getRoomCount(); r++) {
+                int c = state.courseInRoom(r, slot);
+                if (c < 0)
+                    continue;
+                int[] rooms = state.roomsOf(c);
+                int[] capacities = new int[rooms.length];
+                for (int p = 0; p < rooms.length; p++) {
+                    capacities[p] = state.getRoom(rooms[p]).getCapacity();
+                }
+                int[] sizes = unitByCourse[c].partSizes(capacities);
+                for (int p = 0; p < rooms.length; p++) {
+                    if (rooms[p] == r) {
+                        // Shares of a split course depend on its rooms, so it stays put
+                        parts.add(c, p, sizes[p], r,
+                                unitByCourse[c].isSplittable() || state.durationOf(c) > 1 || state.isPinned(c));
+                    }
+                }
+            }
+            return parts;
+        }
+
+        void add(int c, int p, int size, int r, boolean fixed) {
+            if (count == course.length) {
+                course = Arrays.copyOf(course, count * 2);
+                part = Arrays.copyOf(part, count * 2);
+                students = Arrays.copyOf(students, count * 2);
+                room = Arrays.copyOf(room, count * 2);
+                originalRoom = Arrays.copyOf(originalRoom, count * 2);
+                pinned = Arrays.copyOf(pinned, count * 2);
+            }
+            course[count] = c;
+            part[count] = p;
+            this.students[count] = size;
+            room[count] = r;
+            originalRoom[count] = r;
+            pinned[count] = fixed;
+            count++;
+        }
+
+        int size() {
+            return count;
+        }
+    }
+}
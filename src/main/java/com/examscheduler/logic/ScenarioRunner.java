@@ -0,0 +1,183 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.examscheduler.model.Classroom;
+import com.examscheduler.model.Course;
+
+/**
+ * ScenarioRunner - generates several variants of the schedule at once, one
+ * {@link SchedulingEngine} per core, and keeps each as a
+ * {@link ScheduleSnapshot} for comparison.
+ * A variant changes the period length and may add rooms of a given size;
+ * courses and students are shared by all variants and only read.
+ */
+public class ScenarioRunner {
+
+    private final List<Course> courses;
+    private final List<Classroom> classrooms;
+    private final List<String> timeSlotLabels;
+    private final SchedulingOptions options;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private volatile boolean stopRequested;
+    private final List<SchedulingEngine> running = new ArrayList<>();
+
+    public ScenarioRunner(List<Course> courses, List<Classroom> classrooms, List<String> timeSlotLabels,
+            SchedulingOptions options) {
+        if (courses == null || courses.isEmpty()) {
+            throw new IllegalArgumentException("At least one course is required");
+        }
+        if (classrooms == null || classrooms.isEmpty()) {
+            throw new IllegalArgumentException("At least one classroom is required");
+        }
+        if (timeSlotLabels == null || timeSlotLabels.isEmpty()) {
+            throw new IllegalArgumentException("At least one time slot is required");
+        }
+        this.courses = new ArrayList<>(courses);
+        this.classrooms = new ArrayList<>(classrooms);
+        this.timeSlotLabels = new ArrayList<>(timeSlotLabels);
+        this.options = options != null ? options : new SchedulingOptions();
+    }
+
+    /** Variants generated at the same time; defaults to the number of cores. */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /** Stops the running variants; stopped ones are left out of the result. */
+    public void stop() {
+        stopRequested = true;
+        synchronized (running) {
+            for (SchedulingEngine engine : running) {
+                engine.stop();
+            }
+        }
+    }
+
+    public List<ScheduleSnapshot> run(List<Scenario> scenarios) {
+        return run(scenarios, SchedulingListener.NONE);
+    }
+
+    /** One snapshot per variant that finished, in the order given. */
+    public List<ScheduleSnapshot> run(List<Scenario> scenarios, SchedulingListener listener) {
+        if (scenarios == null || scenarios.isEmpty()) {
+            throw new IllegalArgumentException("At least one scenario is required");
+        }
+        listener.onMessage("🔀 Generating " + scenarios.size() + " variants, " + Math.min(parallelism, scenarios.size())
+                + " at a time");
+        int threads = Math.min(parallelism, scenarios.size());
+        // Variants running together share the cores, or they would eat into each other's time budget
+        int engineThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / threads);
+        List<Callable<ScheduleSnapshot>> tasks = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            tasks.add(() -> runScenario(scenario, engineThreads, listener));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<ScheduleSnapshot> snapshots = new ArrayList<>();
+        try {
+            for (Future<ScheduleSnapshot> future : pool.invokeAll(tasks)) {
+                ScheduleSnapshot snapshot = future.get();
+                if (snapshot != null)
+                    snapshots.add(snapshot);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scenario run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scenario run failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        if (stopRequested)
+            listener.onMessage("⏹ Scenario run stopped, " + snapshots.size() + " variants finished");
+        return snapshots;
+    }
+
+    private ScheduleSnapshot runScenario(Scenario scenario, int engineThreads, SchedulingListener listener) {
+        List<Classroom> rooms = new ArrayList<>(classrooms);
+        for (int i = 1; i <= scenario.getExtraRooms(); i++) {
+            rooms.add(new Classroom("EXTRA-" + i, scenario.getExtraRoomCapacity()));
+        }
+        SchedulingEngine engine = new SchedulingEngine(courses, rooms, scenario.getDays(), timeSlotLabels, options);
+        engine.setParallelism(engineThreads);
+        synchronized (running) {
+            if (stopRequested)
+                return null;
+            running.add(engine);
+        }
+        SchedulingResult result;
+        try {
+            result = engine.generate();
+        } finally {
+            synchronized (running) {
+                running.remove(engine);
+            }
+        }
+        if (result.isStopped())
+            return null;
+
+        ScheduleSnapshot snapshot = new ScheduleSnapshot(scenario.getName(), scenario.toString(),
+                result.getSchedule(), courses, rooms);
+        listener.onMessage("  🔀 " + snapshot.getSummary() + String.format(" (%.1fs)", result.getElapsedMillis() / 1000.0));
+        return snapshot;
+    }
+
+    /** Inputs of one variant. */
+    public static class Scenario {
+        private final String name;
+        private final int days;
+        private final int extraRooms;
+        private final int extraRoomCapacity;
+
+        public Scenario(String name, int days, int extraRooms, int extraRoomCapacity) {
+            if (name == null || name.trim().isEmpty()) {
+                throw new IllegalArgumentException("Scenario name is required");
+            }
+            if (days <= 0) {
+                throw new IllegalArgumentException("Days must be positive");
+            }
+            if (extraRooms < 0) {
+                throw new IllegalArgumentException("Extra rooms cannot be negative");
+            }
+            if (extraRooms > 0 && extraRoomCapacity <= 0) {
+                throw new IllegalArgumentException("Extra room capacity must be positive");
+            }
+            this.name = name.trim();
+            this.days = days;
+            this.extraRooms = extraRooms;
+            this.extraRoomCapacity = extraRoomCapacity;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getDays() {
+            return days;
+        }
+
+        public int getExtraRooms() {
+            return extraRooms;
+        }
+
+        public int getExtraRoomCapacity() {
+            return extraRoomCapacity;
+        }
+
+        @Override
+        public String toString() {
+            return days + " days" + (extraRooms > 0 ? ", +" + extraRooms + " rooms of " + extraRoomCapacity : "");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.examscheduler.logic;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.examscheduler.model.Course;
+import com.examscheduler.model.Exam;
+
+/**
+ * ScheduleChangeSet - edits made to an existing schedule, as input to
+ * {@link IncrementalRepair}.
+ * Courses whose enrollment changed are re-checked and re-placed only if they
+ * now clash or no longer fit their rooms. Exams moved by hand are fixed:
+ * other exams make way for them.
+ */
+public class ScheduleChangeSet {
+    private final Set<Course> changedCourses = new LinkedHashSet<>();
+    private final Set<Course> fixedCourses = new LinkedHashSet<>();
+    private int version;
+
+    public ScheduleChangeSet() {
+    }
+
+    /** A copy of the recorded edits, e.g. for a repair that runs in the background. */
+    public ScheduleChangeSet(ScheduleChangeSet other) {
+        changedCourses.addAll(other.changedCourses);
+        fixedCourses.addAll(other.fixedCourses);
+        version = other.version;
+    }
+
+    public void enrollmentChanged(Course course) {
+        if (course != null) {
+            changedCourses.add(course);
+            version++;
+        }
+    }
+
+    public void examMoved(Exam exam) {
+        if (exam != null && exam.getCourse() != null) {
+            fixedCourses.add(exam.getCourse());
+            version++;
+        }
+    }
+
+    public Set<Course> getChangedCourses() {
+        return Collections.unmodifiableSet(changedCourses);
+    }
+
+    public Set<Course> getFixedCourses() {
+        return Collections.unmodifiableSet(fixedCourses);
+    }
+
+    /** Goes up with every recorded edit, so a caller can tell whether edits came in meanwhile. */
+    public int getVersion() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return changedCourses.isEmpty() && fixedCourses.isEmpty();
+    }
+
+    public void clear() {
+        changedCourses.clear();
+        fixedCourses.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleChangeSet{" +
+                "changed=" + changedCourses.size() +
+                ", fixed=" + fixedCourses.size() +
+                '}';
+    }
+}
@@ -0,0 +1,59 @@
+package com.examscheduler.logic;
+
+import java.util.List;
+
+/**
+ * ScheduleObjective - soft-constraint penalty of a {@link PlacementState}.
+ * Terms: students sitting two exams on the same day, uneven number of exams
+ * per day and empty seats in the booked rooms.
+ */
+public class ScheduleObjective {
+
+    public static final double SAME_DAY_WEIGHT = 1.0;
+    public static final double DAY_LOAD_WEIGHT = 1.0;
+    public static final double WASTED_SEAT_WEIGHT = 0.01;
+
+    private ScheduleObjective() {
+    }
+
+    public static SolutionScore evaluate(PlacementState state, List<ExamUnit> units) {
+        ConflictGraph graph = state.getGraph();
+        int unplaced = 0;
+        long sameDayPairs = 0;
+        long wastedSeats = 0;
+        long[] dayLoad = new long[state.getDays()];
+
+        for (ExamUnit unit : units) {
+            int c = unit.getCourseIndex();
+            int slot = state.slotOf(c);
+            if (slot < 0) {
+                unplaced++;
+                continue;
+            }
+            int day = state.dayOf(slot);
+            dayLoad[day]++;
+
+            for (int i = graph.neighbourStart(c); i < graph.neighbourEnd(c); i++) {
+                int n = graph.neighbourAt(i);
+                if (n > c && state.slotOf(n) >= 0 && state.dayOf(state.slotOf(n)) == day) {
+                    sameDayPairs += graph.weightAt(i);
+                }
+            }
+
+            for (int r : state.roomsOf(c)) {
+                wastedSeats += state.getRoom(r).getCapacity();
+            }
+            wastedSeats -= unit.getTotalStudents();
+        }
+
+        long dayLoadSquares = 0;
+        for (long load : dayLoad) {
+            dayLoadSquares += load * load;
+        }
+
+        double penalty = SAME_DAY_WEIGHT * sameDayPairs
+                + DAY_LOAD_WEIGHT * dayLoadSquares
+                + WASTED_SEAT_WEIGHT * wastedSeats;
+        return new SolutionScore(unplaced, sameDayPairs, dayLoadSquares, wastedSeats, penalty);
+    }
+}
@@ -0,0 +1,192 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.examscheduler.model.Classroom;
+import com.examscheduler.model.Course;
+import com.examscheduler.model.Exam;
+import com.examscheduler.model.Schedule;
+import com.examscheduler.model.Student;
+
+/**
+ * ScheduleSnapshot - a named, frozen version of a schedule and its key
+ * metrics, so variants can be compared side by side.
+ * The schedule is a {@link Schedule#snapshot()}, which shares its exams with
+ * the schedule it was taken from instead of copying them; later edits to
+ * that schedule copy only the exams they change. Metrics are computed once,
+ * when the snapshot is taken.
+ */
+public class ScheduleSnapshot {
+
+    private final String name;
+    private final String description;
+    private final Schedule schedule;
+    private final long createdMillis;
+
+    private final int roomCount;
+    private final int coursesToPlace;
+    private final int coursesPlaced;
+    private final List<String> unplacedCourses = new ArrayList<>();
+    private final int examSessions;
+    private final int daysUsed;
+    private final int sameDayStudents;
+    private final int maxExamsPerStudentDay;
+    private final long seatsBooked;
+    private final long seatsUsed;
+
+    public ScheduleSnapshot(String name, String description, Schedule schedule, List<Course> courses,
+            List<Classroom> classrooms) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Snapshot name is required");
+        }
+        if (schedule == null) {
+            throw new IllegalArgumentException("Schedule is required");
+        }
+        this.name = name.trim();
+        this.description = description != null ? description : "";
+        this.schedule = schedule.snapshot();
+        this.createdMillis = System.currentTimeMillis();
+        this.roomCount = classrooms != null ? classrooms.size() : 0;
+
+        List<Exam> scheduled = this.schedule.getScheduledExams();
+        Set<Course> placed = new HashSet<>();
+        Set<Integer> days = new HashSet<>();
+        Map<Student, int[]> examsPerDay = new HashMap<>();
+        int periodDays = this.schedule.getExamPeriodDays();
+        long booked = 0;
+        long used = 0;
+        for (Exam exam : scheduled) {
+            placed.add(exam.getCourse());
+            int day = exam.getTimeSlot().getDay();
+            days.add(day);
+            booked += exam.getClassroom().getCapacity();
+            used += exam.getStudentCount();
+            for (Student student : exam.getEnrolledStudents()) {
+                int[] perDay = examsPerDay.computeIfAbsent(student, k -> new int[periodDays + 1]);
+                if (day <= periodDays)
+                    perDay[day]++;
+            }
+        }
+
+        int toPlace = 0;
+        for (Course course : courses) {
+            if (course.getStudentCount() <= 0)
+                continue;
+            toPlace++;
+            if (!placed.contains(course))
+                unplacedCourses.add(course.getCourseCode());
+        }
+
+        int sameDay = 0;
+        int maxPerDay = 0;
+        for (int[] perDay : examsPerDay.values()) {
+            boolean clash = false;
+            for (int count : perDay) {
+                clash |= count > 1;
+                maxPerDay = Math.max(maxPerDay, count);
+            }
+            if (clash)
+                sameDay++;
+        }
+
+        this.coursesToPlace = toPlace;
+        this.coursesPlaced = toPlace - unplacedCourses.size();
+        this.examSessions = scheduled.size();
+        this.daysUsed = days.size();
+        this.sameDayStudents = sameDay;
+        this.maxExamsPerStudentDay = maxPerDay;
+        this.seatsBooked = booked;
+        this.seatsUsed = used;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Inputs the variant was made with, e.g. period length and rooms. */
+    public String getDescription() {
+        return description;
+    }
+
+    /** The frozen schedule; take another {@link Schedule#snapshot()} before editing it. */
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    public int getCoursesPlaced() {
+        return coursesPlaced;
+    }
+
+    public List<String> getUnplacedCourses() {
+        return new ArrayList<>(unplacedCourses);
+    }
+
+    public boolean isComplete() {
+        return unplacedCourses.isEmpty();
+    }
+
+    public int getDaysUsed() {
+        return daysUsed;
+    }
+
+    /** Students with two or more exams on at least one day. */
+    public int getSameDayStudents() {
+        return sameDayStudents;
+    }
+
+    public int getMaxExamsPerStudentDay() {
+        return maxExamsPerStudentDay;
+    }
+
+    /** Share of the booked room seats that students sit in, 0 to 1. */
+    public double getSeatUtilization() {
+        return seatsBooked == 0 ? 0 : (double) seatsUsed / seatsBooked;
+    }
+
+    public long getWastedSeats() {
+        return Math.max(0, seatsBooked - seatsUsed);
+    }
+
+    /** Metric name to display value, in a fixed order shared by all snapshots. */
+    public Map<String, String> getMetrics() {
+        Map<String, String> metrics = new LinkedHashMap<>();
+        metrics.put("Exam period", schedule.getExamPeriodDays() + " days × " + schedule.getSlotsPerDay() + " slots");
+        metrics.put("Rooms", String.valueOf(roomCount));
+        metrics.put("Courses placed", coursesPlaced + " / " + coursesToPlace);
+        metrics.put("Unplaced courses", unplacedCourses.isEmpty() ? "none"
+                : unplacedCourses.size() + " (" + String.join(", ", unplacedCourses.subList(0,
+                        Math.min(3, unplacedCourses.size()))) + (unplacedCourses.size() > 3 ? ", ..." : "") + ")");
+        metrics.put("Exam sessions", String.valueOf(examSessions));
+        metrics.put("Days used", daysUsed + " / " + schedule.getExamPeriodDays());
+        metrics.put("Students with 2+ exams a day", String.valueOf(sameDayStudents));
+        metrics.put("Most exams for a student in a day", String.valueOf(maxExamsPerStudentDay));
+        metrics.put("Seat utilization", String.format("%.1f%%", getSeatUtilization() * 100));
+        metrics.put("Empty booked seats", String.format("%,d", getWastedSeats()));
+        return metrics;
+    }
+
+    public String getSummary() {
+        return String.format("%s: %d/%d courses placed in %d days, %d students with 2+ exams a day, %.1f%% seats used",
+                name, coursesPlaced, coursesToPlace, daysUsed, sameDayStudents, getSeatUtilization() * 100);
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleSnapshot{" +
+                "name=" + name +
+                ", placed=" + coursesPlaced +
+                ", unplaced=" + unplacedCourses.size() +
+                ", daysUsed=" + daysUsed +
+                '}';
+    }
+}
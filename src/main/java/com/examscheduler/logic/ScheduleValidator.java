@@ -0,0 +1,408 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.examscheduler.model.Exam;
+import com.examscheduler.model.Schedule;
+import com.examscheduler.model.Student;
+import com.examscheduler.model.TimeSlot;
+
+/**
+ * ScheduleValidator - checks a finished schedule against the same compiled
+ * {@link ConstraintKernel} the scheduler places exams with, plus room
+ * double-booking and room capacity.
+ * Students and exams are turned into dense indices once; every student rule
+ * is then a table lookup per pair of the student's exams. An exam longer than
+ * one slot books its room and meets the student rules in every slot it
+ * covers.
+ * The same pass gathers the statistics of the validation dialog and the
+ * conflict report: distinct exam slots per student, average fill of every
+ * room, and exams per day and per slot.
+ * No built-in rule, room booking or daily limit links two days, so the
+ * exams are split by day and every day is checked on its own core; the
+ * findings are merged in day order. A custom rule that links days turns
+ * this off ({@link ConstraintKernel#isDayLocal()}).
+ */
+public class ScheduleValidator {
+
+    private final List<Constraint> constraints;
+    private boolean checkRoomConflicts = true;
+    private boolean checkCapacity = true;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public ScheduleValidator() {
+        this(Constraints.standard());
+    }
+
+    public ScheduleValidator(List<Constraint> constraints) {
+        if (constraints == null) {
+            throw new IllegalArgumentException("Constraints are required");
+        }
+        this.constraints = new ArrayList<>(constraints);
+    }
+
+    public List<Constraint> getConstraints() {
+        return new ArrayList<>(constraints);
+    }
+
+    public boolean isCheckRoomConflicts() {
+        return checkRoomConflicts;
+    }
+
+    public void setCheckRoomConflicts(boolean checkRoomConflicts) {
+        this.checkRoomConflicts = checkRoomConflicts;
+    }
+
+    public boolean isCheckCapacity() {
+        return checkCapacity;
+    }
+
+    public void setCheckCapacity(boolean checkCapacity) {
+        this.checkCapacity = checkCapacity;
+    }
+
+    /** Days checked at the same time; defaults to the number of cores. */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public ValidationReport validate(Schedule schedule) {
+        if (schedule == null) {
+            throw new IllegalArgumentException("No schedule to validate");
+        }
+        long startMillis = System.currentTimeMillis();
+        ValidationReport report = new ValidationReport();
+        List<Exam> exams = schedule.getScheduledExams();
+        int maxDuration = 1;
+        int lastDay = 0;
+        int lastSlotNumber = 0;
+        for (Exam exam : exams) {
+            maxDuration = Math.max(maxDuration, exam.getCourse().getExamDurationSlots());
+            lastDay = Math.max(lastDay, exam.getTimeSlot().getDay());
+            lastSlotNumber = Math.max(lastSlotNumber, exam.getTimeSlot().getSlotNumber());
+        }
+        ConstraintKernel kernel = ConstraintKernel.compile(constraints, schedule.getExamPeriodDays(),
+                schedule.getSlotsPerDay(), maxDuration);
+        report.setContext(exams, kernel.getConstraints(), kernel.getSlotsPerDay());
+        Pass pass = new Pass(kernel, exams, lastDay, lastSlotNumber, checkRoomConflicts, checkCapacity);
+
+        Map<String, Integer> roomIndex = new HashMap<>();
+        List<String> roomIds = new ArrayList<>();
+        int[] roomExams = new int[exams.size()];
+        double[] roomUtilization = new double[exams.size()];
+        int[] examsPerDay = new int[lastDay];
+        int[] examsPerSlot = new int[lastSlotNumber];
+
+        // ---- Rooms, and the dense slot of every exam ----
+        for (int e = 0; e < exams.size(); e++) {
+            Exam exam = exams.get(e);
+            TimeSlot timeSlot = exam.getTimeSlot();
+            String roomID = exam.getClassroom().getClassroomID();
+            int capacity = exam.getClassroom().getCapacity();
+
+            examsPerDay[timeSlot.getDay() - 1]++;
+            examsPerSlot[timeSlot.getSlotNumber() - 1]++;
+            pass.timeOf[e] = (timeSlot.getDay() - 1) * lastSlotNumber + (timeSlot.getSlotNumber() - 1);
+            Integer known = roomIndex.get(roomID);
+            int room = known != null ? known : roomIds.size();
+            if (known == null) {
+                roomIndex.put(roomID, room);
+                roomIds.add(roomID);
+            }
+            pass.roomOf[e] = room;
+            roomExams[room]++;
+            roomUtilization[room] += capacity > 0 ? exam.getStudentCount() * 100.0 / capacity : 0;
+
+            pass.slotOf[e] = -1;
+            if (timeSlot.getDay() > kernel.getDays() || timeSlot.getSlotNumber() > kernel.getSlotsPerDay())
+                continue;
+            int slot = (timeSlot.getDay() - 1) * kernel.getSlotsPerDay() + (timeSlot.getSlotNumber() - 1);
+            int duration = exam.getCourse().getExamDurationSlots();
+            pass.durationOf[e] = duration;
+            if (kernel.isValidStart(slot, duration))
+                pass.slotOf[e] = slot;
+        }
+        for (int r = 0; r < roomIds.size(); r++) {
+            report.addRoomUsage(new ValidationReport.RoomUsage(roomIds.get(r), roomExams[r],
+                    roomUtilization[r] / roomExams[r]));
+        }
+        report.setTimeDistribution(examsPerDay, examsPerSlot);
+
+        // ---- Students as dense indices ----
+        Map<Student, Integer> studentIndex = new HashMap<>();
+        List<Student> students = new ArrayList<>();
+        for (int e = 0; e < exams.size(); e++) {
+            List<Student> enrolled = exams.get(e).getEnrolledStudents();
+            pass.rosters[e] = new int[enrolled.size()];
+            for (int i = 0; i < enrolled.size(); i++) {
+                Student student = enrolled.get(i);
+                Integer s = studentIndex.get(student);
+                if (s == null) {
+                    s = students.size();
+                    studentIndex.put(student, s);
+                    students.add(student);
+                }
+                pass.rosters[e][i] = s;
+            }
+        }
+
+        // ---- One shard per day, checked in parallel ----
+        List<int[]> shards = new ArrayList<>();
+        if (kernel.isDayLocal()) {
+            int[] fill = new int[lastDay];
+            for (int day = 0; day < lastDay; day++) {
+                shards.add(new int[examsPerDay[day]]);
+            }
+            for (int e = 0; e < exams.size(); e++) {
+                int day = exams.get(e).getTimeSlot().getDay() - 1;
+                shards.get(day)[fill[day]++] = e;
+            }
+        } else {
+            // A rule links different days, so all exams have to be checked together
+            int[] all = new int[exams.size()];
+            for (int e = 0; e < all.length; e++) {
+                all[e] = e;
+            }
+            shards.add(all);
+        }
+
+        int[] loads = new int[students.size()];
+        for (Shard shard : checkAll(pass, shards)) {
+            for (Violation violation : shard.violations) {
+                report.add(violation);
+            }
+            for (int i = 0; i < shard.students.length; i++) {
+                loads[shard.students[i]] += shard.loads[i];
+            }
+        }
+        report.setStudents(students);
+        recordLoad(report, loads);
+        report.setElapsedMillis(System.currentTimeMillis() - startMillis);
+        return report;
+    }
+
+    /** Checks the shards on a ForkJoinPool; results come back in shard order. */
+    private List<Shard> checkAll(Pass pass, List<int[]> shards) {
+        List<Shard> results = new ArrayList<>();
+        int threads = Math.min(parallelism, shards.size());
+        if (threads <= 1) {
+            for (int[] shard : shards) {
+                results.add(pass.check(shard));
+            }
+            return results;
+        }
+        List<Callable<Shard>> tasks = new ArrayList<>();
+        for (int[] shard : shards) {
+            tasks.add(() -> pass.check(shard));
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (Future<Shard> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    /** Histogram and range of the distinct exam slots per student. */
+    private static void recordLoad(ValidationReport report, int[] loads) {
+        int min = loads.length > 0 ? Integer.MAX_VALUE : 0;
+        int max = 0;
+        long total = 0;
+        for (int load : loads) {
+            min = Math.min(min, load);
+            max = Math.max(max, load);
+            total += load;
+        }
+        int[] histogram = new int[max + 1];
+        for (int load : loads) {
+            histogram[load]++;
+        }
+        report.setStudentLoad(histogram, loads.length, min, max, total);
+    }
+
+    private static int ruleIndex(ConstraintKernel kernel, Constraint rule) {
+        List<Constraint> rules = kernel.getConstraints();
+        for (int k = 0; k < rules.size(); k++) {
+            if (rules.get(k) == rule)
+                return k;
+        }
+        return -1;
+    }
+
+    /**
+     * Dense form of one schedule, filled in by {@link #validate(Schedule)}
+     * and then only read by the shards.
+     */
+    private static final class Pass {
+        final ConstraintKernel kernel;
+        final List<Exam> exams;
+        final int lastDay;
+        final int lastSlotNumber;
+        final boolean checkRoomConflicts;
+        final boolean checkCapacity;
+        // Dense slot of every exam, or -1 if it is outside the period or runs past its day
+        final int[] slotOf;
+        final int[] durationOf;
+        // Day and slot number of every exam, also outside the period, for the load analysis
+        final int[] timeOf;
+        final int[] roomOf;
+        final int[][] rosters;
+
+        Pass(ConstraintKernel kernel, List<Exam> exams, int lastDay, int lastSlotNumber, boolean checkRoomConflicts,
+                boolean checkCapacity) {
+            this.kernel = kernel;
+            this.exams = exams;
+            this.lastDay = lastDay;
+            this.lastSlotNumber = lastSlotNumber;
+            this.checkRoomConflicts = checkRoomConflicts;
+            this.checkCapacity = checkCapacity;
+            this.slotOf = new int[exams.size()];
+            this.durationOf = new int[exams.size()];
+            this.timeOf = new int[exams.size()];
+            this.roomOf = new int[exams.size()];
+            this.rosters = new int[exams.size()][];
+        }
+
+        /** Findings and distinct slots per student of the given exams, which share no rule with any others. */
+        Shard check(int[] shardExams) {
+            Shard shard = new Shard();
+            int slotsPerDay = kernel.getSlotsPerDay();
+
+            // ---- Rooms ----
+            BitSet bookedRooms = new BitSet();
+            for (int e : shardExams) {
+                int slot = slotOf[e];
+                if (slot < 0) {
+                    TimeSlot timeSlot = exams.get(e).getTimeSlot();
+                    if (timeSlot.getDay() > kernel.getDays() || timeSlot.getSlotNumber() > slotsPerDay) {
+                        shard.violations.add(new Violation(Violation.Kind.OUTSIDE_PERIOD, true, -1, -1, e, -1, -1, 0));
+                    } else {
+                        int start = (timeSlot.getDay() - 1) * slotsPerDay + (timeSlot.getSlotNumber() - 1);
+                        shard.violations.add(new Violation(Violation.Kind.PAST_END_OF_DAY, true, -1, -1, e, -1, start,
+                                durationOf[e]));
+                    }
+                    continue;
+                }
+                if (checkRoomConflicts) {
+                    boolean reported = false;
+                    for (int t = slot; t < slot + durationOf[e]; t++) {
+                        int key = roomOf[e] * kernel.getSlotCount() + t;
+                        if (bookedRooms.get(key) && !reported) {
+                            shard.violations.add(new Violation(Violation.Kind.ROOM_DOUBLE_BOOKING, true, -1, -1, e,
+                                    -1, t, 0));
+                            reported = true;
+                        }
+                        bookedRooms.set(key);
+                    }
+                }
+                Exam exam = exams.get(e);
+                int enrolled = exam.getStudentCount();
+                if (checkCapacity && enrolled > exam.getClassroom().getCapacity()) {
+                    shard.violations.add(new Violation(Violation.Kind.CAPACITY, true, -1, -1, e, -1, slot, enrolled));
+                }
+            }
+
+            // ---- Exams per student: (student, exam) pairs sorted by student, then exam ----
+            int pairCount = 0;
+            for (int e : shardExams) {
+                pairCount += rosters[e].length;
+            }
+            long[] pairs = new long[pairCount];
+            pairCount = 0;
+            for (int e : shardExams) {
+                for (int s : rosters[e]) {
+                    pairs[pairCount++] = (long) s << 32 | e;
+                }
+            }
+            Arrays.sort(pairs);
+
+            // ---- Student rules and load ----
+            int maxPerDay = kernel.getMaxExamsPerDay();
+            Constraint dailyRule = kernel.getDailyLimitRule();
+            int dailyRuleIndex = ruleIndex(kernel, dailyRule);
+            int[] dayCount = new int[kernel.getDays()];
+            int[] seenAt = new int[lastDay * lastSlotNumber];
+            int[] students = new int[pairs.length];
+            int[] loads = new int[pairs.length];
+            int studentCount = 0;
+            for (int first = 0, end; first < pairs.length; first = end) {
+                int s = (int) (pairs[first] >>> 32);
+                end = first;
+                while (end < pairs.length && (int) (pairs[end] >>> 32) == s) {
+                    end++;
+                }
+                int load = 0;
+                for (int i = first; i < end; i++) {
+                    int a = (int) pairs[i];
+                    if (seenAt[timeOf[a]] != studentCount + 1) {
+                        seenAt[timeOf[a]] = studentCount + 1;
+                        load++;
+                    }
+                    if (slotOf[a] < 0)
+                        continue;
+                    for (int j = i + 1; j < end; j++) {
+                        int b = (int) pairs[j];
+                        if (slotOf[b] < 0)
+                            continue;
+                        Constraint rule = kernel.ruleBetween(slotOf[a], durationOf[a], slotOf[b], durationOf[b]);
+                        if (rule != null) {
+                            shard.violations.add(new Violation(Violation.Kind.STUDENT_RULE, rule.isCritical(),
+                                    ruleIndex(kernel, rule), s, a, b, slotOf[a], 0));
+                        }
+                    }
+                }
+                students[studentCount] = s;
+                loads[studentCount++] = load;
+                if (dailyRule == null)
+                    continue;
+                for (int i = first; i < end; i++) {
+                    int a = (int) pairs[i];
+                    if (slotOf[a] >= 0)
+                        dayCount[slotOf[a] / slotsPerDay]++;
+                }
+                for (int i = first; i < end; i++) {
+                    int a = (int) pairs[i];
+                    if (slotOf[a] < 0)
+                        continue;
+                    int day = slotOf[a] / slotsPerDay;
+                    if (dayCount[day] > maxPerDay) {
+                        shard.violations.add(new Violation(Violation.Kind.DAILY_LIMIT, dailyRule.isCritical(),
+                                dailyRuleIndex, s, -1, -1, day * slotsPerDay, dayCount[day]));
+                    }
+                    dayCount[day] = 0;
+                }
+            }
+            shard.students = Arrays.copyOf(students, studentCount);
+            shard.loads = Arrays.copyOf(loads, studentCount);
+            return shard;
+        }
+    }
+
+    /** Findings of one shard and the distinct slots of each of its students. */
+    private static final class Shard {
+        final List<Violation> violations = new ArrayList<>();
+        int[] students;
+        int[] loads;
+    }
+}
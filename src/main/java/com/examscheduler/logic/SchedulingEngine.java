@@ -0,0 +1,926 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.examscheduler.model.Classroom;
+import com.examscheduler.model.Course;
+import com.examscheduler.model.Exam;
+import com.examscheduler.model.Schedule;
+import com.examscheduler.model.TimeSlot;
+
+/**
+ * SchedulingEngine - headless exam placement.
+ * Builds a {@link Schedule} from courses, classrooms and the exam period
+ * without touching the UI or {@link DataManager}, so it can run on a worker
+ * thread, from tests or from a command line tool.
+ * A run can be ended early with {@link #stop()}; the engine then finishes
+ * with the best placement it has so far instead of throwing it away.
+ * All random choices come from one seed. With a seed set in the options the
+ * run is repeatable, and an attached {@link SolutionCache} returns the
+ * schedule of an identical earlier run without solving again.
+ * Given an initial schedule, the engine starts from it instead of from
+ * scratch: exams that are still valid keep their slot and rooms, and only
+ * the others are placed again. Pinned exams are booked into the occupancy
+ * state before any search starts and are never moved.
+ */
+public class SchedulingEngine {
+
+    public static final int MAX_EXAMS_PER_DAY = 2;
+
+    private static final int PERTURB_ONE_IN = 8;
+    // Components smaller than this are timetabled together as one group
+    private static final int MIN_GROUP_COURSES = 16;
+    // Seeded runs anneal for a fixed number of moves instead of until the clock runs out
+    private static final long SEEDED_MOVES_PER_MILLI = 100;
+
+    private final List<Course> courses;
+    private final List<Classroom> classrooms;
+    private final int days;
+    private final List<String> timeSlotLabels;
+    private final SchedulingOptions options;
+    private volatile boolean stopRequested;
+    private SolutionCache solutionCache;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    // Course code -> slot and room of each exam part of the initial or pinned schedule
+    private Map<String, List<Booking>> initialBookings;
+    private Map<String, List<Booking>> pinnedBookings = Collections.emptyMap();
+    // Course code -> {slot, rooms...} of the pins that are valid for this run
+    private Map<String, int[]> pins = Collections.emptyMap();
+
+    public SchedulingEngine(List<Course> courses, List<Classroom> classrooms, int days, List<String> timeSlotLabels) {
+        this(courses, classrooms, days, timeSlotLabels, new SchedulingOptions());
+    }
+
+    public SchedulingEngine(List<Course> courses, List<Classroom> classrooms, int days, List<String> timeSlotLabels,
+            SchedulingOptions options) {
+        if (courses == null || courses.isEmpty()) {
+            throw new IllegalArgumentException("At least one course is required");
+        }
+        if (classrooms == null || classrooms.isEmpty()) {
+            throw new IllegalArgumentException("At least one classroom is required");
+        }
+        if (timeSlotLabels == null || timeSlotLabels.isEmpty()) {
+            throw new IllegalArgumentException("At least one time slot is required");
+        }
+        if (days <= 0) {
+            throw new IllegalArgumentException("Days must be positive");
+        }
+        this.courses = new ArrayList<>(courses);
+        this.classrooms = new ArrayList<>(classrooms);
+        this.days = days;
+        this.timeSlotLabels = new ArrayList<>(timeSlotLabels);
+        this.options = options != null ? options : new SchedulingOptions();
+    }
+
+    public SchedulingOptions getOptions() {
+        return options;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public List<String> getTimeSlotLabels() {
+        return new ArrayList<>(timeSlotLabels);
+    }
+
+    public SolutionCache getSolutionCache() {
+        return solutionCache;
+    }
+
+    /** Cache consulted and filled by seeded runs; null disables caching. */
+    public void setSolutionCache(SolutionCache solutionCache) {
+        this.solutionCache = solutionCache;
+    }
+
+    /** Threads for multi-start runs and independent groups; defaults to the number of cores. */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Lowers the thread count, e.g. when several engines run at once and
+     * share the cores.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public boolean hasInitialSchedule() {
+        return initialBookings != null;
+    }
+
+    /**
+     * Schedule to start from, e.g. the current or an imported one; null
+     * starts from scratch. Its placements are copied right away, so the
+     * schedule may be edited while the engine runs. Warm-started runs are
+     * neither taken from nor stored in the solution cache.
+     */
+    public void setInitialSchedule(Schedule schedule) {
+        initialBookings = schedule != null ? bookings(schedule.getExams(), false) : null;
+    }
+
+    /**
+     * Pins every course with a pinned exam in the schedule to the slot and
+     * rooms of its exams. Pins that no longer fit (rooms gone or too small,
+     * outside the period, clashing with an earlier pin) are reported and
+     * ignored. Runs with pins bypass the solution cache.
+     */
+    public void setPinnedExams(Schedule schedule) {
+        pinnedBookings = schedule != null ? bookings(schedule.getExams(), true) : Collections.emptyMap();
+    }
+
+    public int getPinnedCourseCount() {
+        return pinnedBookings.size();
+    }
+
+    /** Copies the exam placements by course code, only of courses with a pinned exam if asked. */
+    private static Map<String, List<Booking>> bookings(List<Exam> exams, boolean pinnedOnly) {
+        Map<String, List<Booking>> bookings = new HashMap<>();
+        for (Exam exam : exams) {
+            TimeSlot slot = exam.getTimeSlot();
+            bookings.computeIfAbsent(exam.getCourse().getCourseCode(), k -> new ArrayList<>())
+                    .add(new Booking(slot != null ? new TimeSlot(slot.getDay(), slot.getSlotNumber()) : null,
+                            exam.getClassroom() != null ? exam.getClassroom().getClassroomID() : null,
+                            exam.isPinned()));
+        }
+        if (pinnedOnly) {
+            bookings.values().removeIf(list -> list.stream().noneMatch(b -> b.pinned));
+        }
+        return bookings;
+    }
+
+    /**
+     * Asks a running {@link #generate} to wrap up: construction, repair and
+     * optimization stop at their next check and the best placement found so
+     * far is returned. Safe to call from any thread.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public boolean isStopRequested() {
+        return stopRequested;
+    }
+
+    public SchedulingResult generate() {
+        return generate(SchedulingListener.NONE);
+    }
+
+    public SchedulingResult generate(SchedulingListener listener) {
+        listener = new ThrottledListener(listener, options.getProgressIntervalMillis());
+        long start = System.currentTimeMillis();
+        int slotsPerDay = timeSlotLabels.size();
+
+        int maxRoomCapacity = classrooms.stream()
+                .mapToInt(Classroom::getCapacity)
+                .max().orElse(0);
+        if (maxRoomCapacity <= 0) {
+            throw new IllegalArgumentException("No classrooms with valid capacity found.");
+        }
+
+        listener.onMessage("⚡ Starting schedule generation...");
+        listener.onMessage("📊 Parameters: " + days + " days, " + slotsPerDay + " slots/day");
+        listener.onMessage("🧭 Exam ordering: " + options.getOrdering().getDisplayName());
+        listener.onMessage("🏫 Room assignment: " + options.getRoomAssignment().getDisplayName());
+
+        boolean seeded = options.getSeed() != null;
+        long seed = seeded ? options.getSeed() : new Random().nextLong();
+        Random random = new Random(seed);
+        listener.onMessage("🎲 Seed: " + seed + (seeded ? "" : " (random)"));
+
+        String cacheKey = null;
+        if (solutionCache != null && seeded && initialBookings == null && pinnedBookings.isEmpty()) {
+            cacheKey = SolutionCache.fingerprint(courses, classrooms, days, timeSlotLabels, options);
+            SchedulingResult cached = solutionCache.load(cacheKey, courses, classrooms);
+            if (cached != null) {
+                cached.setSeed(seed);
+                cached.setFromCache(true);
+                listener.onMessage("⚡ Identical input solved before - loaded cached schedule in "
+                        + (System.currentTimeMillis() - start) + " ms");
+                return cached;
+            }
+        }
+
+        List<Course> examCourses = courses.stream()
+                .filter(c -> c.getStudentCount() > 0)
+                .collect(Collectors.toList());
+        ConflictGraph graph = ConflictGraph.build(examCourses);
+        listener.onMessage("🔗 Conflict graph: " + graph.getCourseCount() + " courses, "
+                + graph.getEdgeCount() + " clashing pairs");
+        ConstraintKernel kernel = ConstraintKernel.compile(options.getConstraints(), days, slotsPerDay,
+                graph.getMaxExamDuration());
+        listener.onMessage("📏 Constraints: " + kernel.getConstraints().stream()
+                .map(Object::toString).collect(Collectors.joining(", ")));
+        FeasibilityReport feasibility = new FeasibilityCheck(graph, classrooms, slotsPerDay, options.getConstraints())
+                .check(days);
+        listener.onMessage("🧮 " + feasibility.getSummary());
+        for (String problem : feasibility.getProblems()) {
+            listener.onMessage("⚠️ " + problem);
+        }
+
+        List<ExamUnit> units = buildUnits(graph, maxRoomCapacity, listener);
+        sortUnits(units, graph, options.getOrdering());
+
+        PlacementState best;
+        int runs = Math.max(1, options.getMultiStartRuns());
+        pins = resolvePins(graph, kernel, units, listener);
+        List<int[]> groups = options.isDecompose() && initialBookings == null
+                ? groupComponents(graph)
+                : Collections.emptyList();
+        if (initialBookings != null) {
+            best = warmStart(graph, kernel, units, random.nextLong(), listener);
+        } else if (groups.size() > 1) {
+            best = constructByComponent(graph, kernel, units, groups, maxRoomCapacity, random, start, listener);
+        } else if (runs == 1) {
+            best = construct(graph, kernel, units, random.nextLong(), false, Long.MAX_VALUE, listener, true);
+        } else {
+            best = constructMultiStart(graph, kernel, units, runs, random, start, listener);
+        }
+        listener.onBestSoFar(progress("Construction", best, units, start));
+
+        if (stopRequested) {
+            listener.onMessage("⏹ Stopped - keeping the best schedule found so far");
+        }
+
+        if (options.isRepairUnplaced() && best.getPlacedCount() < units.size() && !stopRequested) {
+            listener.onMessage("🔧 Repairing " + (units.size() - best.getPlacedCount())
+                    + " unplaced courses (Kempe chains / ejection chains)...");
+            KempeChainRepair repair = new KempeChainRepair(best, units, random.nextLong());
+            repair.setStopCondition(() -> stopRequested);
+            repair.repair(units, budgetEnd(start), listener);
+            listener.onBestSoFar(progress("Repair", best, units, start));
+        }
+
+        if (options.getImprovementMillis() > 0 && !stopRequested) {
+            long deadline = seeded ? Long.MAX_VALUE
+                    : Math.min(System.currentTimeMillis() + options.getImprovementMillis(), budgetEnd(start));
+            listener.onMessage("🔥 Optimizing placement (simulated annealing)...");
+            LocalSearchOptimizer optimizer = new LocalSearchOptimizer(best, units, random.nextLong());
+            optimizer.setStopCondition(() -> stopRequested);
+            optimizer.setReportStart(start);
+            if (seeded) {
+                optimizer.setMoveLimit(options.getImprovementMillis() * SEEDED_MOVES_PER_MILLI);
+            }
+            optimizer.optimize(deadline, listener);
+        }
+
+        if (options.getRoomAssignment() == RoomAssignment.MATCHING) {
+            long saved = RoomMatcher.optimizeRooms(best, units);
+            listener.onMessage("🏫 Room matching: " + saved + " empty seats saved");
+        }
+
+        SchedulingResult result = materialize(best, units, listener, start);
+        result.setSeed(seed);
+        if (cacheKey != null) {
+            solutionCache.store(cacheKey, result);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the chosen placement into the exam parts and builds the
+     * resulting {@link Schedule}.
+     */
+    private SchedulingResult materialize(PlacementState state, List<ExamUnit> units, SchedulingListener listener,
+            long start) {
+        Schedule schedule = new Schedule(days, timeSlotLabels.size());
+        List<String> unplacedCourses = new ArrayList<>();
+        int totalSessions = 0;
+        int placedCount = 0;
+
+        int maxRoomCapacity = classrooms.stream().mapToInt(Classroom::getCapacity).max().orElse(1);
+        for (ExamUnit unit : units) {
+            String courseCode = unit.getCourse().getCourseCode();
+            int slot = state.slotOf(unit.getCourseIndex());
+            if (slot < 0) {
+                totalSessions += unit.isSplittable()
+                        ? (int) Math.ceil((double) unit.getTotalStudents() / maxRoomCapacity)
+                        : unit.getPartCount();
+                unplacedCourses.add(courseCode);
+                listener.onMessage("❌ FAILED: " + courseCode + " could not be placed.");
+                continue;
+            }
+
+            TimeSlot timeSlot = state.toTimeSlot(slot);
+            int[] rooms = state.roomsOf(unit.getCourseIndex());
+            int[] capacities = new int[rooms.length];
+            for (int p = 0; p < rooms.length; p++) {
+                capacities[p] = state.getRoom(rooms[p]).getCapacity();
+            }
+            List<Exam> parts = unit.createParts(unit.partSizes(capacities));
+            totalSessions += parts.size();
+            String suffix = parts.size() > 1 ? " [Part]" : "";
+            for (int p = 0; p < parts.size(); p++) {
+                Exam part = parts.get(p);
+                Classroom room = state.getRoom(rooms[p]);
+                part.setTimeSlot(timeSlot);
+                part.setClassroom(room);
+                part.setPinned(state.isPinned(unit.getCourseIndex()));
+                schedule.addExam(part);
+                placedCount++;
+
+                listener.onMessage("  ✓ " + courseCode + suffix +
+                        " → Day " + timeSlot.getDay() + ", Slot " + timeSlot.getSlotNumber() +
+                        ", Room " + room.getClassroomID() +
+                        " (" + part.getStudentCount() + " students)");
+            }
+        }
+
+        return new SchedulingResult(schedule, unplacedCourses, totalSessions, placedCount,
+                System.currentTimeMillis() - start, stopRequested);
+    }
+
+    /**
+     * When the time budget runs out. Seeded runs have none: they do all
+     * multi-start runs, a full repair and a fixed number of annealing moves,
+     * so the same seed gives the same schedule on any machine and load.
+     */
+    private long budgetEnd(long start) {
+        return options.getSeed() != null ? Long.MAX_VALUE : start + options.getTimeBudgetMillis();
+    }
+
+    private static SolverProgress progress(String phase, PlacementState state, List<ExamUnit> units, long start) {
+        SolutionScore score = ScheduleObjective.evaluate(state, units);
+        return new SolverProgress(phase, units.size() - score.getUnplacedCount(), units.size(), score.getPenalty(), 0,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Runs independently seeded constructions on a ForkJoinPool and keeps the
+     * best one. Runs that start after the time budget is spent are skipped and
+     * running ones stop early, but the first run always completes. Seeded runs
+     * have no budget, so all of them complete.
+     */
+    private PlacementState constructMultiStart(ConflictGraph graph, ConstraintKernel kernel, List<ExamUnit> units,
+            int runs, Random random, long start, SchedulingListener listener) {
+        long deadline = budgetEnd(start);
+        int threads = Math.min(runs, parallelism);
+        listener.onMessage("🔀 Multi-start: " + runs + " runs on " + threads + " threads, budget "
+                + options.getTimeBudgetMillis() / 1000 + "s");
+
+        List<Callable<PlacementState>> tasks = new ArrayList<>();
+        AtomicInteger finished = new AtomicInteger();
+        SolutionScore[] bestSoFar = new SolutionScore[1];
+        for (int i = 0; i < runs; i++) {
+            long seed = random.nextLong();
+            boolean mustFinish = i == 0;
+            tasks.add(() -> {
+                PlacementState state = construct(graph, kernel, units, seed, !mustFinish,
+                        mustFinish ? Long.MAX_VALUE : deadline, SchedulingListener.NONE, false);
+                if (state != null) {
+                    SolutionScore score = ScheduleObjective.evaluate(state, units);
+                    synchronized (bestSoFar) {
+                        if (score.isBetterThan(bestSoFar[0])) {
+                            bestSoFar[0] = score;
+                            listener.onBestSoFar(new SolverProgress("Construction",
+                                    units.size() - score.getUnplacedCount(), units.size(), score.getPenalty(), 0,
+                                    System.currentTimeMillis() - start));
+                        }
+                    }
+                }
+                listener.onProgress(finished.incrementAndGet(), runs);
+                return state;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        PlacementState best = null;
+        SolutionScore bestScore = null;
+        int completed = 0;
+        try {
+            for (Future<PlacementState> future : pool.invokeAll(tasks)) {
+                PlacementState candidate = future.get();
+                if (candidate == null)
+                    continue;
+                completed++;
+                SolutionScore score = ScheduleObjective.evaluate(candidate, units);
+                if (score.isBetterThan(bestScore)) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Schedule generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Schedule generation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        listener.onMessage("🏆 Best of " + completed + " runs: " + bestScore);
+        return best;
+    }
+
+    /**
+     * Loads the exams of the initial schedule that are still valid, in the
+     * static order so that of two clashing exams the first keeps its place,
+     * and places the rest greedily around them. An exam is kept when all its
+     * parts share one slot inside the period, its rooms still exist and seat
+     * the current roster, and its students and rooms are free there.
+     */
+    private PlacementState warmStart(ConflictGraph graph, ConstraintKernel kernel, List<ExamUnit> units, long seed,
+            SchedulingListener listener) {
+        PlacementState state = newState(graph, kernel, units);
+        Map<String, Integer> roomIndex = roomIndex();
+
+        List<ExamUnit> pending = new ArrayList<>();
+        for (ExamUnit unit : units) {
+            if (state.isPlaced(unit.getCourseIndex()))
+                continue;
+            int[] placement = validPlacement(state, unit,
+                    initialBookings.getOrDefault(unit.getCourse().getCourseCode(), Collections.emptyList()),
+                    roomIndex);
+            if (placement != null) {
+                state.placeUnit(unit.getCourseIndex(), placement[0], Arrays.copyOfRange(placement, 1,
+                        placement.length));
+            } else {
+                pending.add(unit);
+            }
+        }
+        listener.onMessage("♻️ Warm start: kept " + (units.size() - pending.size()) + " of " + units.size()
+                + " courses from the initial schedule, placing " + pending.size() + " again");
+        return fill(state, units, pending, seed, false, Long.MAX_VALUE, listener, true, 0);
+    }
+
+    /**
+     * Checks the pinned bookings against a scratch state, in the static
+     * order, and keeps the valid ones as slot and rooms per course code.
+     */
+    private Map<String, int[]> resolvePins(ConflictGraph graph, ConstraintKernel kernel, List<ExamUnit> units,
+            SchedulingListener listener) {
+        if (pinnedBookings.isEmpty())
+            return Collections.emptyMap();
+        PlacementState scratch = new PlacementState(graph, classrooms, kernel);
+        Map<String, Integer> roomIndex = roomIndex();
+        Map<String, int[]> valid = new HashMap<>();
+        for (ExamUnit unit : units) {
+            String code = unit.getCourse().getCourseCode();
+            List<Booking> bookings = pinnedBookings.get(code);
+            if (bookings == null)
+                continue;
+            int[] placement = validPlacement(scratch, unit, bookings, roomIndex);
+            if (placement == null) {
+                listener.onMessage("⚠️ Pin on " + code + " ignored: its slot or rooms are no longer valid");
+                continue;
+            }
+            scratch.placeUnit(unit.getCourseIndex(), placement[0], Arrays.copyOfRange(placement, 1,
+                    placement.length));
+            valid.put(code, placement);
+        }
+        listener.onMessage("📌 " + valid.size() + " pinned courses kept in place");
+        return valid;
+    }
+
+    /** Empty state for the graph with the pinned units already booked. */
+    private PlacementState newState(ConflictGraph graph, ConstraintKernel kernel, List<ExamUnit> units) {
+        PlacementState state = new PlacementState(graph, classrooms, kernel);
+        if (!pins.isEmpty()) {
+            for (ExamUnit unit : units) {
+                int[] pin = pins.get(unit.getCourse().getCourseCode());
+                if (pin != null) {
+                    state.pinUnit(unit.getCourseIndex(), pin[0], Arrays.copyOfRange(pin, 1, pin.length));
+                }
+            }
+        }
+        return state;
+    }
+
+    private Map<String, Integer> roomIndex() {
+        Map<String, Integer> roomIndex = new HashMap<>();
+        for (int r = 0; r < classrooms.size(); r++) {
+            roomIndex.put(classrooms.get(r).getClassroomID(), r);
+        }
+        return roomIndex;
+    }
+
+    /**
+     * Slot and rooms ({slot, rooms...}) of the bookings if the unit can take
+     * them in the state: all parts share one slot inside the period, the
+     * rooms exist and seat the current roster, and students and rooms are
+     * free. Null otherwise.
+     */
+    private static int[] validPlacement(PlacementState state, ExamUnit unit, List<Booking> bookings,
+            Map<String, Integer> roomIndex) {
+        int c = unit.getCourseIndex();
+        int slot = bookedSlot(bookings, state);
+        int[] rooms = slot >= 0 ? bookedRooms(bookings, roomIndex) : null;
+        if (rooms == null || (!unit.isSplittable() && rooms.length != 1) || !seats(state, unit, rooms)
+                || !state.isStudentFeasible(c, slot) || !roomsFree(state, c, rooms, slot))
+            return null;
+        int[] placement = new int[rooms.length + 1];
+        placement[0] = slot;
+        System.arraycopy(rooms, 0, placement, 1, rooms.length);
+        return placement;
+    }
+
+    /** Slot shared by all bookings, or -1 if there are none, one is unscheduled or outside the period. */
+    private static int bookedSlot(List<Booking> bookings, PlacementState state) {
+        if (bookings.isEmpty())
+            return -1;
+        TimeSlot first = bookings.get(0).timeSlot;
+        for (Booking booking : bookings) {
+            if (booking.timeSlot == null || !booking.timeSlot.equals(first))
+                return -1;
+        }
+        if (first.getDay() < 1 || first.getDay() > state.getDays()
+                || first.getSlotNumber() < 1 || first.getSlotNumber() > state.getSlotsPerDay())
+            return -1;
+        return state.slotIndex(first.getDay(), first.getSlotNumber());
+    }
+
+    /** Distinct known rooms of the bookings, or null. */
+    private static int[] bookedRooms(List<Booking> bookings, Map<String, Integer> roomIndex) {
+        int[] rooms = new int[bookings.size()];
+        for (int p = 0; p < rooms.length; p++) {
+            Integer r = bookings.get(p).roomId != null ? roomIndex.get(bookings.get(p).roomId) : null;
+            if (r == null)
+                return null;
+            for (int q = 0; q < p; q++) {
+                if (rooms[q] == r)
+                    return null;
+            }
+            rooms[p] = r;
+        }
+        return rooms;
+    }
+
+    private static boolean seats(PlacementState state, ExamUnit unit, int[] rooms) {
+        int[] capacities = new int[rooms.length];
+        long capacitySum = 0;
+        for (int p = 0; p < rooms.length; p++) {
+            capacities[p] = state.getRoom(rooms[p]).getCapacity();
+            capacitySum += capacities[p];
+        }
+        if (capacitySum < unit.getTotalStudents())
+            return false;
+        int[] sizes = unit.partSizes(capacities);
+        for (int p = 0; p < rooms.length; p++) {
+            if (sizes[p] > capacities[p])
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean roomsFree(PlacementState state, int course, int[] rooms, int slot) {
+        for (int r : rooms) {
+            if (!state.isRoomFree(r, slot, state.durationOf(course)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Components of the conflict graph as independent groups of course
+     * indices. Components below {@link #MIN_GROUP_COURSES} courses are pooled
+     * into one group so single courses do not each become a task.
+     */
+    private static List<int[]> groupComponents(ConflictGraph graph) {
+        List<int[]> groups = new ArrayList<>();
+        List<Integer> pooled = new ArrayList<>();
+        for (int[] component : graph.components()) {
+            if (component.length >= MIN_GROUP_COURSES) {
+                groups.add(component);
+            } else {
+                for (int c : component) {
+                    pooled.add(c);
+                }
+            }
+        }
+        if (!pooled.isEmpty()) {
+            Collections.sort(pooled);
+            groups.add(pooled.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return groups;
+    }
+
+    /**
+     * Timetables each group of mutually independent courses on its own
+     * conflict graph, in parallel, then books rooms for all of them in one
+     * shared pass. Every group sees all rooms, so each starts at a different
+     * slot to spread the load; exams that find no room in their slot during
+     * the shared pass move to the first slot that still has one.
+     */
+    private PlacementState constructByComponent(ConflictGraph graph, ConstraintKernel kernel, List<ExamUnit> units,
+            List<int[]> groups, int maxRoomCapacity, Random random, long start, SchedulingListener listener) {
+        long deadline = budgetEnd(start);
+        int runs = Math.max(1, options.getMultiStartRuns());
+        int slotCount = days * timeSlotLabels.size();
+        int threads = Math.min(groups.size(), parallelism);
+        listener.onMessage("🧩 Decomposition: " + groups.size() + " independent groups of "
+                + groups.stream().map(g -> String.valueOf(g.length)).collect(Collectors.joining("/"))
+                + " courses on " + threads + " threads");
+
+        List<Callable<int[]>> tasks = new ArrayList<>();
+        AtomicInteger finished = new AtomicInteger();
+        for (int g = 0; g < groups.size(); g++) {
+            int[] group = groups.get(g);
+            int firstSlot = (int) ((long) g * slotCount / groups.size());
+            long seed = random.nextLong();
+            tasks.add(() -> {
+                List<Course> groupCourses = new ArrayList<>();
+                for (int c : group) {
+                    groupCourses.add(graph.getCourse(c));
+                }
+                ConflictGraph groupGraph = ConflictGraph.build(groupCourses);
+                List<ExamUnit> groupUnits = buildUnits(groupGraph, maxRoomCapacity, SchedulingListener.NONE);
+                sortUnits(groupUnits, groupGraph, options.getOrdering());
+
+                Random groupRandom = new Random(seed);
+                PlacementState best = null;
+                SolutionScore bestScore = null;
+                for (int run = 0; run < runs; run++) {
+                    boolean mustFinish = run == 0;
+                    PlacementState state = construct(groupGraph, kernel, groupUnits, groupRandom.nextLong(),
+                            !mustFinish, mustFinish ? Long.MAX_VALUE : deadline, SchedulingListener.NONE, false,
+                            firstSlot);
+                    if (state == null)
+                        break;
+                    SolutionScore score = ScheduleObjective.evaluate(state, groupUnits);
+                    if (score.isBetterThan(bestScore)) {
+                        best = state;
+                        bestScore = score;
+                    }
+                }
+                int[] slots = new int[group.length];
+                for (int i = 0; i < group.length; i++) {
+                    slots[i] = best.slotOf(i);
+                }
+                listener.onProgress(finished.incrementAndGet(), groups.size());
+                return slots;
+            });
+        }
+
+        int[] target = new int[graph.getCourseCount()];
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Future<int[]>> futures = pool.invokeAll(tasks);
+            for (int g = 0; g < groups.size(); g++) {
+                int[] group = groups.get(g);
+                int[] slots = futures.get(g).get();
+                for (int i = 0; i < group.length; i++) {
+                    target[group[i]] = slots[i];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Schedule generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Schedule generation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        // Shared room pass: largest exams first so they get the big rooms of their slot
+        PlacementState state = newState(graph, kernel, units);
+        ExamUnit[] unitByCourse = new ExamUnit[graph.getCourseCount()];
+        for (ExamUnit unit : units) {
+            unitByCourse[unit.getCourseIndex()] = unit;
+        }
+        int[] roomOrder = new int[classrooms.size()];
+        for (int r = 0; r < roomOrder.length; r++) {
+            roomOrder[r] = r;
+        }
+        Random rnd = new Random(random.nextLong());
+        List<ExamUnit> bySize = new ArrayList<>(units);
+        bySize.sort((a, b) -> Integer.compare(b.getTotalStudents(), a.getTotalStudents()));
+        List<ExamUnit> moved = new ArrayList<>();
+        for (ExamUnit unit : bySize) {
+            int t = target[unit.getCourseIndex()];
+            if (t < 0 || state.isPlaced(unit.getCourseIndex()))
+                continue;
+            if (options.getRoomAssignment() == RoomAssignment.RANDOM) {
+                shuffle(roomOrder, rnd);
+            }
+            int[] chosenRooms = state.isStudentFeasible(unit.getCourseIndex(), t)
+                    ? chooseRooms(state, unit, t, roomOrder, unitByCourse)
+                    : null;
+            if (chosenRooms != null) {
+                state.placeUnit(unit.getCourseIndex(), t, chosenRooms);
+            } else {
+                moved.add(unit);
+            }
+        }
+        int stillUnplaced = 0;
+        for (ExamUnit unit : moved) {
+            if (!placeFirstFit(state, unit, 0, roomOrder, unitByCourse))
+                stillUnplaced++;
+        }
+        listener.onMessage("🏫 Shared room pass: " + moved.size() + " exams moved to another slot"
+                + (stillUnplaced > 0 ? ", " + stillUnplaced + " found none" : ""));
+        return state;
+    }
+
+    /**
+     * One greedy construction with its own occupancy structures. With
+     * {@code perturb} set, the static order is slightly shuffled and DSatur
+     * ties are broken randomly so that multi-start runs explore different
+     * schedules.
+     *
+     * @return the filled state, or null if the deadline passed or a stop was
+     *         requested first; a run without deadline returns what it has
+     *         placed when stopped
+     */
+    private PlacementState construct(ConflictGraph graph, ConstraintKernel kernel, List<ExamUnit> orderedUnits,
+            long seed, boolean perturb, long deadline, SchedulingListener listener, boolean reportProgress) {
+        return construct(graph, kernel, orderedUnits, seed, perturb, deadline, listener, reportProgress, 0);
+    }
+
+    /** As above, trying slots from {@code firstSlot} onwards (wrapping around) instead of from the first. */
+    private PlacementState construct(ConflictGraph graph, ConstraintKernel kernel, List<ExamUnit> orderedUnits,
+            long seed, boolean perturb, long deadline, SchedulingListener listener, boolean reportProgress,
+            int firstSlot) {
+        PlacementState state = newState(graph, kernel, orderedUnits);
+        return fill(state, orderedUnits, orderedUnits, seed, perturb, deadline, listener, reportProgress, firstSlot);
+    }
+
+    /**
+     * Greedy placement of {@code toPlace} into a state that may already hold
+     * other units; {@code allUnits} are every unit of the state, which
+     * matching may move to other rooms. Returns as {@link #construct}.
+     */
+    private PlacementState fill(PlacementState state, List<ExamUnit> allUnits, List<ExamUnit> toPlace, long seed,
+            boolean perturb, long deadline, SchedulingListener listener, boolean reportProgress, int firstSlot) {
+        Random rnd = new Random(seed);
+        RoomAssignment roomAssignment = options.getRoomAssignment();
+        int[] roomOrder = new int[classrooms.size()];
+        for (int r = 0; r < roomOrder.length; r++) {
+            roomOrder[r] = r;
+        }
+        ExamUnit[] unitByCourse = new ExamUnit[state.getGraph().getCourseCount()];
+        for (ExamUnit unit : allUnits) {
+            unitByCourse[unit.getCourseIndex()] = unit;
+        }
+
+        int processed = 0;
+        List<ExamUnit> pending = new ArrayList<>(toPlace);
+        pending.removeIf(unit -> state.isPinned(unit.getCourseIndex()));
+        if (perturb) {
+            for (int i = 0; i + 1 < pending.size(); i++) {
+                if (rnd.nextInt(PERTURB_ONE_IN) == 0) {
+                    Collections.swap(pending, i, i + 1);
+                }
+            }
+        }
+        while (!pending.isEmpty()) {
+            if (stopRequested)
+                return deadline == Long.MAX_VALUE ? state : null;
+            if (System.currentTimeMillis() > deadline)
+                return null;
+
+            ExamUnit unit = options.getOrdering().isDynamic()
+                    ? pending.remove(pickMostSaturated(pending, state, perturb ? rnd : null))
+                    : pending.remove(0);
+            if (roomAssignment == RoomAssignment.RANDOM) {
+                shuffle(roomOrder, rnd);
+            }
+
+            placeFirstFit(state, unit, firstSlot, roomOrder, unitByCourse);
+            if (reportProgress) {
+                listener.onProgress(++processed, toPlace.size());
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Places the unit in the first slot, counting on from {@code firstSlot}
+     * and wrapping around, where its students are free and rooms are found.
+     *
+     * @return whether the unit was placed
+     */
+    private boolean placeFirstFit(PlacementState state, ExamUnit unit, int firstSlot, int[] roomOrder,
+            ExamUnit[] unitByCourse) {
+        int slotCount = state.getSlotCount();
+        for (int i = 0; i < slotCount; i++) {
+            int t = (firstSlot + i) % slotCount;
+            if (!state.isStudentFeasible(unit.getCourseIndex(), t))
+                continue;
+            int[] chosenRooms = chooseRooms(state, unit, t, roomOrder, unitByCourse);
+            if (chosenRooms != null) {
+                state.placeUnit(unit.getCourseIndex(), t, chosenRooms);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Rooms for the unit in slot {@code t} under the configured room assignment, or null. */
+    private int[] chooseRooms(PlacementState state, ExamUnit unit, int t, int[] roomOrder, ExamUnit[] unitByCourse) {
+        RoomAssignment roomAssignment = options.getRoomAssignment();
+        if (roomAssignment == RoomAssignment.RANDOM) {
+            return state.findRooms(unit, t, roomOrder);
+        }
+        int[] chosenRooms = state.findBestFitRooms(unit, t);
+        if (chosenRooms == null && roomAssignment == RoomAssignment.MATCHING) {
+            chosenRooms = RoomMatcher.augment(state, unitByCourse, unit, t);
+        }
+        return chosenRooms;
+    }
+
+    /**
+     * Static part of the ordering. DSatur starts from the largest-degree
+     * order and then re-picks after every placement.
+     */
+    private void sortUnits(List<ExamUnit> units, ConflictGraph graph, ExamOrdering ordering) {
+        Comparator<ExamUnit> bySize = (a, b) -> Integer.compare(b.getTotalStudents(), a.getTotalStudents());
+        switch (ordering) {
+            case LARGEST_DEGREE:
+            case DSATUR:
+                units.sort(Comparator.<ExamUnit>comparingInt(u -> -graph.degree(u.getCourseIndex()))
+                        .thenComparing(bySize));
+                break;
+            case WEIGHTED_DEGREE:
+                units.sort(Comparator.<ExamUnit>comparingLong(u -> -graph.weightedDegree(u.getCourseIndex()))
+                        .thenComparing(bySize));
+                break;
+            case LARGEST_ENROLLMENT:
+            default:
+                // Place the largest groups first.
+                units.sort(bySize);
+                break;
+        }
+    }
+
+    /**
+     * DSatur pick: highest saturation, ties broken by the static order of
+     * the pending list (degree, then size), or at random when {@code rnd}
+     * is given.
+     */
+    private int pickMostSaturated(List<ExamUnit> pending, PlacementState state, Random rnd) {
+        int best = 0;
+        int bestSaturation = -1;
+        int ties = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            int saturation = state.getSaturation(pending.get(i).getCourseIndex());
+            if (saturation > bestSaturation) {
+                bestSaturation = saturation;
+                best = i;
+                ties = 1;
+            } else if (rnd != null && saturation == bestSaturation && rnd.nextInt(++ties) == 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static void shuffle(int[] values, Random rnd) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    /**
+     * Creates one unit per course with students. Courses larger than the
+     * biggest room become splittable units whose rooms are packed per slot.
+     */
+    private List<ExamUnit> buildUnits(ConflictGraph graph, int maxRoomCapacity, SchedulingListener listener) {
+        List<ExamUnit> units = new ArrayList<>();
+        for (int c = 0; c < graph.getCourseCount(); c++) {
+            Course course = graph.getCourse(c);
+            int totalStudents = course.getStudentCount();
+
+            // If the number of students exceeds the largest class size, DIVIDE
+            if (totalStudents > maxRoomCapacity) {
+                listener.onMessage("ℹ Locking large exam: " + course.getCourseCode() +
+                        " (" + totalStudents + " students) into at least "
+                        + (int) Math.ceil((double) totalStudents / maxRoomCapacity)
+                        + " rooms simultaneously.");
+                units.add(new ExamUnit(c, course));
+            } else {
+                units.add(new ExamUnit(c, course, Collections.singletonList(new Exam(course))));
+            }
+        }
+        return units;
+    }
+
+    /** Slot and room of one exam part of an existing schedule. */
+    private static final class Booking {
+        final TimeSlot timeSlot;
+        final String roomId;
+        final boolean pinned;
+
+        Booking(TimeSlot timeSlot, String roomId, boolean pinned) {
+            this.timeSlot = timeSlot;
+            this.roomId = roomId;
+            this.pinned = pinned;
+        }
+    }
+}
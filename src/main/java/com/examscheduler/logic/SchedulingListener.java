@@ -0,0 +1,25 @@
+package com.examscheduler.logic;
+
+/**
+ * Callback used by {@link SchedulingEngine} to report what it is doing.
+ * Calls arrive on the thread that runs the engine, so UI listeners must
+ * hand the data over to their own thread.
+ */
+public interface SchedulingListener {
+
+    SchedulingListener NONE = new SchedulingListener() {
+    };
+
+    default void onMessage(String message) {
+    }
+
+    default void onProgress(int done, int total) {
+    }
+
+    /**
+     * Metrics of the best solution found so far. The engine limits the rate
+     * of these calls (see {@link SchedulingOptions#getProgressIntervalMillis}).
+     */
+    default void onBestSoFar(SolverProgress progress) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tuning knobs for {@link SchedulingEngine}. The defaults reproduce the
+ * original greedy generator.
+ */
+public class SchedulingOptions {
+    private ExamOrdering ordering = ExamOrdering.LARGEST_ENROLLMENT;
+    private RoomAssignment roomAssignment = RoomAssignment.RANDOM;
+    private int multiStartRuns = 1;
+    private long timeBudgetMillis = 30_000;
+    private long improvementMillis = 0;
+    private boolean repairUnplaced = false;
+    private boolean decompose = false;
+    private long progressIntervalMillis = 250;
+    private Long seed = null;
+    private List<Constraint> constraints = Constraints.standard();
+
+    public ExamOrdering getOrdering() {
+        return ordering;
+    }
+
+    public void setOrdering(ExamOrdering ordering) {
+        this.ordering = ordering != null ? ordering : ExamOrdering.LARGEST_ENROLLMENT;
+    }
+
+    public RoomAssignment getRoomAssignment() {
+        return roomAssignment;
+    }
+
+    public void setRoomAssignment(RoomAssignment roomAssignment) {
+        this.roomAssignment = roomAssignment != null ? roomAssignment : RoomAssignment.RANDOM;
+    }
+
+    /** Number of independently seeded constructions; 1 disables multi-start. */
+    public int getMultiStartRuns() {
+        return multiStartRuns;
+    }
+
+    public void setMultiStartRuns(int multiStartRuns) {
+        this.multiStartRuns = Math.max(1, multiStartRuns);
+    }
+
+    /** Wall-clock budget for the whole generation. */
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = Math.max(0, timeBudgetMillis);
+    }
+
+    /**
+     * Time spent in the simulated-annealing improvement phase after
+     * construction; 0 disables it. Still capped by the time budget.
+     */
+    public long getImprovementMillis() {
+        return improvementMillis;
+    }
+
+    public void setImprovementMillis(long improvementMillis) {
+        this.improvementMillis = Math.max(0, improvementMillis);
+    }
+
+    /**
+     * Whether courses left unplaced by the construction get a second try
+     * with Kempe-chain swaps and ejection chains.
+     */
+    public boolean isRepairUnplaced() {
+        return repairUnplaced;
+    }
+
+    public void setRepairUnplaced(boolean repairUnplaced) {
+        this.repairUnplaced = repairUnplaced;
+    }
+
+    /**
+     * Whether groups of courses that share no students with each other are
+     * timetabled separately and in parallel, followed by one room pass over
+     * all of them. Only pays off when the conflict graph falls apart into
+     * several sizeable components, e.g. one per faculty.
+     */
+    public boolean isDecompose() {
+        return decompose;
+    }
+
+    public void setDecompose(boolean decompose) {
+        this.decompose = decompose;
+    }
+
+    /** Minimum time between two progress or best-so-far updates to the listener. */
+    public long getProgressIntervalMillis() {
+        return progressIntervalMillis;
+    }
+
+    public void setProgressIntervalMillis(long progressIntervalMillis) {
+        this.progressIntervalMillis = Math.max(0, progressIntervalMillis);
+    }
+
+    /**
+     * Seed for all random choices of a run; null draws a fresh one. With a
+     * seed, the same input always gives the same schedule and the result can
+     * be taken from a {@link SolutionCache}; the work is then bounded by
+     * counts, not by the time budget.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /** Rules every placement must satisfy; defaults to {@link Constraints#standard()}. */
+    public List<Constraint> getConstraints() {
+        return new ArrayList<>(constraints);
+    }
+
+    public void setConstraints(List<Constraint> constraints) {
+        this.constraints = constraints != null ? new ArrayList<>(constraints) : Constraints.standard();
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulingOptions{" +
+                "ordering=" + ordering +
+                ", roomAssignment=" + roomAssignment +
+                ", multiStartRuns=" + multiStartRuns +
+                ", timeBudgetMillis=" + timeBudgetMillis +
+                ", improvementMillis=" + improvementMillis +
+                ", repairUnplaced=" + repairUnplaced +
+                ", decompose=" + decompose +
+                ", progressIntervalMillis=" + progressIntervalMillis +
+                ", seed=" + seed +
+                ", constraints=" + constraints +
+                '}';
+    }
+}
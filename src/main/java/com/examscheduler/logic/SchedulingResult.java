@@ -0,0 +1,102 @@
+package com.examscheduler.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.examscheduler.model.Schedule;
+
+/**
+ * Output of a {@link SchedulingEngine} run: the generated schedule, the
+ * courses that could not be placed and the basic placement statistics.
+ */
+public class SchedulingResult {
+    private final Schedule schedule;
+    private final List<String> unplacedCourses;
+    private final int totalSessions;
+    private final int placedCount;
+    private final long elapsedMillis;
+    private final boolean stopped;
+    private Long seed;
+    private boolean fromCache;
+
+    public SchedulingResult(Schedule schedule, List<String> unplacedCourses, int totalSessions, int placedCount,
+            long elapsedMillis) {
+        this(schedule, unplacedCourses, totalSessions, placedCount, elapsedMillis, false);
+    }
+
+    public SchedulingResult(Schedule schedule, List<String> unplacedCourses, int totalSessions, int placedCount,
+            long elapsedMillis, boolean stopped) {
+        this.schedule = schedule;
+        this.unplacedCourses = new ArrayList<>(unplacedCourses);
+        this.totalSessions = totalSessions;
+        this.placedCount = placedCount;
+        this.elapsedMillis = elapsedMillis;
+        this.stopped = stopped;
+    }
+
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    public List<String> getUnplacedCourses() {
+        return new ArrayList<>(unplacedCourses);
+    }
+
+    public int getTotalSessions() {
+        return totalSessions;
+    }
+
+    public int getPlacedCount() {
+        return placedCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /** True if the run was stopped early and holds the best schedule found until then. */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /** Seed the run used; pass it to {@link SchedulingOptions#setSeed} to get this schedule again. */
+    public Long getSeed() {
+        return seed;
+    }
+
+    void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /** True if the schedule was loaded from a {@link SolutionCache} instead of being solved. */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    void setFromCache(boolean fromCache) {
+        this.fromCache = fromCache;
+    }
+
+    public boolean isComplete() {
+        return unplacedCourses.isEmpty();
+    }
+
+    public String getStatsText() {
+        String text = String.format("Total Exam Sessions: %d\nPlaced: %d\nUnplaced Courses: %d",
+                totalSessions, placedCount, unplacedCourses.size());
+        return stopped ? text + "\nStopped early: best schedule so far" : text;
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulingResult{" +
+                "sessions=" + totalSessions +
+                ", placed=" + placedCount +
+                ", unplaced=" + unplacedCourses.size() +
+                ", elapsedMs=" + elapsedMillis +
+                ", stopped=" + stopped +
+                ", seed=" + seed +
+                ", fromCache=" + fromCache +
+                '}';
+    }
+}
@@ -0,0 +1,302 @@
+package com.examscheduler.logic;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.examscheduler.model.Classroom;
+import com.examscheduler.model.Course;
+import com.examscheduler.model.Exam;
+import com.examscheduler.model.Schedule;
+import com.examscheduler.model.Student;
+import com.examscheduler.model.TimeSlot;
+
+/**
+ * SolutionCache - schedules of earlier seeded runs, keyed by a fingerprint of
+ * everything that decides the result: rosters, exam durations, rooms, exam
+ * period, slot labels, engine options and seed.
+ * Entries hold course codes, room IDs and student IDs only; on a hit they are
+ * turned back into fresh {@link Exam} objects of the current data, so editing
+ * a loaded schedule never changes the cached one. With a directory, entries
+ * are also written to disk and survive a restart.
+ */
+public class SolutionCache {
+
+    // Bump when the engine changes so old entries are no longer found
+    private static final int FORMAT_VERSION = 2;
+    private static final int MEMORY_ENTRIES = 16;
+    private static final String FILE_SUFFIX = ".schedule";
+
+    private final File directory;
+    private final Map<String, CachedSolution> entries = new LinkedHashMap<String, CachedSolution>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedSolution> eldest) {
+            return size() > MEMORY_ENTRIES;
+        }
+    };
+
+    /** Cache kept in memory only. */
+    public SolutionCache() {
+        this(null);
+    }
+
+    public SolutionCache(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * SHA-256 over the inputs in the order the engine sees them; course and
+     * roster order matter because they decide tie-breaks and how split
+     * exams divide their students.
+     */
+    public static String fingerprint(List<Course> courses, List<Classroom> classrooms, int days,
+            List<String> timeSlotLabels, SchedulingOptions options) {
+        Digest digest = new Digest();
+        digest.add(FORMAT_VERSION);
+        digest.add(days);
+        digest.add(timeSlotLabels.size());
+        for (String label : timeSlotLabels) {
+            digest.add(label);
+        }
+        digest.add(classrooms.size());
+        for (Classroom room : classrooms) {
+            digest.add(room.getClassroomID());
+            digest.add(room.getCapacity());
+        }
+        digest.add(courses.size());
+        for (Course course : courses) {
+            digest.add(course.getCourseCode());
+            digest.add(course.getExamDurationSlots());
+            List<Student> roster = course.getEnrolledStudents();
+            digest.add(roster.size());
+            for (Student student : roster) {
+                digest.add(student.getStudentID());
+            }
+        }
+        digest.add(options.getOrdering().name());
+        digest.add(options.getRoomAssignment().name());
+        digest.add(options.getMultiStartRuns());
+        digest.add(options.getTimeBudgetMillis());
+        digest.add(options.getImprovementMillis());
+        digest.add(options.isRepairUnplaced() ? 1 : 0);
+        digest.add(options.isDecompose() ? 1 : 0);
+        digest.add(options.getSeed() != null ? options.getSeed() : 0L);
+        for (Constraint constraint : options.getConstraints()) {
+            digest.add(constraint.toString());
+        }
+        return digest.toHex();
+    }
+
+    /**
+     * Returns the cached result for the fingerprint, rebuilt on the given
+     * courses and classrooms, or null if there is none or it no longer
+     * matches the data.
+     */
+    public synchronized SchedulingResult load(String key, List<Course> courses, List<Classroom> classrooms) {
+        long start = System.currentTimeMillis();
+        CachedSolution cached = entries.get(key);
+        if (cached == null) {
+            cached = readFile(key);
+            if (cached == null)
+                return null;
+            entries.put(key, cached);
+        }
+
+        Map<String, Course> courseByCode = new HashMap<>();
+        Map<String, Student> studentById = new HashMap<>();
+        for (Course course : courses) {
+            courseByCode.put(course.getCourseCode(), course);
+            for (Student student : course.getEnrolledStudents()) {
+                studentById.put(student.getStudentID(), student);
+            }
+        }
+        Map<String, Classroom> roomById = new HashMap<>();
+        for (Classroom room : classrooms) {
+            roomById.put(room.getClassroomID(), room);
+        }
+
+        Schedule schedule = new Schedule(cached.days, cached.slotsPerDay);
+        for (Placement placement : cached.placements) {
+            Course course = courseByCode.get(placement.course);
+            Classroom room = roomById.get(placement.room);
+            if (course == null || room == null)
+                return null;
+            Exam exam = new Exam(course);
+            if (placement.students != null) {
+                List<Student> students = new ArrayList<>();
+                for (String id : placement.students) {
+                    Student student = studentById.get(id);
+                    if (student == null)
+                        return null;
+                    students.add(student);
+                }
+                exam.setAssignedStudents(students);
+            }
+            exam.setTimeSlot(new TimeSlot(placement.day, placement.slot));
+            exam.setClassroom(room);
+            schedule.addExam(exam);
+        }
+        return new SchedulingResult(schedule, cached.unplacedCourses, cached.totalSessions, cached.placedCount,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Stores a finished result. Runs that were stopped early are not cached,
+     * since running the same input again would give a different schedule.
+     */
+    public synchronized void store(String key, SchedulingResult result) {
+        if (result.isStopped())
+            return;
+        Schedule schedule = result.getSchedule();
+        Map<Course, Integer> partCount = new HashMap<>();
+        for (Exam exam : schedule.getExams()) {
+            partCount.merge(exam.getCourse(), 1, Integer::sum);
+        }
+
+        CachedSolution cached = new CachedSolution();
+        cached.days = schedule.getExamPeriodDays();
+        cached.slotsPerDay = schedule.getSlotsPerDay();
+        cached.unplacedCourses = new ArrayList<>(result.getUnplacedCourses());
+        cached.totalSessions = result.getTotalSessions();
+        cached.placedCount = result.getPlacedCount();
+        for (Exam exam : schedule.getScheduledExams()) {
+            Placement placement = new Placement();
+            placement.course = exam.getCourse().getCourseCode();
+            placement.day = exam.getTimeSlot().getDay();
+            placement.slot = exam.getTimeSlot().getSlotNumber();
+            placement.room = exam.getClassroom().getClassroomID();
+            if (partCount.get(exam.getCourse()) > 1) {
+                List<Student> students = exam.getEnrolledStudents();
+                placement.students = new String[students.size()];
+                for (int i = 0; i < students.size(); i++) {
+                    placement.students[i] = students.get(i).getStudentID();
+                }
+            }
+            cached.placements.add(placement);
+        }
+        entries.put(key, cached);
+        writeFile(key, cached);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Forgets all entries, including the ones on disk. */
+    public synchronized void clear() {
+        entries.clear();
+        if (directory == null)
+            return;
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    // ==================== DISK ====================
+
+    // The cache only saves time, so unreadable or unwritable files count as misses
+
+    private CachedSolution readFile(String key) {
+        if (directory == null)
+            return null;
+        File file = new File(directory, key + FILE_SUFFIX);
+        if (!file.isFile())
+            return null;
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+            if (ois.readInt() != FORMAT_VERSION)
+                return null;
+            return (CachedSolution) ois.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private void writeFile(String key, CachedSolution cached) {
+        if (directory == null)
+            return;
+        if (!directory.isDirectory() && !directory.mkdirs())
+            return;
+        File file = new File(directory, key + FILE_SUFFIX);
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(file))) {
+            oos.writeInt(FORMAT_VERSION);
+            oos.writeObject(cached);
+        } catch (IOException e) {
+            file.delete();
+        }
+    }
+
+    private static class CachedSolution implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        int days;
+        int slotsPerDay;
+        List<Placement> placements = new ArrayList<>();
+        List<String> unplacedCourses;
+        int totalSessions;
+        int placedCount;
+    }
+
+    private static class Placement implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        String course;
+        int day;
+        int slot;
+        String room;
+        // Only for split exams; whole exams take the course roster
+        String[] students;
+    }
+
+    private static class Digest {
+        private final MessageDigest sha;
+        private final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+
+        Digest() {
+            try {
+                sha = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        void add(long value) {
+            buffer.clear();
+            buffer.putLong(value);
+            sha.update(buffer.array());
+        }
+
+        void add(String value) {
+            byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            add(bytes.length);
+            sha.update(bytes);
+        }
+
+        String toHex() {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : sha.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.examscheduler.logic;
+
+/**
+ * Quality of a candidate schedule. Candidates are compared first by the
+ * number of unplaced courses and then by the weighted soft penalty, lower is
+ * better in both.
+ */
+public class SolutionScore implements Comparable<SolutionScore> {
+    private final int unplacedCount;
+    private final long sameDayPairs;
+    private final long dayLoadSquares;
+    private final long wastedSeats;
+    private final double penalty;
+
+    public SolutionScore(int unplacedCount, long sameDayPairs, long dayLoadSquares, long wastedSeats,
+            double penalty) {
+        this.unplacedCount = unplacedCount;
+        this.sameDayPairs = sameDayPairs;
+        this.dayLoadSquares = dayLoadSquares;
+        this.wastedSeats = wastedSeats;
+        this.penalty = penalty;
+    }
+
+    public int getUnplacedCount() {
+        return unplacedCount;
+    }
+
+    /** Student-weighted number of exam pairs that share a day. */
+    public long getSameDayPairs() {
+        return sameDayPairs;
+    }
+
+    /** Sum over days of (exams on that day)^2; smaller means a flatter spread. */
+    public long getDayLoadSquares() {
+        return dayLoadSquares;
+    }
+
+    public long getWastedSeats() {
+        return wastedSeats;
+    }
+
+    public double getPenalty() {
+        return penalty;
+    }
+
+    public boolean isBetterThan(SolutionScore other) {
+        return other == null || compareTo(other) < 0;
+    }
+
+    @Override
+    public int compareTo(SolutionScore other) {
+        if (unplacedCount != other.unplacedCount) {
+            return Integer.compare(unplacedCount, other.unplacedCount);
+        }
+        return Double.compare(penalty, other.penalty);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("unplaced=%d, sameDayPairs=%d, dayLoad=%d, wastedSeats=%d, penalty=%.1f",
+                unplacedCount, sameDayPairs, dayLoadSquares, wastedSeats, penalty);
+    }
+}
@@ -0,0 +1,73 @@
+package com.examscheduler.logic;
+
+/**
+ * Snapshot of the best solution a running {@link SchedulingEngine} holds,
+ * published through {@link SchedulingListener#onBestSoFar}.
+ */
+public class SolverProgress {
+    private final String phase;
+    private final int placedCount;
+    private final int totalCount;
+    private final double penalty;
+    private final long movesPerSecond;
+    private final long elapsedMillis;
+
+    public SolverProgress(String phase, int placedCount, int totalCount, double penalty, long movesPerSecond,
+            long elapsedMillis) {
+        this.phase = phase;
+        this.placedCount = placedCount;
+        this.totalCount = totalCount;
+        this.penalty = penalty;
+        this.movesPerSecond = movesPerSecond;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public int getPlacedCount() {
+        return placedCount;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int getUnplacedCount() {
+        return totalCount - placedCount;
+    }
+
+    public double getPenalty() {
+        return penalty;
+    }
+
+    /** Search moves per second, 0 outside the optimization phase. */
+    public long getMovesPerSecond() {
+        return movesPerSecond;
+    }
+
+    /** Time since generation started. */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public String getSummary() {
+        String text = String.format("%s: %d/%d placed, penalty %.1f", phase, placedCount, totalCount, penalty);
+        if (movesPerSecond > 0) {
+            text += String.format(", %,d moves/s", movesPerSecond);
+        }
+        return text + String.format(" (%.1fs)", elapsedMillis / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        return "SolverProgress{" +
+                "phase=" + phase +
+                ", placed=" + placedCount + "/" + totalCount +
+                ", penalty=" + penalty +
+                ", movesPerSecond=" + movesPerSecond +
+                ", elapsedMs=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.examscheduler.logic;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Passes on at most one progress and one best-so-far update per interval,
+ * so a UI listener is not flooded by the solver threads. Messages and the
+ * final progress update always go through. Safe to call from several
+ * threads.
+ */
+public class ThrottledListener implements SchedulingListener {
+    private final SchedulingListener delegate;
+    private final long intervalNanos;
+    private final AtomicLong nextProgress = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong nextBest = new AtomicLong(Long.MIN_VALUE);
+
+    public ThrottledListener(SchedulingListener delegate, long intervalMillis) {
+        this.delegate = delegate != null ? delegate : SchedulingListener.NONE;
+        this.intervalNanos = Math.max(0, intervalMillis) * 1_000_000L;
+    }
+
+    @Override
+    public void onMessage(String message) {
+        delegate.onMessage(message);
+    }
+
+    @Override
+    public void onProgress(int done, int total) {
+        if (done >= total || acquire(nextProgress)) {
+            delegate.onProgress(done, total);
+        }
+    }
+
+    @Override
+    public void onBestSoFar(SolverProgress progress) {
+        if (acquire(nextBest)) {
+            delegate.onBestSoFar(progress);
+        }
+    }
+
+    private boolean acquire(AtomicLong next) {
+        long now = System.nanoTime();
+        long due = next.get();
+        return (due == Long.MIN_VALUE || now - due >= 0) && next.compareAndSet(due, now + intervalNanos);
+    }
+}
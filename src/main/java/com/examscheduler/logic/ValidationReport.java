@@ -0,0 +1,358 @@
+package com.examscheduler.logic;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.examscheduler.model.Exam;
+import com.examscheduler.model.Student;
+import com.examscheduler.model.TimeSlot;
+
+/**
+ * Findings of a {@link ScheduleValidator} run, split into errors (critical)
+ * and warnings, plus the load, room and time statistics gathered in the same
+ * pass.
+ * Findings are stored as compact {@link Violation} records that point into
+ * the exams, students and rules of the run; their text is only built when a
+ * finding is formatted, so thousands of warnings cost a few ints each.
+ */
+public class ValidationReport {
+    private final List<Violation> violations = new ArrayList<>();
+    private final Map<Violation.Kind, Integer> kindCounts = new EnumMap<>(Violation.Kind.class);
+    private int criticalCount;
+    private int warningCount;
+
+    private List<Exam> exams = new ArrayList<>();
+    private List<Student> students = new ArrayList<>();
+    private List<Constraint> rules = new ArrayList<>();
+    private int slotsPerDay = 1;
+
+    // ---- Analysis ----
+    private int[] loadHistogram = new int[0];
+    private int studentCount;
+    private int minLoad;
+    private int maxLoad;
+    private long totalLoad;
+    private final List<RoomUsage> roomUsage = new ArrayList<>();
+    private int[] examsPerDay = new int[0];
+    private int[] examsPerSlot = new int[0];
+    private long elapsedMillis;
+
+    void setContext(List<Exam> exams, List<Constraint> rules, int slotsPerDay) {
+        this.exams = exams;
+        this.rules = rules;
+        this.slotsPerDay = slotsPerDay;
+    }
+
+    void setStudents(List<Student> students) {
+        this.students = students;
+    }
+
+    void add(Violation violation) {
+        violations.add(violation);
+        kindCounts.merge(violation.getKind(), 1, Integer::sum);
+        if (violation.isCritical()) {
+            criticalCount++;
+        } else {
+            warningCount++;
+        }
+    }
+
+    /** All findings, errors and warnings in the order they were found. */
+    public List<Violation> getViolations() {
+        return new ArrayList<>(violations);
+    }
+
+    /** Formatted errors; prefer {@link #getViolations()} for large reports. */
+    public List<String> getCritical() {
+        return formatAll(true);
+    }
+
+    /** Formatted warnings; prefer {@link #getViolations()} for large reports. */
+    public List<String> getWarnings() {
+        return formatAll(false);
+    }
+
+    private List<String> formatAll(boolean critical) {
+        List<String> lines = new ArrayList<>();
+        for (Violation violation : violations) {
+            if (violation.isCritical() == critical)
+                lines.add(format(violation));
+        }
+        return lines;
+    }
+
+    public int getCriticalCount() {
+        return criticalCount;
+    }
+
+    public int getWarningCount() {
+        return warningCount;
+    }
+
+    public int getCount(Violation.Kind kind) {
+        return kindCounts.getOrDefault(kind, 0);
+    }
+
+    /** Findings of one student rule, e.g. {@link Constraints#NO_OVERLAP}. */
+    public int getCount(Constraint rule) {
+        int index = rules.indexOf(rule);
+        int count = 0;
+        for (Violation violation : violations) {
+            if (violation.getRule() == index && index >= 0)
+                count++;
+        }
+        return count;
+    }
+
+    public boolean isClean() {
+        return violations.isEmpty();
+    }
+
+    /** Rules of the run; {@link Violation#getRule()} indexes this list. */
+    public List<Constraint> getRules() {
+        return new ArrayList<>(rules);
+    }
+
+    public Exam getExam(int index) {
+        return index >= 0 ? exams.get(index) : null;
+    }
+
+    public Student getStudent(int index) {
+        return index >= 0 ? students.get(index) : null;
+    }
+
+    /** Short name of the kind of finding, e.g. the rule name. */
+    public String typeOf(Violation violation) {
+        switch (violation.getKind()) {
+            case OUTSIDE_PERIOD:
+            case PAST_END_OF_DAY:
+                return "Invalid Time Slot";
+            case ROOM_DOUBLE_BOOKING:
+                return "Room Double-booking";
+            case CAPACITY:
+                return "Capacity Violation";
+            default:
+                return rules.get(violation.getRule()).getName();
+        }
+    }
+
+    public TimeSlot timeSlotOf(Violation violation) {
+        if (violation.getKind() == Violation.Kind.OUTSIDE_PERIOD
+                || violation.getKind() == Violation.Kind.PAST_END_OF_DAY)
+            return exams.get(violation.getExam()).getTimeSlot();
+        return new TimeSlot(violation.getSlot() / slotsPerDay + 1, violation.getSlot() % slotsPerDay + 1);
+    }
+
+    /** The finding as one line of text. */
+    public String format(Violation violation) {
+        Exam exam = getExam(violation.getExam());
+        Student student = getStudent(violation.getStudent());
+        TimeSlot timeSlot = timeSlotOf(violation);
+        switch (violation.getKind()) {
+            case OUTSIDE_PERIOD:
+                return "Invalid Time Slot: " + exam.getCourse().getCourseCode() + " at Day " + timeSlot.getDay()
+                        + ", Slot " + timeSlot.getSlotNumber() + " is outside the exam period";
+            case PAST_END_OF_DAY:
+                return "Invalid Time Slot: " + exam.getCourse().getCourseCode() + " at Day " + timeSlot.getDay()
+                        + ", Slot " + timeSlot.getSlotNumber() + " needs " + violation.getValue()
+                        + " slots and runs past the end of the day";
+            case ROOM_DOUBLE_BOOKING:
+                return "Room Double-booking: " + exam.getCourse().getCourseCode() + " conflicts with another exam at "
+                        + "Day " + timeSlot.getDay() + ", Slot " + timeSlot.getSlotNumber() + " in Room "
+                        + exam.getClassroom().getClassroomID();
+            case CAPACITY:
+                return "Capacity Violation: " + exam.getCourse().getCourseCode() + " has " + violation.getValue()
+                        + " students but room " + exam.getClassroom().getClassroomID() + " capacity is only "
+                        + exam.getClassroom().getCapacity();
+            case DAILY_LIMIT:
+                return typeOf(violation) + ": " + student.getStudentID() + " has " + violation.getValue()
+                        + " exams on Day " + timeSlot.getDay() + " (max " + rules.get(violation.getRule())
+                                .getMaxExamsPerDay() + ")";
+            default:
+                return describePair(typeOf(violation), student.getStudentID(), exam,
+                        getExam(violation.getOtherExam()));
+        }
+    }
+
+    private static String describePair(String ruleName, String studentID, Exam a, Exam b) {
+        TimeSlot slotA = a.getTimeSlot();
+        TimeSlot slotB = b.getTimeSlot();
+        if (slotA.equals(slotB)) {
+            return ruleName + ": " + studentID + " has multiple exams at " + slotA.toDisplayString()
+                    + " (includes " + a.getCourse().getCourseCode() + ", " + b.getCourse().getCourseCode() + ")";
+        }
+        if (slotB.compareTo(slotA) < 0) {
+            Exam swap = a;
+            a = b;
+            b = swap;
+        }
+        return ruleName + ": " + studentID + " has " + a.getCourse().getCourseCode() + " ("
+                + a.getTimeSlot().toDisplayString() + ") and " + b.getCourse().getCourseCode() + " ("
+                + b.getTimeSlot().toDisplayString() + ")";
+    }
+
+    /**
+     * True if the student ID, a course code or the room of the finding
+     * contains {@code query}, ignoring case. Nothing is formatted.
+     */
+    public boolean involves(Violation violation, String query) {
+        if (query == null || query.isEmpty())
+            return true;
+        String q = query.toLowerCase(Locale.ROOT);
+        Student student = getStudent(violation.getStudent());
+        if (student != null && contains(student.getStudentID(), q))
+            return true;
+        for (int index : new int[] { violation.getExam(), violation.getOtherExam() }) {
+            Exam exam = getExam(index);
+            if (exam != null && (contains(exam.getCourse().getCourseCode(), q)
+                    || contains(exam.getClassroom().getClassroomID(), q)))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean contains(String text, String lowerQuery) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(lowerQuery);
+    }
+
+    /**
+     * Writes every finding as CSV (severity, type, student, courses, day,
+     * slot, room, message), formatting one line at a time.
+     */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("Severity,Type,Student,Courses,Day,Slot,Room,Message\n");
+        for (Violation violation : violations) {
+            Exam exam = getExam(violation.getExam());
+            Exam other = getExam(violation.getOtherExam());
+            Student student = getStudent(violation.getStudent());
+            TimeSlot timeSlot = timeSlotOf(violation);
+            String courses = exam == null ? ""
+                    : exam.getCourse().getCourseCode() + (other != null ? " " + other.getCourse().getCourseCode() : "");
+            out.write(String.join(",",
+                    violation.isCritical() ? "Error" : "Warning",
+                    csv(typeOf(violation)),
+                    csv(student != null ? student.getStudentID() : ""),
+                    csv(courses),
+                    String.valueOf(timeSlot.getDay()),
+                    violation.getKind() == Violation.Kind.DAILY_LIMIT ? "" : String.valueOf(timeSlot.getSlotNumber()),
+                    csv(exam != null ? exam.getClassroom().getClassroomID() : ""),
+                    csv(format(violation))));
+            out.write('\n');
+        }
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    void setStudentLoad(int[] loadHistogram, int studentCount, int minLoad, int maxLoad, long totalLoad) {
+        this.loadHistogram = loadHistogram;
+        this.studentCount = studentCount;
+        this.minLoad = minLoad;
+        this.maxLoad = maxLoad;
+        this.totalLoad = totalLoad;
+    }
+
+    void addRoomUsage(RoomUsage usage) {
+        roomUsage.add(usage);
+    }
+
+    void setTimeDistribution(int[] examsPerDay, int[] examsPerSlot) {
+        this.examsPerDay = examsPerDay;
+        this.examsPerSlot = examsPerSlot;
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /** Students with at least one scheduled exam. */
+    public int getStudentCount() {
+        return studentCount;
+    }
+
+    /** Fewest and most distinct exam slots of a student; 0 without students. */
+    public int getMinLoad() {
+        return minLoad;
+    }
+
+    public int getMaxLoad() {
+        return maxLoad;
+    }
+
+    public double getAverageLoad() {
+        return studentCount > 0 ? (double) totalLoad / studentCount : 0;
+    }
+
+    /** Index k holds the number of students with k distinct exam slots. */
+    public int[] getLoadHistogram() {
+        return loadHistogram.clone();
+    }
+
+    /** One entry per room in use, in the order the rooms first appear. */
+    public List<RoomUsage> getRoomUsage() {
+        return new ArrayList<>(roomUsage);
+    }
+
+    /** Index d holds the exams that start on day d + 1. */
+    public int[] getExamsPerDay() {
+        return examsPerDay.clone();
+    }
+
+    /** Index s holds the exams that start in slot s + 1 of their day. */
+    public int[] getExamsPerSlot() {
+        return examsPerSlot.clone();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationReport{" +
+                "critical=" + criticalCount +
+                ", warnings=" + warningCount +
+                ", elapsedMs=" + elapsedMillis +
+                '}';
+    }
+
+    /** Exams held in one room and how full the room was on average. */
+    public static class RoomUsage {
+        private final String roomId;
+        private final int examCount;
+        private final double averageUtilization;
+
+        public RoomUsage(String roomId, int examCount, double averageUtilization) {
+            this.roomId = roomId;
+            this.examCount = examCount;
+            this.averageUtilization = averageUtilization;
+        }
+
+        public String getRoomId() {
+            return roomId;
+        }
+
+        public int getExamCount() {
+            return examCount;
+        }
+
+        /** Average of enrolled / capacity over the room's exams, in percent. */
+        public double getAverageUtilization() {
+            return averageUtilization;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d exams, %.1f%%", roomId, examCount, averageUtilization);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.examscheduler.logic;
+
+/**
+ * Violation - one finding of a {@link ScheduleValidator} run, kept as
+ * indices into its {@link ValidationReport} (exams, students, rules, dense
+ * slots). Its text is built only by {@link ValidationReport#format(Violation)}
+ * when it is shown or exported.
+ */
+public final class Violation {
+
+    public enum Kind {
+        /** Exam starts outside the exam period. */
+        OUTSIDE_PERIOD,
+        /** Exam runs past the end of its day; value is its length. */
+        PAST_END_OF_DAY,
+        /** Exam shares its room with an earlier exam in the slot. */
+        ROOM_DOUBLE_BOOKING,
+        /** More students than seats; value is the number of students. */
+        CAPACITY,
+        /** A student rule forbids two of a student's exams together. */
+        STUDENT_RULE,
+        /** A student has more exams on a day than allowed; value is the count. */
+        DAILY_LIMIT
+    }
+
+    private final Kind kind;
+    private final boolean critical;
+    private final int rule;
+    private final int student;
+    private final int exam;
+    private final int otherExam;
+    private final int slot;
+    private final int value;
+
+    Violation(Kind kind, boolean critical, int rule, int student, int exam, int otherExam, int slot, int value) {
+        this.kind = kind;
+        this.critical = critical;
+        this.rule = rule;
+        this.student = student;
+        this.exam = exam;
+        this.otherExam = otherExam;
+        this.slot = slot;
+        this.value = value;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isCritical() {
+        return critical;
+    }
+
+    /** Index of the rule in {@link ValidationReport#getRules()}, or -1. */
+    public int getRule() {
+        return rule;
+    }
+
+    /** Index of the student in the report, or -1. */
+    public int getStudent() {
+        return student;
+    }
+
+    /** Index of the exam in the report, or -1 for a daily limit. */
+    public int getExam() {
+        return exam;
+    }
+
+    /** Second exam of a student rule, or -1. */
+    public int getOtherExam() {
+        return otherExam;
+    }
+
+    /** Dense slot (day - 1) x slots per day + slot - 1; for a daily limit the first slot of the day. */
+    public int getSlot() {
+        return slot;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "Violation{" +
+                "kind=" + kind +
+                ", critical=" + critical +
+                ", student=" + student +
+                ", exam=" + exam +
+                ", slot=" + slot +
+                '}';
+    }
+}
@@ -35,6 +35,14 @@ public class Course implements Serializable {
         return courseName;
     }
 
+    public int getExamDurationSlots() {
+        return examDurationSlots;
+    }
+
+    public void setExamDurationSlots(int examDurationSlots) {
+        this.examDurationSlots = Math.max(1, examDurationSlots);
+    }
+
     public List<Student> getEnrolledStudents() {
         return new ArrayList<>(enrolledStudents);
     }
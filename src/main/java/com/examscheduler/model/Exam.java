@@ -5,11 +5,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class Exam implements Serializable {
+    // Value the class had before the pinned flag, so files saved without it still load
+    private static final long serialVersionUID = -6810040289611285160L;
+
     private Course course;
     private TimeSlot timeSlot;
     private Classroom classroom;
     private Integer customStudentCount = null;
     private List<Student> assignedStudents = null;
+    private boolean pinned;
 
     public Exam(Course course) {
         this.course = course;
@@ -56,6 +60,26 @@ public class Exam implements Serializable {
         return timeSlot != null && classroom != null;
     }
 
+    /** Pinned exams keep their slot and room when a schedule is generated again. */
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    public void setPinned(boolean pinned) {
+        this.pinned = pinned;
+    }
+
+    /** A copy with the same course, placement, students and pin. */
+    public Exam copy() {
+        Exam copy = new Exam(course);
+        copy.timeSlot = timeSlot != null ? new TimeSlot(timeSlot.getDay(), timeSlot.getSlotNumber()) : null;
+        copy.classroom = classroom;
+        copy.customStudentCount = customStudentCount;
+        copy.assignedStudents = assignedStudents;
+        copy.pinned = pinned;
+        return copy;
+    }
+
     public void setAssignedStudents(List<Student> students) {
         this.assignedStudents = new ArrayList<>(students);
         this.customStudentCount = students.size();
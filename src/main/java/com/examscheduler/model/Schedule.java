@@ -2,12 +2,22 @@ package com.examscheduler.model;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-
+/**
+ * Schedule - the exams of one exam period.
+ * {@link #snapshot()} returns a copy in constant time: both schedules share
+ * the exam list, the slot index and the exams themselves until one of them
+ * changes. The list and index are copied on the first add, remove or
+ * rebuild, and a shared exam is copied when {@link #editable(Exam)} is asked
+ * for it, so code that changes an exam in place must go through that method.
+ */
 public class Schedule implements Serializable {
     private static final long serialVersionUID = 1L;
     
@@ -20,6 +30,13 @@ public class Schedule implements Serializable {
     
     private Map<TimeSlot, List<Exam>> timeSlotMap;
 
+    // Set after a snapshot while the list and index are shared; the next write copies them
+    private transient boolean listShared;
+    // Set after a snapshot while the exams are shared; editable() copies them one at a time
+    private transient boolean examsShared;
+    // Exams this schedule copied for itself since the last snapshot
+    private transient Set<Exam> owned;
+
     public Schedule(int examPeriodDays, int slotsPerDay) {
         if (examPeriodDays <= 0) throw new IllegalArgumentException("Days must be positive");
         if (slotsPerDay <= 0) throw new IllegalArgumentException("Slots must be positive");
@@ -30,6 +47,67 @@ public class Schedule implements Serializable {
         this.timeSlotMap = new HashMap<>();
     }
 
+    private Schedule(Schedule source) {
+        this.examPeriodDays = source.examPeriodDays;
+        this.slotsPerDay = source.slotsPerDay;
+        this.exams = source.exams;
+        this.timeSlotMap = source.timeSlotMap;
+        this.listShared = true;
+        this.examsShared = true;
+    }
+
+    /**
+     * A copy that shares everything with this schedule until either side
+     * changes. Cost does not depend on the number of exams.
+     */
+    public Schedule snapshot() {
+        Schedule copy = new Schedule(this);
+        listShared = true;
+        examsShared = true;
+        owned = null;
+        return copy;
+    }
+
+    /**
+     * The exam to change in place of {@code exam}: the exam itself if this
+     * schedule owns it, otherwise a copy that replaces it here, leaving the
+     * snapshots that share it untouched. Exams not in this schedule are
+     * returned as they are.
+     */
+    public Exam editable(Exam exam) {
+        if (exam == null || !examsShared || (owned != null && owned.contains(exam)))
+            return exam;
+        int index = exams.indexOf(exam);
+        if (index < 0)
+            return exam;
+        prepareWrite();
+        Exam copy = exam.copy();
+        exams.set(index, copy);
+        if (exam.isScheduled()) {
+            List<Exam> atSlot = timeSlotMap.get(exam.getTimeSlot());
+            int at = atSlot != null ? atSlot.indexOf(exam) : -1;
+            if (at >= 0)
+                atSlot.set(at, copy);
+        }
+        if (owned == null)
+            owned = Collections.newSetFromMap(new IdentityHashMap<>());
+        owned.add(copy);
+        return copy;
+    }
+
+    /** Gives this schedule its own list and index if they are shared with a snapshot. */
+    private void prepareWrite() {
+        if (!listShared)
+            return;
+        exams = new ArrayList<>(exams);
+        Map<TimeSlot, List<Exam>> map = new HashMap<>();
+        for (Map.Entry<TimeSlot, List<Exam>> entry : timeSlotMap.entrySet()) {
+            map.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        timeSlotMap = map;
+        listShared = false;
+    }
+
     public int getExamPeriodDays() {
         return examPeriodDays;
     }
@@ -45,6 +123,7 @@ public class Schedule implements Serializable {
     
     public void addExam(Exam exam) {
         if (exam != null) {
+            prepareWrite();
             this.exams.add(exam);
             if (exam.isScheduled()) {
                 timeSlotMap.computeIfAbsent(exam.getTimeSlot(), k -> new ArrayList<>()).add(exam);
@@ -53,7 +132,10 @@ public class Schedule implements Serializable {
     }
     
     public boolean removeExam(Exam exam) {
-        if (exam != null && exams.remove(exam)) {
+        if (exam == null || !exams.contains(exam))
+            return false;
+        prepareWrite();
+        if (exams.remove(exam)) {
             if (exam.isScheduled() && timeSlotMap.containsKey(exam.getTimeSlot())) {
                 timeSlotMap.get(exam.getTimeSlot()).remove(exam);
             }
@@ -76,6 +158,7 @@ public class Schedule implements Serializable {
 
     
     public void rebuildTimeSlotMap() {
+        prepareWrite();
         timeSlotMap.clear();
         for (Exam exam : exams) {
             if (exam.isScheduled()) {
@@ -1,7 +1,32 @@
 package com.examscheduler.ui;
 
 import com.examscheduler.logic.CSVParser;
+import com.examscheduler.logic.ConflictGraph;
+import com.examscheduler.logic.Constraint;
+import com.examscheduler.logic.Constraints;
 import com.examscheduler.logic.DataManager;
+import com.examscheduler.logic.ExamOrdering;
+import com.examscheduler.logic.FeasibilityCheck;
+import com.examscheduler.logic.FeasibilityReport;
+import com.examscheduler.logic.IncrementalRepair;
+import com.examscheduler.logic.LiveValidator;
+import com.examscheduler.logic.MoveAdvisor;
+import com.examscheduler.logic.PeriodSearch;
+import com.examscheduler.logic.PeriodSearchResult;
+import com.examscheduler.logic.RepairResult;
+import com.examscheduler.logic.RoomAssignment;
+import com.examscheduler.logic.ScenarioRunner;
+import com.examscheduler.logic.ScheduleChangeSet;
+import com.examscheduler.logic.ScheduleSnapshot;
+import com.examscheduler.logic.SchedulingEngine;
+import com.examscheduler.logic.SchedulingListener;
+import com.examscheduler.logic.SchedulingOptions;
+import com.examscheduler.logic.ScheduleValidator;
+import com.examscheduler.logic.SchedulingResult;
+import com.examscheduler.logic.SolutionCache;
+import com.examscheduler.logic.SolverProgress;
+import com.examscheduler.logic.ValidationReport;
+import com.examscheduler.logic.Violation;
 import com.examscheduler.model.Classroom;
 import com.examscheduler.model.Course;
 import com.examscheduler.model.Exam;
@@ -22,6 +47,7 @@ import com.itextpdf.text.pdf.PdfWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.Writer;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.time.LocalDate;
@@ -31,10 +57,14 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -63,12 +93,14 @@ import javafx.scene.control.ListView;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.Pagination;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Separator;
 import javafx.scene.control.SeparatorMenuItem;
 import javafx.scene.control.SelectionMode;
 import javafx.scene.control.Spinner;
+import javafx.scene.control.SpinnerValueFactory;
 
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
@@ -103,13 +135,45 @@ public class ExamSchedulerApp extends Application {
 
     private TableView<ExamEntry> table;
     private TextArea statsArea;
-    private final Spinner<Integer> daysSpinner = new Spinner<>(1, 30, 5);
+    /** Longest exam period the day spinners offer; variants and edited exams stay within it. */
+    private static final int MAX_EXAM_DAYS = 30;
+    private final Spinner<Integer> daysSpinner = new Spinner<>(1, MAX_EXAM_DAYS, 5);
     private ListView<String> crView = new ListView<>();
     private ListView<String> tsView = new ListView<>();
     private Supplier<List<String>> getTimeSlotsFromUI;
+    private final Spinner<Integer> multiStartSpinner = new Spinner<>(1, 256, 1);
+    private final Spinner<Integer> timeBudgetSpinner = new Spinner<>(1, 3600, 30);
+    private final Spinner<Integer> optimizeSpinner = new Spinner<>(0, 3600, 0);
+    private final CheckBox repairCheck = new CheckBox("Repair unplaced exams");
+    private final CheckBox decomposeCheck = new CheckBox("Solve independent course groups in parallel");
+    private final CheckBox warmStartCheck = new CheckBox("Start from the current schedule");
+    private final TextField seedField = new TextField();
+    private final SolutionCache solutionCache = new SolutionCache(
+            new File(System.getProperty("user.home"), ".examscheduler" + File.separator + "solution-cache"));
+    private final ComboBox<ExamOrdering> orderingCombo = new ComboBox<>(
+            FXCollections.observableArrayList(ExamOrdering.values()));
+    private final ComboBox<RoomAssignment> roomAssignmentCombo = new ComboBox<>(
+            FXCollections.observableArrayList(RoomAssignment.values()));
 
     private DatePicker examStartDatePicker;
     private List<String> unplacedCourses = new ArrayList<>();
+    private final ScheduleChangeSet pendingChanges = new ScheduleChangeSet();
+    private final LiveValidator liveValidation = new LiveValidator();
+    private final Label validationStatus = new Label();
+    private boolean generationRunning = false;
+    private boolean repairRunning = false;
+    private boolean repairQueued = false;
+    /** Deleted and merged exams, which pendingChanges does not record; a running repair checks it. */
+    private int scheduleEdits = 0;
+    // Kept between repairs; the repair rebuilds it when enrollment changed
+    private ConflictGraph repairGraph;
+    private SchedulingEngine runningEngine;
+    private PeriodSearch runningSearch;
+    private ScenarioRunner runningScenarios;
+    private final ProgressBar generationProgress = new ProgressBar(0);
+    private final Label generationStatus = new Label();
+    private final Button stopGenerationBtn = new Button("⏹ Stop");
+    private final HBox generationBox = new HBox(10);
     private File lastSelectedDirectory = null;
 
     public static void main(String[] args) {
@@ -383,18 +447,33 @@ public class ExamSchedulerApp extends Application {
         searchLabel.setStyle("-fx-font-weight: bold; -fx-text-fill: " + primaryColor + ";");
         searchBox.getChildren().addAll(searchLabel, searchField);
 
-        VBox centerPane = new VBox(10, scheduleTitle, searchBox, table);
+        generationProgress.setPrefWidth(250);
+        stopGenerationBtn.setOnAction(e -> handleStopGeneration());
+        addStyledTooltip(stopGenerationBtn, "Stop generating and keep the best schedule found so far");
+        generationBox.setAlignment(Pos.CENTER_LEFT);
+        generationBox.getChildren().addAll(generationProgress, generationStatus, stopGenerationBtn);
+        generationBox.managedProperty().bind(generationBox.visibleProperty());
+        generationBox.setVisible(false);
+
+        VBox centerPane = new VBox(10, scheduleTitle, searchBox, generationBox, table);
         centerPane.setPadding(new Insets(15));
         VBox.setVgrow(table, Priority.ALWAYS);
 
         VBox rightPane = createMessagesPanel(titleStyle);
 
         VBox topContainer = new VBox(menuBar, toolBar);
+        HBox statusBar = new HBox(10, validationStatus);
+        statusBar.setAlignment(Pos.CENTER_LEFT);
+        statusBar.setPadding(new Insets(4, 15, 4, 15));
+        statusBar.setStyle("-fx-border-color: #D0D0D0; -fx-border-width: 1 0 0 0;");
+        refreshValidationStatus();
+
         BorderPane root = new BorderPane();
         root.setTop(topContainer);
         root.setLeft(leftPane);
         root.setCenter(centerPane);
         root.setRight(rightPane);
+        root.setBottom(statusBar);
 
         messages.add("✓ System ready. Click 'Load Data' to import CSV files.");
 
@@ -928,7 +1007,7 @@ public class ExamSchedulerApp extends Application {
         List<String> timeSlots = getTimeSlotsFromUI.get();
         String timeSlot = "";
         try {
-            timeSlot = timeSlots.get(exam.getTimeSlot().getSlotNumber() - 1);
+            timeSlot = slotLabel(exam, timeSlots);
         } catch (Exception e) {
             timeSlot = "Slot " + exam.getTimeSlot().getSlotNumber();
         }
@@ -942,6 +1021,31 @@ public class ExamSchedulerApp extends Application {
         return card;
     }
 
+    /**
+     * Time label of an exam. A multi-slot exam runs from the start of its
+     * first slot label to the end of its last one (e.g. "09:00-13:00").
+     * Fails like a plain list lookup when the first slot has no label.
+     */
+    private static String slotLabel(Exam exam, List<String> labels) {
+        int first = exam.getTimeSlot().getSlotNumber() - 1;
+        String label = labels.get(first);
+        int last = first + exam.getCourse().getExamDurationSlots() - 1;
+        if (last == first || last >= labels.size())
+            return label;
+        String[] from = label.split("-");
+        String[] to = labels.get(last).split("-");
+        return from[0].trim() + "-" + to[to.length - 1].trim();
+    }
+
+    /** True if the scheduled exam shares a slot with {@code duration} slots from {@code slotNumber} on the day. */
+    private static boolean overlaps(Exam exam, int day, int slotNumber, int duration) {
+        TimeSlot start = exam.getTimeSlot();
+        if (start.getDay() != day)
+            return false;
+        int end = start.getSlotNumber() + exam.getCourse().getExamDurationSlots() - 1;
+        return start.getSlotNumber() <= slotNumber + duration - 1 && slotNumber <= end;
+    }
+
     private GridPane createQuickStatsGrid(List<Exam> studentExams) {
         GridPane grid = new GridPane();
         grid.setHgap(15);
@@ -1293,7 +1397,7 @@ public class ExamSchedulerApp extends Application {
                     LocalDate examDate = startDate.plusDays(exam.getTimeSlot().getDay() - 1);
                     String timeSlot = "";
                     try {
-                        timeSlot = timeSlots.get(exam.getTimeSlot().getSlotNumber() - 1);
+                        timeSlot = slotLabel(exam, timeSlots);
                     } catch (Exception e) {
                         timeSlot = "09:00-11:00";
                     }
@@ -1373,7 +1477,7 @@ public class ExamSchedulerApp extends Application {
                     LocalDate examDate = startDate.plusDays(exam.getTimeSlot().getDay() - 1);
                     String timeSlot = "";
                     try {
-                        timeSlot = timeSlots.get(exam.getTimeSlot().getSlotNumber() - 1);
+                        timeSlot = slotLabel(exam, timeSlots);
                     } catch (Exception e) {
                         timeSlot = "Slot " + exam.getTimeSlot().getSlotNumber();
                     }
@@ -1485,7 +1589,7 @@ public class ExamSchedulerApp extends Application {
             LocalDate date = startDate.plusDays(exam.getTimeSlot().getDay() - 1);
             String timeSlotStr;
             try {
-                timeSlotStr = timeSlots.get(exam.getTimeSlot().getSlotNumber() - 1);
+                timeSlotStr = slotLabel(exam, timeSlots);
             } catch (Exception e) {
                 timeSlotStr = "Slot " + exam.getTimeSlot().getSlotNumber();
             }
@@ -1592,12 +1696,23 @@ public class ExamSchedulerApp extends Application {
         MenuItem generateItem = new MenuItem("Generate Schedule");
         MenuItem validateItem = new MenuItem("Validate Schedule");
         MenuItem conflictReport = new MenuItem("Conflict Report");
+        MenuItem repairItem = new MenuItem("Repair Schedule");
+        MenuItem periodSearchItem = new MenuItem("Find Shortest Period...");
+        MenuItem snapshotItem = new MenuItem("Save Snapshot...");
+        MenuItem variantsItem = new MenuItem("Generate Variants...");
+        MenuItem compareItem = new MenuItem("Compare Schedules...");
 
         generateItem.setOnAction(e -> handleGenerateSchedule());
+        periodSearchItem.setOnAction(e -> handleFindShortestPeriod());
         validateItem.setOnAction(e -> handleValidate());
         conflictReport.setOnAction(e -> showConflictReport());
+        repairItem.setOnAction(e -> handleRepairSchedule(true));
+        snapshotItem.setOnAction(e -> handleSaveSnapshot());
+        variantsItem.setOnAction(e -> handleGenerateVariants());
+        compareItem.setOnAction(e -> showCompareSnapshots());
 
-        scheduleMenu.getItems().addAll(generateItem, validateItem, conflictReport);
+        scheduleMenu.getItems().addAll(generateItem, periodSearchItem, validateItem, conflictReport, repairItem,
+                new SeparatorMenuItem(), snapshotItem, variantsItem, compareItem);
 
         Menu studentMenu = new Menu("Students");
         MenuItem studentPortalItem = new MenuItem("Student Portal...");
@@ -1640,6 +1755,62 @@ public class ExamSchedulerApp extends Application {
         daysSpinner.setPrefWidth(80);
         daysSpinner.setEditable(true);
 
+        Label orderingLabel = new Label("🧭 Exam Ordering:");
+        orderingLabel.setStyle("-fx-font-weight: bold;");
+        if (orderingCombo.getValue() == null) {
+            orderingCombo.setValue(ExamOrdering.LARGEST_ENROLLMENT);
+        }
+        orderingCombo.setPrefWidth(250);
+        addStyledTooltip(orderingCombo,
+                "Order in which exams are placed. DSatur places the most constrained exams first.");
+
+        Label roomAssignmentLabel = new Label("🏫 Room Assignment:");
+        roomAssignmentLabel.setStyle("-fx-font-weight: bold;");
+        if (roomAssignmentCombo.getValue() == null) {
+            roomAssignmentCombo.setValue(RoomAssignment.BEST_FIT);
+        }
+        roomAssignmentCombo.setPrefWidth(250);
+        addStyledTooltip(roomAssignmentCombo,
+                "Best fit puts each exam into the smallest free room that holds it, keeping large halls for large courses.");
+
+        HBox runsRow = new HBox(10, new Label("Parallel Runs:"), multiStartSpinner);
+        runsRow.setAlignment(Pos.CENTER_LEFT);
+        multiStartSpinner.setPrefWidth(80);
+        multiStartSpinner.setEditable(true);
+        addStyledTooltip(multiStartSpinner,
+                "Number of randomized constructions run in parallel; the best one is kept. 1 = single run.");
+
+        HBox budgetRow = new HBox(10, new Label("Time Budget (s):"), timeBudgetSpinner);
+        budgetRow.setAlignment(Pos.CENTER_LEFT);
+        timeBudgetSpinner.setPrefWidth(80);
+        timeBudgetSpinner.setEditable(true);
+        addStyledTooltip(timeBudgetSpinner, "Wall-clock limit for schedule generation");
+
+        HBox optimizeRow = new HBox(10, new Label("Optimization (s):"), optimizeSpinner);
+        optimizeRow.setAlignment(Pos.CENTER_LEFT);
+        optimizeSpinner.setPrefWidth(80);
+        optimizeSpinner.setEditable(true);
+        addStyledTooltip(optimizeSpinner,
+                "Seconds of simulated annealing after placement to spread exams and use rooms better. 0 = off.");
+
+        repairCheck.setSelected(true);
+        addStyledTooltip(repairCheck,
+                "Try to fit exams that could not be placed by moving conflicting exams to other slots.");
+
+        decomposeCheck.setSelected(true);
+        addStyledTooltip(decomposeCheck,
+                "Timetable groups of courses that share no students (e.g. faculties) separately on all cores, then book rooms together.");
+
+        addStyledTooltip(warmStartCheck,
+                "Keep every exam of the loaded or generated schedule that is still valid and only place the others again.");
+
+        HBox seedRow = new HBox(10, new Label("Seed:"), seedField);
+        seedRow.setAlignment(Pos.CENTER_LEFT);
+        seedField.setPromptText("random");
+        seedField.setPrefWidth(150);
+        addStyledTooltip(seedField,
+                "Fixed seed for a repeatable schedule; identical input with the same seed is loaded from cache. Empty = new random schedule.");
+
         Label tsLabel = new Label("⏰ Time Slots (Per Day):");
         tsLabel.setStyle("-fx-font-weight: bold;");
         tsView.setEditable(true);
@@ -1682,6 +1853,9 @@ public class ExamSchedulerApp extends Application {
                 dateLabel, examStartDatePicker,
                 new Separator(),
                 daysRow,
+                orderingLabel, orderingCombo,
+                roomAssignmentLabel, roomAssignmentCombo,
+                runsRow, budgetRow, optimizeRow, seedRow, repairCheck, decomposeCheck, warmStartCheck,
                 new Separator(),
                 tsLabel, tsView, tsButtons,
                 new Separator(),
@@ -1742,6 +1916,12 @@ public class ExamSchedulerApp extends Application {
         colEnrolled.setCellValueFactory(new PropertyValueFactory<>("enrolled"));
         colEnrolled.setPrefWidth(80);
 
+        TableColumn<ExamEntry, String> colPinned = new TableColumn<>("📌");
+        colPinned.setCellValueFactory(cell -> new SimpleStringProperty(
+                cell.getValue().getExam() != null && cell.getValue().getExam().isPinned() ? "📌" : ""));
+        colPinned.setPrefWidth(40);
+        colPinned.setStyle("-fx-alignment: CENTER;");
+
         TableColumn<ExamEntry, Void> colAct = new TableColumn<>("Actions");
         colAct.setCellFactory(col -> new TableCell<>() {
             private final Button editBtn = new Button("✏ Edit");
@@ -1781,7 +1961,7 @@ public class ExamSchedulerApp extends Application {
         });
         colAct.setPrefWidth(120);
 
-        tableView.getColumns().addAll(colId, colCourse, colDay, colTime, colRoom, colEnrolled, colAct);
+        tableView.getColumns().addAll(colId, colCourse, colDay, colTime, colRoom, colEnrolled, colPinned, colAct);
         return tableView;
     }
 
@@ -2552,7 +2732,7 @@ public class ExamSchedulerApp extends Application {
         VBox option1 = createImportOption(
                 "📄 Import from CSV File",
                 "Standard CSV format import",
-                "Format: ExamID,Course,Day,Slot,Room,Students",
+                "Format: ExamID,Course,Day,Slot,Room,Students[,Pinned]",
                 "#4CAF50");
 
         Button importFileBtn = new Button("Select CSV File");
@@ -2973,6 +3153,7 @@ public class ExamSchedulerApp extends Application {
 
                 if (!hasConflict) {
                     dataManager.getSchedule().addExam(newExam);
+                    scheduleEdits++;
                     merged++;
                 }
             }
@@ -3090,6 +3271,11 @@ public class ExamSchedulerApp extends Application {
             return;
         }
 
+        if (generationRunning) {
+            showWarning("Generation Running", "A schedule is already being generated. Please wait.");
+            return;
+        }
+
         List<Course> coursesToSchedule = dataManager.getCourses();
         List<Classroom> availableClassrooms = new ArrayList<>(dataManager.getClassrooms());
         List<String> timeSlotsRaw = getTimeSlotsFromUI.get();
@@ -3100,197 +3286,765 @@ public class ExamSchedulerApp extends Application {
             return;
         }
 
-        messages.add("⚡ Starting schedule generation...");
-        messages.add("📊 Parameters: " + days + " days, " + timeSlotsRaw.size() + " slots/day");
+        if (availableClassrooms.stream().mapToInt(Classroom::getCapacity).max().orElse(0) <= 0) {
+            showError("Room Error", "No classrooms with valid capacity found.");
+            return;
+        }
 
-        List<Exam> initialExams = coursesToSchedule.stream()
-                .filter(c -> c.getStudentCount() > 0)
-                .map(Exam::new)
-                .collect(Collectors.toList());
+        SchedulingOptions options = readSchedulingOptions();
+        if (options == null)
+            return;
+
+        // Cheap lower bounds first, so an impossible period does not cost a whole run
+        FeasibilityReport feasibility = new FeasibilityCheck(coursesToSchedule, availableClassrooms,
+                timeSlotsRaw.size(), options.getConstraints()).check(days);
+        if (!feasibility.isPossible()) {
+            String needed = feasibility.getMinimumDays() > 0
+                    ? "\n\nAt least " + feasibility.getMinimumDays() + " days are needed with "
+                            + timeSlotsRaw.size() + " slots per day."
+                    : "";
+            Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+            confirm.setTitle("Exam Period Too Short");
+            confirm.setHeaderText("Not all exams can fit into " + days + " days");
+            confirm.setContentText(String.join("\n", feasibility.getProblems()) + needed
+                    + "\n\nGenerate a partial schedule anyway?");
+            ThemeManager.getInstance().styleAlert(confirm);
+            Optional<ButtonType> res = confirm.showAndWait();
+            if (res.isEmpty() || res.get() != ButtonType.OK) {
+                messages.add("⚠️ " + feasibility.getSummary());
+                return;
+            }
+        }
+
+        SchedulingEngine engine = new SchedulingEngine(coursesToSchedule, availableClassrooms, days, timeSlotsRaw,
+                options);
+        engine.setSolutionCache(solutionCache);
+        if (warmStartCheck.isSelected() && dataManager.getSchedule() != null) {
+            engine.setInitialSchedule(dataManager.getSchedule());
+        }
+        if (dataManager.getSchedule() != null) {
+            engine.setPinnedExams(dataManager.getSchedule());
+        }
+
+        SolverTask<SchedulingResult> generateTask = new SolverTask<SchedulingResult>(false) {
+            @Override
+            protected SchedulingResult call() {
+                return engine.generate(listener);
+            }
+        };
+        generationProgress.progressProperty().bind(generateTask.progressProperty());
+        generationStatus.textProperty().bind(generateTask.messageProperty());
+
+        generateTask.setOnSucceeded(e -> {
+            finishGeneration();
+            generateTask.flushMessages();
+            SchedulingResult result = generateTask.getValue();
+            dataManager.setSchedule(result.getSchedule());
+            pendingChanges.clear();
+            unplacedCourses.clear();
+            unplacedCourses.addAll(result.getUnplacedCourses());
+
+            updateExamTableView(timeSlotsRaw);
+
+            if (statsArea != null)
+                statsArea.setText(result.getStatsText());
+
+            messages.add(result.isStopped() ? "⏹ Schedule generation stopped - best schedule so far kept"
+                    : "✓ Schedule generation completed!");
+            if (options.getSeed() == null && result.getSeed() != null && !result.isStopped()) {
+                messages.add("🎲 Seed " + result.getSeed() + " - enter it under Seed to get a repeatable schedule");
+            }
+            if (!result.isComplete()) {
+                messages.add("❌ Unplaced Courses: " + String.join(", ", unplacedCourses));
+            } else {
+                messages.add("🎉 Perfect Schedule! All exams placed.");
+            }
+        });
 
-        // --- BALANCED SPLIT ---
+        generateTask.setOnFailed(e -> {
+            finishGeneration();
+            generateTask.flushMessages();
+            Throwable ex = generateTask.getException();
+            messages.add("❌ Schedule generation failed: " + ex.getMessage());
+            showError("Generation Failed", "Unexpected error:\n" + ex.getMessage());
+        });
 
-        int maxRoomCapacity = availableClassrooms.stream()
-                .mapToInt(Classroom::getCapacity)
-                .max().orElse(0);
+        generationRunning = true;
+        runningEngine = engine;
+        stopGenerationBtn.setDisable(false);
+        generationBox.setVisible(true);
+        Thread worker = new Thread(generateTask, "schedule-generator");
+        worker.setDaemon(true);
+        worker.start();
+    }
 
-        if (maxRoomCapacity == 0) {
-            showError("Room Error", "No classrooms with valid capacity found.");
+    /** Engine options from the configuration panel, or null (after an error dialog) if they are invalid. */
+    private SchedulingOptions readSchedulingOptions() {
+        SchedulingOptions options = new SchedulingOptions();
+        options.setOrdering(orderingCombo.getValue());
+        options.setRoomAssignment(roomAssignmentCombo.getValue());
+        options.setMultiStartRuns(multiStartSpinner.getValue());
+        options.setTimeBudgetMillis(timeBudgetSpinner.getValue() * 1000L);
+        options.setImprovementMillis(optimizeSpinner.getValue() * 1000L);
+        options.setRepairUnplaced(repairCheck.isSelected());
+        options.setDecompose(decomposeCheck.isSelected());
+        String seedText = seedField.getText().trim();
+        if (!seedText.isEmpty()) {
+            try {
+                options.setSeed(Long.parseLong(seedText));
+            } catch (NumberFormatException ex) {
+                showError("Configuration Error", "Seed must be a whole number (or empty for a random schedule).");
+                return null;
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Searches for the fewest days (and optionally slots per day) in which
+     * every exam is placed, running several period lengths in parallel with
+     * the current options. The shortest complete schedule is kept and the
+     * period settings are updated to match it.
+     */
+    private void handleFindShortestPeriod() {
+        if (!dataManager.isDataLoaded()) {
+            showError("Data not loaded", "Please load data from CSV files first.");
+            return;
+        }
+        if (generationRunning) {
+            showWarning("Generation Running", "A schedule is already being generated. Please wait.");
             return;
         }
+        List<Course> coursesToSchedule = dataManager.getCourses();
+        List<Classroom> availableClassrooms = new ArrayList<>(dataManager.getClassrooms());
+        List<String> timeSlotsRaw = getTimeSlotsFromUI.get();
+        if (coursesToSchedule.isEmpty() || availableClassrooms.isEmpty() || timeSlotsRaw.isEmpty()) {
+            showError("Configuration Error", "Please check configuration (Days, Slots, Courses).");
+            return;
+        }
+        SchedulingOptions options = readSchedulingOptions();
+        if (options == null)
+            return;
+
+        int maxDays = ((SpinnerValueFactory.IntegerSpinnerValueFactory) daysSpinner.getValueFactory()).getMax();
+        CheckBox slotsCheck = new CheckBox("Also reduce the number of slots per day");
+        Label info = new Label("Tries period lengths of up to " + maxDays + " days with " + timeSlotsRaw.size()
+                + " slots per day, " + Runtime.getRuntime().availableProcessors()
+                + " at a time, using the current generation settings.");
+        info.setWrapText(true);
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Find Shortest Period");
+        confirm.setHeaderText("Find the fewest days that place every exam");
+        confirm.getDialogPane().setContent(new VBox(10, info, slotsCheck));
+        ThemeManager.getInstance().styleAlert(confirm);
+        Optional<ButtonType> res = confirm.showAndWait();
+        if (res.isEmpty() || res.get() != ButtonType.OK)
+            return;
+
+        PeriodSearch search = new PeriodSearch(coursesToSchedule, availableClassrooms, timeSlotsRaw, options);
+        search.setMaxDays(maxDays);
+        search.setMinimizeSlots(slotsCheck.isSelected());
+
+        SolverTask<PeriodSearchResult> searchTask = new SolverTask<PeriodSearchResult>(true) {
+            @Override
+            protected PeriodSearchResult call() {
+                updateProgress(-1, 1);
+                updateMessage("Searching for the shortest period...");
+                return search.search(listener);
+            }
+        };
+        generationProgress.progressProperty().bind(searchTask.progressProperty());
+        generationStatus.textProperty().bind(searchTask.messageProperty());
+
+        searchTask.setOnSucceeded(e -> {
+            finishGeneration();
+            searchTask.flushMessages();
+            PeriodSearchResult found = searchTask.getValue();
+            messages.add("📅 " + found.getSummary());
+            if (!found.isFound()) {
+                showWarning("Period Search", found.getSummary() + "\n\n" + found.getTableText());
+                return;
+            }
+            SchedulingResult result = found.getResult();
+            List<String> labels = new ArrayList<>(timeSlotsRaw.subList(0, found.getSlotsPerDay()));
+            if (labels.size() < timeSlotsRaw.size()) {
+                tsView.getItems().setAll(labels);
+            }
+            daysSpinner.getValueFactory().setValue(found.getDays());
+            dataManager.setSchedule(result.getSchedule());
+            pendingChanges.clear();
+            unplacedCourses.clear();
+            updateExamTableView(labels);
+            if (statsArea != null)
+                statsArea.setText(result.getStatsText());
+            showInfo("Period Search", found.getSummary() + "\n\n" + found.getTableText());
+        });
+
+        searchTask.setOnFailed(e -> {
+            finishGeneration();
+            searchTask.flushMessages();
+            Throwable ex = searchTask.getException();
+            messages.add("❌ Period search failed: " + ex.getMessage());
+            showError("Period Search Failed", "Unexpected error:\n" + ex.getMessage());
+        });
 
-        List<Exam> examsToPlace = new ArrayList<>();
+        generationRunning = true;
+        runningSearch = search;
+        stopGenerationBtn.setDisable(false);
+        generationBox.setVisible(true);
+        Thread worker = new Thread(searchTask, "period-search");
+        worker.setDaemon(true);
+        worker.start();
+    }
 
-        for (Exam exam : initialExams) {
-            int totalStudents = exam.getEnrolledStudents().size();
+    /**
+     * Keeps the current schedule as a named snapshot for the comparison view.
+     * Taking it is cheap: the snapshot shares the exams until one is edited.
+     */
+    private void handleSaveSnapshot() {
+        Schedule schedule = dataManager.getSchedule();
+        if (schedule == null || schedule.getExams().isEmpty()) {
+            showWarning("No Schedule", "Please generate a schedule first.");
+            return;
+        }
+        TextField name = new TextField("Snapshot " + (dataManager.getSnapshots().size() + 1));
+        Alert dialog = new Alert(Alert.AlertType.CONFIRMATION);
+        dialog.setTitle("Save Snapshot");
+        dialog.setHeaderText("Keep the current schedule for comparison");
+        dialog.getDialogPane().setContent(new HBox(10, new Label("Name:"), name));
+        ThemeManager.getInstance().styleAlert(dialog);
+        Optional<ButtonType> res = dialog.showAndWait();
+        if (res.isEmpty() || res.get() != ButtonType.OK || name.getText().trim().isEmpty())
+            return;
 
-            // If the number of students exceeds the largest class size, DIVIDE
-            if (totalStudents > maxRoomCapacity) {
-                List<Student> allStudents = exam.getEnrolledStudents();
-                int parts = (int) Math.ceil((double) totalStudents / maxRoomCapacity);
-                int baseSize = totalStudents / parts;
-                int remainder = totalStudents % parts;
+        ScheduleSnapshot snapshot = new ScheduleSnapshot(name.getText(), "Saved " + java.time.LocalTime.now()
+                .withNano(0), schedule, dataManager.getCourses(), dataManager.getClassrooms());
+        dataManager.addSnapshot(snapshot);
+        messages.add("📸 " + snapshot.getSummary());
+    }
+
+    /**
+     * Generates several variants of the period at once, each kept as a
+     * snapshot, and opens the comparison view when they are done.
+     */
+    private void handleGenerateVariants() {
+        if (!dataManager.isDataLoaded()) {
+            showError("Data not loaded", "Please load data from CSV files first.");
+            return;
+        }
+        if (generationRunning) {
+            showWarning("Generation Running", "A schedule is already being generated. Please wait.");
+            return;
+        }
+        List<String> timeSlotsRaw = getTimeSlotsFromUI.get();
+        if (timeSlotsRaw.isEmpty()) {
+            showError("Configuration Error", "Please check configuration (Days, Slots, Courses).");
+            return;
+        }
+        SchedulingOptions options = readSchedulingOptions();
+        if (options == null)
+            return;
 
-                messages.add("ℹ Locking large exam: " + exam.getCourse().getCourseCode() +
-                        " (" + totalStudents + " students) into " + parts + " rooms simultaneously.");
+        int days = daysSpinner.getValue();
+        int largestRoom = dataManager.getClassrooms().stream().mapToInt(Classroom::getCapacity).max().orElse(30);
+        String[] names = { "Current settings", "One day shorter", "One day longer", "Two extra rooms" };
+        int[][] defaults = { { days, 0 }, { Math.max(1, days - 1), 0 }, { Math.min(MAX_EXAM_DAYS, days + 1), 0 }, { days, 2 } };
 
-                int currentStartIndex = 0;
-                for (int i = 0; i < parts; i++) {
-                    int currentPartSize = baseSize + (i < remainder ? 1 : 0);
-                    int end = currentStartIndex + currentPartSize;
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(8);
+        grid.addRow(0, new Label(""), new Label("Name"), new Label("Days"), new Label("Extra rooms"),
+                new Label("Seats each"));
+        List<CheckBox> enabled = new ArrayList<>();
+        List<TextField> nameFields = new ArrayList<>();
+        List<Spinner<Integer>> daySpinners = new ArrayList<>();
+        List<Spinner<Integer>> roomSpinners = new ArrayList<>();
+        List<Spinner<Integer>> capacitySpinners = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            CheckBox use = new CheckBox();
+            use.setSelected(true);
+            TextField name = new TextField(names[i]);
+            Spinner<Integer> daySpinner = new Spinner<>(1, MAX_EXAM_DAYS, defaults[i][0]);
+            Spinner<Integer> roomSpinner = new Spinner<>(0, 50, defaults[i][1]);
+            Spinner<Integer> capacitySpinner = new Spinner<>(1, 1000, largestRoom);
+            daySpinner.setPrefWidth(80);
+            roomSpinner.setPrefWidth(80);
+            capacitySpinner.setPrefWidth(90);
+            grid.addRow(i + 1, use, name, daySpinner, roomSpinner, capacitySpinner);
+            enabled.add(use);
+            nameFields.add(name);
+            daySpinners.add(daySpinner);
+            roomSpinners.add(roomSpinner);
+            capacitySpinners.add(capacitySpinner);
+        }
+        Label info = new Label("Each ticked variant is generated with the current settings and " + timeSlotsRaw.size()
+                + " slots per day, " + Runtime.getRuntime().availableProcessors() + " at a time.");
+        info.setWrapText(true);
 
-                    List<Student> subList = allStudents.subList(currentStartIndex, end);
-                    Exam examPart = new Exam(exam.getCourse());
-                    examPart.setAssignedStudents(subList);
-                    examsToPlace.add(examPart);
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Generate Variants");
+        confirm.setHeaderText("Compare schedules for different periods and rooms");
+        confirm.getDialogPane().setContent(new VBox(10, info, grid));
+        ThemeManager.getInstance().styleAlert(confirm);
+        Optional<ButtonType> res = confirm.showAndWait();
+        if (res.isEmpty() || res.get() != ButtonType.OK)
+            return;
 
-                    currentStartIndex = end;
+        List<ScenarioRunner.Scenario> scenarios = new ArrayList<>();
+        try {
+            for (int i = 0; i < names.length; i++) {
+                if (enabled.get(i).isSelected()) {
+                    scenarios.add(new ScenarioRunner.Scenario(nameFields.get(i).getText(), daySpinners.get(i).getValue(),
+                            roomSpinners.get(i).getValue(), capacitySpinners.get(i).getValue()));
                 }
-            } else {
-                examsToPlace.add(exam);
             }
+            if (scenarios.isEmpty())
+                return;
+        } catch (IllegalArgumentException ex) {
+            showError("Invalid Variant", ex.getMessage());
+            return;
         }
 
-        // Sorting: Place the largest groups first.
-        examsToPlace.sort((a, b) -> Integer.compare(b.getStudentCount(), a.getStudentCount()));
+        ScenarioRunner runner = new ScenarioRunner(dataManager.getCourses(), dataManager.getClassrooms(),
+                timeSlotsRaw, options);
 
-        // -----------------------------------------------------------
+        SolverTask<List<ScheduleSnapshot>> variantTask = new SolverTask<List<ScheduleSnapshot>>(true) {
+            @Override
+            protected List<ScheduleSnapshot> call() {
+                updateProgress(-1, 1);
+                updateMessage("Generating " + scenarios.size() + " variants...");
+                return runner.run(scenarios, listener);
+            }
+        };
+        generationProgress.progressProperty().bind(variantTask.progressProperty());
+        generationStatus.textProperty().bind(variantTask.messageProperty());
+
+        variantTask.setOnSucceeded(e -> {
+            finishGeneration();
+            variantTask.flushMessages();
+            for (ScheduleSnapshot snapshot : variantTask.getValue()) {
+                dataManager.addSnapshot(snapshot);
+            }
+            messages.add("🔀 " + variantTask.getValue().size() + " variants ready for comparison");
+            showCompareSnapshots();
+        });
 
-        dataManager.setSchedule(new Schedule(days, timeSlotsRaw.size()));
+        variantTask.setOnFailed(e -> {
+            finishGeneration();
+            variantTask.flushMessages();
+            Throwable ex = variantTask.getException();
+            messages.add("❌ Variant generation failed: " + ex.getMessage());
+            showError("Variant Generation Failed", "Unexpected error:\n" + ex.getMessage());
+        });
 
-        Map<Student, Set<TimeSlot>> studentScheduledSlots = new HashMap<>();
-        Map<TimeSlot, Set<String>> roomOccupancy = new HashMap<>();
-        Map<Student, Map<Integer, Integer>> studentDailyExamCount = new HashMap<>();
+        generationRunning = true;
+        runningScenarios = runner;
+        stopGenerationBtn.setDisable(false);
+        generationBox.setVisible(true);
+        Thread worker = new Thread(variantTask, "variant-generation");
+        worker.setDaemon(true);
+        worker.start();
+    }
 
-        Map<String, TimeSlot> courseLockedSlots = new HashMap<>();
+    /**
+     * Key metrics of the current schedule and every snapshot side by side,
+     * one column each; a snapshot can be made the current schedule from here.
+     */
+    private void showCompareSnapshots() {
+        List<ScheduleSnapshot> columns = new ArrayList<>();
+        Schedule current = dataManager.getSchedule();
+        if (current != null && !current.getExams().isEmpty()) {
+            columns.add(new ScheduleSnapshot("Current schedule", "", current, dataManager.getCourses(),
+                    dataManager.getClassrooms()));
+        }
+        List<ScheduleSnapshot> saved = dataManager.getSnapshots();
+        columns.addAll(saved);
+        if (saved.isEmpty()) {
+            showWarning("No Snapshots", "Save a snapshot or generate variants first.");
+            return;
+        }
 
-        int placedCount = 0;
-        unplacedCourses.clear();
+        Stage dialogStage = new Stage();
+        dialogStage.initModality(Modality.APPLICATION_MODAL);
+        dialogStage.setTitle("🔀 Compare Schedules");
+
+        TableView<List<String>> compareTable = new TableView<>();
+        compareTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        TableColumn<List<String>, String> metricCol = new TableColumn<>("Metric");
+        metricCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().get(0)));
+        metricCol.setSortable(false);
+        compareTable.getColumns().add(metricCol);
+        for (int i = 0; i < columns.size(); i++) {
+            int index = i + 1;
+            TableColumn<List<String>, String> col = new TableColumn<>(columns.get(i).getName());
+            col.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().get(index)));
+            col.setSortable(false);
+            compareTable.getColumns().add(col);
+        }
 
-        for (Exam exam : examsToPlace) {
-            boolean placed = false;
-            List<Student> studentsOfCourse = exam.getEnrolledStudents();
-            int enrolledCount = exam.getStudentCount();
-            String courseCode = exam.getCourse().getCourseCode();
+        List<Map<String, String>> metrics = new ArrayList<>();
+        for (ScheduleSnapshot snapshot : columns) {
+            metrics.add(snapshot.getMetrics());
+        }
+        List<String> descriptions = new ArrayList<>();
+        descriptions.add("Variant");
+        for (ScheduleSnapshot snapshot : columns) {
+            descriptions.add(snapshot.getDescription());
+        }
+        compareTable.getItems().add(descriptions);
+        for (String metric : metrics.get(0).keySet()) {
+            List<String> row = new ArrayList<>();
+            row.add(metric);
+            for (Map<String, String> values : metrics) {
+                row.add(values.getOrDefault(metric, ""));
+            }
+            compareTable.getItems().add(row);
+        }
+        VBox.setVgrow(compareTable, Priority.ALWAYS);
 
-            TimeSlot forcedSlot = courseLockedSlots.get(courseCode);
+        ComboBox<ScheduleSnapshot> snapshotBox = new ComboBox<>(FXCollections.observableArrayList(saved));
+        snapshotBox.setCellFactory(list -> new TextFieldListCell<>(new javafx.util.StringConverter<ScheduleSnapshot>() {
+            @Override
+            public String toString(ScheduleSnapshot snapshot) {
+                return snapshot == null ? "" : snapshot.getName();
+            }
 
-            Collections.shuffle(availableClassrooms, new Random());
+            @Override
+            public ScheduleSnapshot fromString(String string) {
+                return null;
+            }
+        }));
+        snapshotBox.setButtonCell(snapshotBox.getCellFactory().call(null));
+        snapshotBox.getSelectionModel().selectFirst();
+
+        Button useBtn = new Button("Use as Current Schedule");
+        useBtn.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-padding: 8px 16px;");
+        useBtn.setOnAction(e -> {
+            ScheduleSnapshot snapshot = snapshotBox.getValue();
+            if (snapshot != null && useSnapshot(snapshot))
+                dialogStage.close();
+        });
 
-            int startDay = (forcedSlot != null) ? forcedSlot.getDay() : 1;
-            int endDay = (forcedSlot != null) ? forcedSlot.getDay() : days;
+        Button removeBtn = new Button("Remove");
+        removeBtn.setStyle("-fx-padding: 8px 16px;");
+        removeBtn.setOnAction(e -> {
+            ScheduleSnapshot snapshot = snapshotBox.getValue();
+            if (snapshot == null)
+                return;
+            dataManager.removeSnapshot(snapshot);
+            messages.add("🗑 Snapshot removed: " + snapshot.getName());
+            dialogStage.close();
+            if (!dataManager.getSnapshots().isEmpty())
+                showCompareSnapshots();
+        });
 
-            outerLoop: for (int day = startDay; day <= endDay; day++) {
+        Button closeBtn = new Button("Close");
+        closeBtn.setStyle("-fx-padding: 8px 16px;");
+        closeBtn.setOnAction(e -> dialogStage.close());
 
-                final int currentDay = day;
+        HBox buttonBox = new HBox(10, new Label("Snapshot:"), snapshotBox, useBtn, removeBtn, closeBtn);
+        buttonBox.setAlignment(Pos.CENTER_RIGHT);
 
-                int startSlot = (forcedSlot != null) ? forcedSlot.getSlotNumber() : 1;
-                int endSlot = (forcedSlot != null) ? forcedSlot.getSlotNumber() : timeSlotsRaw.size();
+        VBox root = new VBox(10, new Label("Key metrics side by side:"), compareTable, buttonBox);
+        root.setPadding(new Insets(10));
 
-                for (int slotNum = startSlot; slotNum <= endSlot; slotNum++) {
-                    TimeSlot currentSlot = new TimeSlot(day, slotNum);
+        Scene dialogScene = new Scene(root, Math.min(1200, 320 + 180 * columns.size()), 480);
+        ThemeManager.getInstance().registerScene(dialogScene);
+        dialogStage.setScene(dialogScene);
+        dialogStage.show();
+    }
 
-                    // 1. STUDENT CONFLICT CHECK
-                    boolean studentConflict = false;
-                    for (Student student : studentsOfCourse) {
-                        Set<TimeSlot> busySlots = studentScheduledSlots.getOrDefault(student, Collections.emptySet());
+    /**
+     * Makes a snapshot the current schedule. Rooms a variant added are added
+     * to the classroom list after confirmation.
+     *
+     * @return false if nothing was changed
+     */
+    private boolean useSnapshot(ScheduleSnapshot snapshot) {
+        if (generationRunning) {
+            showWarning("Generation Running", "A schedule is already being generated. Please wait.");
+            return false;
+        }
+        Schedule schedule = snapshot.getSchedule();
+        List<String> timeSlotsRaw = getTimeSlotsFromUI.get();
+        if (schedule.getSlotsPerDay() > timeSlotsRaw.size()) {
+            showError("Cannot Use Snapshot", "The snapshot uses " + schedule.getSlotsPerDay()
+                    + " slots per day, but only " + timeSlotsRaw.size() + " are configured.");
+            return false;
+        }
+        Map<String, Classroom> newRooms = new java.util.LinkedHashMap<>();
+        for (Exam exam : schedule.getScheduledExams()) {
+            Classroom room = exam.getClassroom();
+            if (dataManager.getClassroomByID(room.getClassroomID()) == null)
+                newRooms.put(room.getClassroomID(), room);
+        }
+        if (!newRooms.isEmpty()) {
+            Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+            confirm.setTitle("Use Snapshot");
+            confirm.setHeaderText("This schedule uses " + newRooms.size() + " rooms that do not exist yet");
+            confirm.setContentText(String.join(", ", newRooms.keySet())
+                    + "\n\nThey will be added to the classroom list. Continue?");
+            ThemeManager.getInstance().styleAlert(confirm);
+            Optional<ButtonType> res = confirm.showAndWait();
+            if (res.isEmpty() || res.get() != ButtonType.OK)
+                return false;
+            List<Classroom> classrooms = new ArrayList<>(dataManager.getClassrooms());
+            classrooms.addAll(newRooms.values());
+            dataManager.setClassrooms(classrooms);
+        }
 
-                        if (busySlots.contains(currentSlot)) {
-                            studentConflict = true;
-                            break;
-                        }
+        List<String> labels = new ArrayList<>(timeSlotsRaw.subList(0, schedule.getSlotsPerDay()));
+        if (labels.size() < timeSlotsRaw.size()) {
+            tsView.getItems().setAll(labels);
+        }
+        daysSpinner.getValueFactory().setValue(schedule.getExamPeriodDays());
+        dataManager.restoreSnapshot(snapshot);
+        pendingChanges.clear();
+        unplacedCourses.clear();
+        unplacedCourses.addAll(snapshot.getUnplacedCourses());
+        updateExamTableView(labels);
+        if (statsArea != null)
+            statsArea.setText(snapshot.getSummary());
+        messages.add("🔀 Using snapshot: " + snapshot.getName());
+        return true;
+    }
 
-                        // DAILY LIMIT CHECK
-                        int examsOnDay = studentDailyExamCount
-                                .getOrDefault(student, Collections.emptyMap())
-                                .getOrDefault(currentDay, 0);
-                        if (examsOnDay >= 2) {
-                            studentConflict = true;
-                            break;
-                        }
+    /**
+     * Background run of a solver. Its {@code listener} queues log messages and
+     * drains them with one runLater at a time, so a chatty solver cannot
+     * flood the FX thread; progress and best-so-far summaries go to the
+     * task's own properties. The succeeded and failed handlers call
+     * {@link #flushMessages()} first so the log is complete.
+     */
+    private abstract class SolverTask<T> extends Task<T> {
+        private final ConcurrentLinkedQueue<String> queuedMessages = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private final boolean messagesAsStatus;
 
-                        // CONSECUTIVE EXAM CHECK
-                        if (slotNum > 1) {
-                            TimeSlot previousSlot = new TimeSlot(day, slotNum - 1);
-                            if (busySlots.contains(previousSlot)) {
-                                studentConflict = true;
-                                break;
-                            }
-                        }
-                    }
-                    if (studentConflict)
-                        continue;
+        protected final SchedulingListener listener = new SchedulingListener() {
+            @Override
+            public void onMessage(String message) {
+                queuedMessages.add(message);
+                if (flushScheduled.compareAndSet(false, true)) {
+                    Platform.runLater(SolverTask.this::flushMessages);
+                }
+                if (messagesAsStatus) {
+                    updateMessage(message.trim());
+                }
+            }
 
-                    for (Classroom room : availableClassrooms) {
-                        if (!room.canAccommodate(enrolledCount))
-                            continue;
+            @Override
+            public void onProgress(int done, int total) {
+                updateProgress(done, total);
+            }
 
-                        roomOccupancy.putIfAbsent(currentSlot, new HashSet<>());
-                        if (roomOccupancy.get(currentSlot).contains(room.getClassroomID()))
-                            continue;
-                        exam.setTimeSlot(currentSlot);
-                        exam.setClassroom(room);
-                        dataManager.getSchedule().addExam(exam);
-                        roomOccupancy.get(currentSlot).add(room.getClassroomID());
-
-                        for (Student student : studentsOfCourse) {
-                            studentScheduledSlots.computeIfAbsent(student, k -> new HashSet<>()).add(currentSlot);
-                            studentDailyExamCount
-                                    .computeIfAbsent(student, k -> new HashMap<>())
-                                    .merge(currentDay, 1, Integer::sum);
-                        }
+            @Override
+            public void onBestSoFar(SolverProgress progress) {
+                updateMessage(progress.getSummary());
+            }
+        };
 
-                        if (!courseLockedSlots.containsKey(courseCode)) {
-                            courseLockedSlots.put(courseCode, currentSlot);
-                        }
+        /** @param messagesAsStatus also show every message as the task's status */
+        SolverTask(boolean messagesAsStatus) {
+            this.messagesAsStatus = messagesAsStatus;
+        }
 
-                        placed = true;
-                        placedCount++;
+        /** Adds the queued messages to the log. FX thread only. */
+        void flushMessages() {
+            flushScheduled.set(false);
+            List<String> batch = new ArrayList<>();
+            String message;
+            while ((message = queuedMessages.poll()) != null) {
+                batch.add(message);
+            }
+            messages.addAll(batch);
+        }
+    }
 
-                        String suffix = (forcedSlot != null || examsToPlace.stream()
-                                .filter(e -> e.getCourse().getCourseCode().equals(courseCode)).count() > 1)
-                                        ? " [Part]"
-                                        : "";
+    /**
+     * Stops the running generation; the engine returns the best schedule it
+     * has found so far, which is then shown as a normal result. A period
+     * search stops its candidates and keeps the shortest complete period
+     * found until then; a variant run keeps the variants already finished.
+     */
+    private void handleStopGeneration() {
+        if (runningEngine != null) {
+            runningEngine.stop();
+            stopGenerationBtn.setDisable(true);
+            messages.add("⏹ Stopping - finishing with the best schedule found so far...");
+        }
+        if (runningSearch != null) {
+            runningSearch.stop();
+            stopGenerationBtn.setDisable(true);
+            messages.add("⏹ Stopping period search...");
+        }
+        if (runningScenarios != null) {
+            runningScenarios.stop();
+            stopGenerationBtn.setDisable(true);
+            messages.add("⏹ Stopping variant generation...");
+        }
+    }
 
-                        messages.add("  ✓ " + courseCode + suffix +
-                                " → Day " + day + ", Slot " + slotNum +
-                                ", Room " + room.getClassroomID() +
-                                " (" + enrolledCount + " students)");
+    private void finishGeneration() {
+        generationRunning = false;
+        runningEngine = null;
+        runningSearch = null;
+        runningScenarios = null;
+        generationProgress.progressProperty().unbind();
+        generationStatus.textProperty().unbind();
+        generationBox.setVisible(false);
+    }
 
-                        break outerLoop;
-                    }
-                }
+    /**
+     * Re-places only the exams affected by the recorded edits (and any exam
+     * that clashes), keeping the rest of the timetable as students know it.
+     * After an edit it only runs when changes were recorded; from the menu
+     * it always checks the whole schedule.
+     * The repair works on a snapshot in the background, so the window stays
+     * responsive on large rosters. If edits come in while it runs, its
+     * result is dropped and the repair runs again with all edits.
+     */
+    private void handleRepairSchedule(boolean userRequested) {
+        Schedule schedule = dataManager.getSchedule();
+        if (schedule == null || schedule.getExams().isEmpty()) {
+            if (userRequested) {
+                showWarning("No Schedule", "Please generate a schedule first.");
             }
+            return;
+        }
+        if (!userRequested && pendingChanges.isEmpty())
+            return;
+        if (generationRunning) {
+            messages.add("⚠ Repair skipped: schedule generation is running");
+            return;
+        }
+        if (repairRunning) {
+            // Edits are picked up from pendingChanges; only a request from the menu needs remembering
+            repairQueued |= userRequested;
+            return;
+        }
 
-            if (!placed) {
-                if (!unplacedCourses.contains(courseCode)) {
-                    unplacedCourses.add(courseCode);
-                }
-                messages.add("❌ FAILED: " + courseCode + " could not be placed.");
+        Schedule working = schedule.snapshot();
+        ScheduleChangeSet changes = new ScheduleChangeSet(pendingChanges);
+        int edits = scheduleEdits;
+        IncrementalRepair repair = new IncrementalRepair(dataManager.getCourses(), dataManager.getClassrooms());
+        repair.setConflictGraph(repairGraph);
+        repair.setCheckAll(userRequested);
+        SolverTask<RepairResult> repairTask = new SolverTask<RepairResult>(false) {
+            @Override
+            protected RepairResult call() {
+                return repair.repair(working, changes, listener);
             }
-        }
+        };
 
-        updateExamTableView(timeSlotsRaw);
+        repairTask.setOnSucceeded(e -> {
+            repairTask.flushMessages();
+            repairGraph = repair.getConflictGraph();
+            if (finishRepair(schedule, changes, edits))
+                return;
+            RepairResult result = repairTask.getValue();
+            dataManager.setSchedule(working);
+            Set<Course> affected = new HashSet<>(changes.getChangedCourses());
+            affected.addAll(changes.getFixedCourses());
+            pendingChanges.clear();
+
+            unplacedCourses.removeAll(result.getMovedCourses());
+            for (String code : result.getUnresolvedCourses()) {
+                if (!unplacedCourses.contains(code)) {
+                    unplacedCourses.add(code);
+                }
+            }
+            for (String code : result.getMovedCourses()) {
+                affected.add(dataManager.getCourseByCode(code));
+            }
+            for (String code : result.getUnresolvedCourses()) {
+                affected.add(dataManager.getCourseByCode(code));
+            }
+            recount(affected);
+            fillExamTable(getTimeSlotsFromUI.get());
+            if (!result.isClean()) {
+                showWarning("Repair Incomplete", "These courses could not be placed without conflicts and were "
+                        + "unscheduled:\n" + String.join(", ", result.getUnresolvedCourses()));
+            }
+        });
 
-        int total = examsToPlace.size();
-        int unplacedCount = unplacedCourses.size();
+        repairTask.setOnFailed(e -> {
+            repairTask.flushMessages();
+            if (finishRepair(schedule, changes, edits))
+                return;
+            showError("Repair Failed", repairTask.getException().getMessage());
+        });
 
-        String statsText = String.format(
-                "Total Exam Sessions: %d\nPlaced: %d\nUnplaced Courses: %d",
-                total, placedCount, unplacedCount);
+        repairRunning = true;
+        repairQueued = false;
+        Thread worker = new Thread(repairTask, "schedule-repair");
+        worker.setDaemon(true);
+        worker.start();
+    }
 
-        if (statsArea != null)
-            statsArea.setText(statsText);
+    /**
+     * Ends a background repair. Returns true if its result is out of date -
+     * the schedule was replaced or edited while it ran - after starting the
+     * repair again when edits are waiting.
+     */
+    private boolean finishRepair(Schedule repaired, ScheduleChangeSet changes, int edits) {
+        repairRunning = false;
+        boolean outdated = dataManager.getSchedule() != repaired
+                || pendingChanges.getVersion() != changes.getVersion() || scheduleEdits != edits;
+        if (outdated && dataManager.getSchedule() != null && (repairQueued || !pendingChanges.isEmpty())) {
+            handleRepairSchedule(repairQueued);
+        }
+        return outdated;
+    }
 
-        messages.add("✓ Schedule generation completed!");
-        if (unplacedCount > 0) {
-            messages.add("❌ Unplaced Courses: " + String.join(", ", unplacedCourses));
-        } else {
-            messages.add("🎉 Perfect Schedule! All exams placed.");
+    /** Counts the exams of the given courses again after a repair moved or rebuilt them. */
+    private void recount(Set<Course> courses) {
+        Map<Course, List<Exam>> examsByCourse = new HashMap<>();
+        for (Course course : courses) {
+            if (course != null)
+                examsByCourse.put(course, new ArrayList<>());
+        }
+        for (Exam exam : dataManager.getSchedule().getExams()) {
+            List<Exam> ofCourse = examsByCourse.get(exam.getCourse());
+            if (ofCourse != null)
+                ofCourse.add(exam);
         }
+        for (Map.Entry<Course, List<Exam>> entry : examsByCourse.entrySet()) {
+            liveValidation.updateCourse(entry.getKey(), entry.getValue());
+        }
+        refreshValidationStatus();
     }
 
+    /** Shows the current schedule in the table and counts its problems from scratch. */
     private void updateExamTableView(List<String> timeSlotLabels) {
+        fillExamTable(timeSlotLabels);
+        liveValidation.reset(dataManager.getSchedule());
+        refreshValidationStatus();
+    }
+
+    /**
+     * Error and warning counts of the current schedule in the status bar.
+     * They come from {@link LiveValidator}, which every change to the
+     * schedule has to go through.
+     */
+    private void refreshValidationStatus() {
+        if (liveValidation.getExamCount() == 0) {
+            validationStatus.setText("No schedule");
+            validationStatus.setStyle("-fx-text-fill: #666;");
+            validationStatus.setTooltip(null);
+            return;
+        }
+        int critical = liveValidation.getCriticalCount();
+        int warnings = liveValidation.getWarningCount();
+        validationStatus.setText((critical > 0 ? "❌ " : warnings > 0 ? "⚠ " : "✅ ")
+                + liveValidation.getSummary() + " in " + liveValidation.getExamCount() + " exams");
+        validationStatus.setStyle("-fx-font-weight: bold; -fx-text-fill: "
+                + (critical > 0 ? "#D32F2F" : warnings > 0 ? "#F57C00" : "#388E3C") + ";");
+        List<String> breakdown = liveValidation.getBreakdown();
+        validationStatus.setTooltip(breakdown.isEmpty() ? null : new Tooltip(String.join("\n", breakdown)));
+    }
+
+    private void fillExamTable(List<String> timeSlotLabels) {
         exams.clear();
         int idCounter = 1;
 
@@ -3299,7 +4053,7 @@ public class ExamSchedulerApp extends Application {
                 if (exam.isScheduled()) {
                     String slotLabel = "N/A";
                     try {
-                        slotLabel = timeSlotLabels.get(exam.getTimeSlot().getSlotNumber() - 1);
+                        slotLabel = slotLabel(exam, timeSlotLabels);
                     } catch (Exception ignored) {
                         slotLabel = "Slot " + exam.getTimeSlot().getSlotNumber();
                     }
@@ -3392,6 +4146,9 @@ public class ExamSchedulerApp extends Application {
         codeField.setPromptText("Course Code");
         TextField nameField = new TextField();
         nameField.setPromptText("Course Name");
+        Spinner<Integer> durationSpinner = new Spinner<>(1, 10, 1);
+        durationSpinner.setEditable(true);
+        addStyledTooltip(durationSpinner, "Exam length in consecutive time slots");
 
         Button addBtn = new Button("Add");
         Button remBtn = new Button("Remove");
@@ -3399,7 +4156,7 @@ public class ExamSchedulerApp extends Application {
         addBtn.setOnAction(e -> {
             String code = codeField.getText().trim();
             if (!code.isEmpty()) {
-                Course c = new Course(code, nameField.getText(), 1);
+                Course c = new Course(code, nameField.getText(), durationSpinner.getValue());
                 dataManager.addCourse(c);
                 listView.getItems().add(code);
                 messages.add("Course added: " + code);
@@ -3424,7 +4181,7 @@ public class ExamSchedulerApp extends Application {
             }
         });
 
-        VBox inputs = new VBox(5, codeField, nameField);
+        VBox inputs = new VBox(5, codeField, nameField, new HBox(5, new Label("Exam slots:"), durationSpinner));
         VBox root = new VBox(10, new Label("Courses"), listView, inputs, new HBox(5, addBtn, remBtn));
         root.setPadding(new Insets(10));
         Scene dialogScene = new Scene(root, 300, 450);
@@ -3584,6 +4341,7 @@ public class ExamSchedulerApp extends Application {
             if (c != null) {
                 try {
                     dataManager.enrollStudentToCourse(c, s);
+                    pendingChanges.enrollmentChanged(c);
 
                     List<Student> freshEnrolled = c.getEnrolledStudents();
                     List<Student> freshAvailable = new ArrayList<>(dataManager.getStudents());
@@ -3622,6 +4380,7 @@ public class ExamSchedulerApp extends Application {
             if (c != null) {
                 try {
                     dataManager.unenrollStudentFromCourse(c, s);
+                    pendingChanges.enrollmentChanged(c);
 
                     List<Student> freshEnrolled = c.getEnrolledStudents();
                     List<Student> freshAvailable = new ArrayList<>(dataManager.getStudents());
@@ -3664,6 +4423,7 @@ public class ExamSchedulerApp extends Application {
         Scene dialogScene = new Scene(grid, 700, 500);
         ThemeManager.getInstance().registerScene(dialogScene);
         dialog.setScene(dialogScene);
+        dialog.setOnHidden(ev -> handleRepairSchedule(false));
         dialog.show();
     }
 
@@ -3676,15 +4436,33 @@ public class ExamSchedulerApp extends Application {
         TextField course = new TextField(e.getCourseId());
         course.setEditable(false); // Course code should not be changed directly on exam instance
 
-        Spinner<Integer> day = new Spinner<>(1, 30, e.getDay());
+        Spinner<Integer> day = new Spinner<>(1, MAX_EXAM_DAYS, e.getDay());
         day.setEditable(true);
 
         // Use ComboBox for Time Slot to ensure validity
         ComboBox<String> slot = new ComboBox<>(FXCollections.observableArrayList(getTimeSlotsFromUI.get()));
         slot.setValue(e.getTimeSlot());
+        if (e.getExam() != null && e.getExam().isScheduled()
+                && e.getExam().getTimeSlot().getSlotNumber() <= slot.getItems().size()) {
+            // Multi-slot exams show a combined label, so select by start slot
+            slot.getSelectionModel().select(e.getExam().getTimeSlot().getSlotNumber() - 1);
+        }
 
         TextField room = new TextField(e.getRoomId());
 
+        CheckBox pinned = new CheckBox("Keep in place when generating again");
+        pinned.setSelected(e.getExam() != null && e.getExam().isPinned());
+        addStyledTooltip(pinned, "Pinned exams keep their day, time slot and room in every new schedule");
+        // Moving an exam by hand pins it; untick to let the generator move it again
+        day.valueProperty().addListener((obs, o, n) -> pinned.setSelected(true));
+        slot.valueProperty().addListener((obs, o, n) -> pinned.setSelected(true));
+        room.textProperty().addListener((obs, o, n) -> pinned.setSelected(true));
+
+        // Where the exam could go, recoloured as the fields change
+        MoveGrid moveGrid = e.getExam() != null && e.getExam().isScheduled() && dataManager.getSchedule() != null
+                ? new MoveGrid(createMoveAdvisor(e.getExam()), day, slot, room)
+                : null;
+
         // Enrolled count as label (editable via Manage Students button)
         Label enrolledLabel = new Label(String.valueOf(e.getEnrolled()));
         enrolledLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
@@ -3704,6 +4482,12 @@ public class ExamSchedulerApp extends Application {
 
             // --- VALIDATION LOGIC ---
             if (e.getExam() != null && dataManager.getSchedule() != null) {
+                int duration = e.getExam().getCourse().getExamDurationSlots();
+                if (newSlotIdx > 0 && newSlotIdx + duration - 1 > slot.getItems().size()) {
+                    errors.add("Invalid Time Slot: " + e.getCourseId() + " needs " + duration
+                            + " consecutive slots and would run past the last slot of the day");
+                }
+
                 // 1. Check Room Capacity
                 Classroom targetRoom = dataManager.getClassroomByID(newRoomId);
                 if (targetRoom == null) {
@@ -3718,8 +4502,7 @@ public class ExamSchedulerApp extends Application {
                 boolean roomOccupied = dataManager.getSchedule().getExams().stream()
                         .filter(ex -> ex != e.getExam()) // Skip current exam
                         .filter(Exam::isScheduled)
-                        .anyMatch(ex -> ex.getTimeSlot().getDay() == newDay &&
-                                ex.getTimeSlot().getSlotNumber() == newSlotIdx &&
+                        .anyMatch(ex -> overlaps(ex, newDay, newSlotIdx, duration) &&
                                 ex.getClassroom().getClassroomID().equals(newRoomId));
 
                 if (roomOccupied) {
@@ -3738,8 +4521,7 @@ public class ExamSchedulerApp extends Application {
                             .filter(ex -> ex != e.getExam())
                             .filter(Exam::isScheduled)
                             .filter(ex -> ex.getEnrolledStudents().contains(s))
-                            .filter(ex -> ex.getTimeSlot().getDay() == newDay &&
-                                    ex.getTimeSlot().getSlotNumber() == newSlotIdx)
+                            .filter(ex -> overlaps(ex, newDay, newSlotIdx, duration))
                             .count();
 
                     if (examsAtSameTime > 0) {
@@ -3820,17 +4602,31 @@ public class ExamSchedulerApp extends Application {
 
             // Update Real Exam Model (Logic)
             if (e.getExam() != null) {
+                Exam exam = editableExam(e.getExam());
                 if (newSlotIdx > 0) {
                     TimeSlot newTimeSlot = new TimeSlot(newDay, newSlotIdx);
-                    e.getExam().setTimeSlot(newTimeSlot);
+                    exam.setTimeSlot(newTimeSlot);
+                    e.setTimeSlot(slotLabel(exam, slot.getItems()));
                 }
 
                 Classroom newRoom = dataManager.getClassroomByID(room.getText());
                 if (newRoom != null) {
-                    e.getExam().setClassroom(newRoom);
+                    exam.setClassroom(newRoom);
+                }
+
+                // The generator pins whole courses, so all parts of a split exam follow
+                if (dataManager.getSchedule() != null) {
+                    for (Exam ex : dataManager.getSchedule().getExams()) {
+                        if (ex.getCourse() == exam.getCourse() && ex.isPinned() != pinned.isSelected())
+                            editableExam(ex).setPinned(pinned.isSelected());
+                    }
                 }
+                exam.setPinned(pinned.isSelected());
 
                 // Student count is now managed via Manage Students, no need to set manually
+                pendingChanges.examMoved(e.getExam());
+                liveValidation.update(exam);
+                refreshValidationStatus();
             }
 
             if (dataManager.getSchedule() != null) {
@@ -3840,6 +4636,7 @@ public class ExamSchedulerApp extends Application {
             table.refresh();
             messages.add("✓ Exam " + e.getId() + " updated");
             d.close();
+            handleRepairSchedule(false);
         });
 
         // Manage Students button
@@ -3848,6 +4645,8 @@ public class ExamSchedulerApp extends Application {
         addStyledTooltip(manageStudentsBtn, "Manage students enrolled in this exam");
         manageStudentsBtn.setOnAction(ev -> {
             showManageExamStudents(d, e, enrolledLabel);
+            if (moveGrid != null)
+                moveGrid.setAdvisor(createMoveAdvisor(e.getExam()));
         });
 
         GridPane grid = new GridPane();
@@ -3866,14 +4665,135 @@ public class ExamSchedulerApp extends Application {
         HBox enrollBox = new HBox(10, enrolledLabel, manageStudentsBtn);
         enrollBox.setAlignment(Pos.CENTER_LEFT);
         grid.add(enrollBox, 1, 4);
-        grid.add(save, 1, 5);
+        grid.add(new Label("Pinned:"), 0, 5);
+        grid.add(pinned, 1, 5);
+        if (moveGrid != null)
+            grid.add(moveGrid.getNode(), 0, 6, 2, 1);
+        grid.add(save, 1, 7);
 
-        Scene dialogScene = new Scene(grid, 450, 350);
+        Scene dialogScene = moveGrid != null ? new Scene(grid, 640, 720) : new Scene(grid, 450, 390);
         ThemeManager.getInstance().registerScene(dialogScene);
         d.setScene(dialogScene);
         d.showAndWait();
     }
 
+    private MoveAdvisor createMoveAdvisor(Exam exam) {
+        return new MoveAdvisor(dataManager.getSchedule(), exam, dataManager.getClassrooms());
+    }
+
+    /**
+     * Day x slot grid of the edit dialog. Each cell is coloured by how the exam
+     * would fare there in the chosen room (green free, amber warnings, red not
+     * allowed) and shows how many rooms are free; with no known room the best
+     * room counts. Hovering a cell explains it, clicking moves the fields there.
+     */
+    private class MoveGrid {
+        private final Spinner<Integer> day;
+        private final ComboBox<String> slot;
+        private final TextField room;
+        private final GridPane grid = new GridPane();
+        private final Label status = new Label();
+        private final VBox node;
+        private MoveAdvisor advisor;
+        private Label[][] cells;
+
+        MoveGrid(MoveAdvisor advisor, Spinner<Integer> day, ComboBox<String> slot, TextField room) {
+            this.day = day;
+            this.slot = slot;
+            this.room = room;
+            grid.setHgap(2);
+            grid.setVgap(2);
+            status.setWrapText(true);
+
+            Label title = new Label("Where it fits");
+            title.setStyle("-fx-font-weight: bold;");
+            Label legend = new Label("Green: free   Amber: warnings   Red: not allowed   Number: free rooms");
+            legend.setStyle("-fx-font-size: 11px;");
+            ScrollPane scroll = new ScrollPane(grid);
+            scroll.setPrefViewportHeight(260);
+            node = new VBox(6, title, legend, scroll, status);
+
+            day.valueProperty().addListener((obs, o, n) -> refresh());
+            slot.valueProperty().addListener((obs, o, n) -> refresh());
+            room.textProperty().addListener((obs, o, n) -> refresh());
+            setAdvisor(advisor);
+        }
+
+        Node getNode() {
+            return node;
+        }
+
+        /** Shows a new advisor, e.g. after the exam's students changed. */
+        void setAdvisor(MoveAdvisor advisor) {
+            this.advisor = advisor;
+            grid.getChildren().clear();
+            cells = new Label[advisor.getDays()][advisor.getSlotsPerDay()];
+            for (int s = 1; s <= advisor.getSlotsPerDay(); s++) {
+                Label header = new Label("S" + s);
+                if (s <= slot.getItems().size())
+                    addStyledTooltip(header, slot.getItems().get(s - 1));
+                grid.add(header, s, 0);
+            }
+            for (int d = 1; d <= advisor.getDays(); d++) {
+                grid.add(new Label("Day " + d), 0, d);
+                for (int s = 1; s <= advisor.getSlotsPerDay(); s++) {
+                    int cellDay = d;
+                    int cellSlot = s;
+                    Label cell = new Label();
+                    cell.setMinSize(40, 22);
+                    cell.setAlignment(Pos.CENTER);
+                    cell.setOnMouseClicked(ev -> moveTo(cellDay, cellSlot));
+                    cell.setOnMouseEntered(ev -> describe(cellDay, cellSlot));
+                    cell.setOnMouseExited(ev -> describe(day.getValue(), selectedSlot()));
+                    cells[d - 1][s - 1] = cell;
+                    grid.add(cell, s, d);
+                }
+            }
+            refresh();
+        }
+
+        void refresh() {
+            Classroom chosen = dataManager.getClassroomByID(room.getText());
+            for (int d = 1; d <= advisor.getDays(); d++) {
+                for (int s = 1; s <= advisor.getSlotsPerDay(); s++) {
+                    MoveAdvisor.Status cellStatus = chosen != null ? advisor.getStatus(d, s, chosen)
+                            : advisor.getStatus(d, s);
+                    String color = cellStatus == MoveAdvisor.Status.FREE ? "#A5D6A7"
+                            : cellStatus == MoveAdvisor.Status.SOFT ? "#FFCC80" : "#EF9A9A";
+                    boolean selected = d == day.getValue() && s == selectedSlot();
+                    Label cell = cells[d - 1][s - 1];
+                    cell.setText(String.valueOf(advisor.getFreeRoomCount(d, s)));
+                    cell.setStyle("-fx-background-color: " + color + "; -fx-text-fill: #212121; -fx-cursor: hand;"
+                            + (selected ? " -fx-border-color: #1565C0; -fx-border-width: 2; -fx-font-weight: bold;"
+                                    : ""));
+                }
+            }
+            describe(day.getValue(), selectedSlot());
+        }
+
+        private int selectedSlot() {
+            return slot.getSelectionModel().getSelectedIndex() + 1;
+        }
+
+        private void moveTo(int d, int s) {
+            day.getValueFactory().setValue(d);
+            slot.getSelectionModel().select(s - 1);
+            Classroom chosen = dataManager.getClassroomByID(room.getText());
+            if (chosen == null || advisor.getStatus(d, s, chosen) == MoveAdvisor.Status.BLOCKED) {
+                Classroom suggested = advisor.suggestRoom(d, s);
+                if (suggested != null)
+                    room.setText(suggested.getClassroomID());
+            }
+        }
+
+        private void describe(int d, int s) {
+            Classroom chosen = dataManager.getClassroomByID(room.getText());
+            List<String> reasons = advisor.explain(d, s, chosen);
+            status.setText("Day " + d + ", Slot " + s + (chosen != null ? ", Room " + chosen.getClassroomID() : "")
+                    + ": " + (reasons.isEmpty() ? "✅ no conflicts" : String.join("; ", reasons)));
+        }
+    }
+
     /**
      * Shows a dialog to manage students enrolled in a specific exam.
      * Allows adding students (not in course) and removing students (already
@@ -4015,6 +4935,7 @@ public class ExamSchedulerApp extends Application {
                     // Enroll student (memory only)
                     course.addStudent(student);
                     student.addCourse(course);
+                    pendingChanges.enrollmentChanged(course);
                     addedCount++;
                 }
             }
@@ -4070,6 +4991,7 @@ public class ExamSchedulerApp extends Application {
                 if (student.getCourses() != null) {
                     student.getCourses().removeIf(c -> c.getCourseCode().equals(course.getCourseCode()));
                 }
+                pendingChanges.enrollmentChanged(course);
                 removedCount++;
             }
 
@@ -4121,6 +5043,25 @@ public class ExamSchedulerApp extends Application {
         dialog.showAndWait();
     }
 
+    /**
+     * The exam of the current schedule to change in place of {@code exam}; if
+     * it was shared with a snapshot and got copied, the table rows follow.
+     */
+    private Exam editableExam(Exam exam) {
+        Schedule schedule = dataManager.getSchedule();
+        if (schedule == null)
+            return exam;
+        Exam editable = schedule.editable(exam);
+        if (editable != exam) {
+            liveValidation.replace(exam, editable);
+            for (ExamEntry entry : exams) {
+                if (entry.getExam() == exam)
+                    entry.setExam(editable);
+            }
+        }
+        return editable;
+    }
+
     private void deleteExam(ExamEntry e) {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Delete Exam");
@@ -4130,6 +5071,9 @@ public class ExamSchedulerApp extends Application {
             // Remove from DataModel (Logic)
             if (e.getExam() != null && dataManager.getSchedule() != null) {
                 dataManager.getSchedule().removeExam(e.getExam());
+                scheduleEdits++;
+                liveValidation.remove(e.getExam());
+                refreshValidationStatus();
             }
 
             // Remove from View
@@ -4267,7 +5211,7 @@ public class ExamSchedulerApp extends Application {
 
         if (file != null) {
             try (PrintWriter pw = new PrintWriter(file, "UTF-8")) {
-                pw.println("ExamID,Course,Day,Slot,Room,Students");
+                pw.println("ExamID,Course,Day,Slot,Room,Students,Pinned");
 
                 List<String> timeSlots = getTimeSlotsFromUI.get();
                 int count = 0;
@@ -4282,13 +5226,14 @@ public class ExamSchedulerApp extends Application {
                             timeSlot = "Slot " + exam.getTimeSlot().getSlotNumber();
                         }
 
-                        pw.printf("%s,%s,%d,%s,%s,%d%n",
+                        pw.printf("%s,%s,%d,%s,%s,%d,%b%n",
                                 "EX" + String.format("%03d", idCounter++),
                                 exam.getCourse().getCourseCode(),
                                 exam.getTimeSlot().getDay(),
                                 timeSlot,
                                 exam.getClassroom().getClassroomID(),
-                                exam.getStudentCount());
+                                exam.getStudentCount(),
+                                exam.isPinned());
                         count++;
                     }
                 }
@@ -4347,7 +5292,7 @@ public class ExamSchedulerApp extends Application {
 
                         String timeSlot = "";
                         try {
-                            timeSlot = timeSlots.get(exam.getTimeSlot().getSlotNumber() - 1);
+                            timeSlot = slotLabel(exam, timeSlots);
                         } catch (Exception e) {
                             timeSlot = "Slot " + exam.getTimeSlot().getSlotNumber();
                         }
@@ -4409,7 +5354,7 @@ public class ExamSchedulerApp extends Application {
 
                 File scheduleFile = new File(backupDir, "schedule.csv");
                 try (PrintWriter pw = new PrintWriter(scheduleFile, "UTF-8")) {
-                    pw.println("ExamID,Course,Day,Slot,Room,Students");
+                    pw.println("ExamID,Course,Day,Slot,Room,Students,Pinned");
                     List<String> timeSlots = getTimeSlotsFromUI.get();
 
                     for (Exam exam : dataManager.getSchedule().getExams()) {
@@ -4421,13 +5366,14 @@ public class ExamSchedulerApp extends Application {
                                 timeSlot = "Slot " + exam.getTimeSlot().getSlotNumber();
                             }
 
-                            pw.printf("%s,%s,%d,%s,%s,%d%n",
+                            pw.printf("%s,%s,%d,%s,%s,%d,%b%n",
                                     "EX" + String.format("%03d", idCounter++),
                                     exam.getCourse().getCourseCode(),
                                     exam.getTimeSlot().getDay(),
                                     timeSlot,
                                     exam.getClassroom().getClassroomID(),
-                                    exam.getStudentCount());
+                                    exam.getStudentCount(),
+                                    exam.isPinned());
                         }
                     }
                     savedFiles++;
@@ -4735,7 +5681,7 @@ public class ExamSchedulerApp extends Application {
                         LocalDate examDate = startDate.plusDays(exam.getTimeSlot().getDay() - 1);
                         String timeSlot = "";
                         try {
-                            timeSlot = timeSlots.get(exam.getTimeSlot().getSlotNumber() - 1);
+                            timeSlot = slotLabel(exam, timeSlots);
                         } catch (Exception e) {
                             timeSlot = "Slot " + exam.getTimeSlot().getSlotNumber();
                         }
@@ -4791,7 +5737,7 @@ public class ExamSchedulerApp extends Application {
                         LocalDate examDate = startDate.plusDays(exam.getTimeSlot().getDay() - 1);
                         String timeSlot = "";
                         try {
-                            timeSlot = timeSlots.get(exam.getTimeSlot().getSlotNumber() - 1);
+                            timeSlot = slotLabel(exam, timeSlots);
                         } catch (Exception e) {
                             timeSlot = "09:00-11:00";
                         }
@@ -4902,7 +5848,7 @@ public class ExamSchedulerApp extends Application {
                                     LocalDate examDate = startDate.plusDays(exam.getTimeSlot().getDay() - 1);
                                     String timeSlot = "";
                                     try {
-                                        timeSlot = timeSlots.get(exam.getTimeSlot().getSlotNumber() - 1);
+                                        timeSlot = slotLabel(exam, timeSlots);
                                     } catch (Exception e) {
                                         timeSlot = "Slot " + exam.getTimeSlot().getSlotNumber();
                                     }
@@ -4962,7 +5908,7 @@ public class ExamSchedulerApp extends Application {
                             LocalDate examDate = startDate.plusDays(exam.getTimeSlot().getDay() - 1);
                             String timeSlot = "";
                             try {
-                                timeSlot = timeSlots.get(exam.getTimeSlot().getSlotNumber() - 1);
+                                timeSlot = slotLabel(exam, timeSlots);
                             } catch (Exception e) {
                                 timeSlot = "Slot " + exam.getTimeSlot().getSlotNumber();
                             }
@@ -5112,7 +6058,7 @@ public class ExamSchedulerApp extends Application {
                     LocalDate examDate = startDate.plusDays(exam.getTimeSlot().getDay() - 1);
                     String timeSlot = "";
                     try {
-                        timeSlot = timeSlots.get(exam.getTimeSlot().getSlotNumber() - 1);
+                        timeSlot = slotLabel(exam, timeSlots);
                     } catch (Exception e) {
                         timeSlot = "Slot " + exam.getTimeSlot().getSlotNumber();
                     }
@@ -5270,6 +6216,9 @@ public class ExamSchedulerApp extends Application {
         Label subtitle = new Label("Select validation checks to perform:");
         subtitle.setStyle("-fx-font-size: 14px; -fx-text-fill: #666;");
 
+        Label liveCounts = new Label("Current standard checks: " + liveValidation.getSummary());
+        liveCounts.setStyle("-fx-font-size: 13px; -fx-font-weight: bold;");
+
         CheckBox checkStudentConflicts = new CheckBox("Student Conflicts (Same time slot)");
         checkStudentConflicts.setSelected(true);
         checkStudentConflicts.setStyle("-fx-font-size: 13px;");
@@ -5278,6 +6227,11 @@ public class ExamSchedulerApp extends Application {
         checkConsecutive.setSelected(true);
         checkConsecutive.setStyle("-fx-font-size: 13px;");
 
+        CheckBox checkDailyLimit = new CheckBox("Daily Exam Limit (max " + SchedulingEngine.MAX_EXAMS_PER_DAY
+                + " per day)");
+        checkDailyLimit.setSelected(true);
+        checkDailyLimit.setStyle("-fx-font-size: 13px;");
+
         CheckBox checkRoomConflicts = new CheckBox("Room Double-booking");
         checkRoomConflicts.setSelected(true);
         checkRoomConflicts.setStyle("-fx-font-size: 13px;");
@@ -5313,7 +6267,8 @@ public class ExamSchedulerApp extends Application {
         warningLabel.setStyle("-fx-font-weight: bold; -fx-text-fill: #F57C00;");
         warningChecks.getChildren().addAll(
                 warningLabel,
-                checkConsecutive);
+                checkConsecutive,
+                checkDailyLimit);
 
         VBox analysisChecks = new VBox(5);
         Label analysisLabel = new Label("Analysis & Statistics:");
@@ -5340,6 +6295,7 @@ public class ExamSchedulerApp extends Application {
             ValidationOptions options = new ValidationOptions(
                     checkStudentConflicts.isSelected(),
                     checkConsecutive.isSelected(),
+                    checkDailyLimit.isSelected(),
                     checkRoomConflicts.isSelected(),
                     checkCapacity.isSelected(),
                     checkStudentLoad.isSelected(),
@@ -5350,7 +6306,7 @@ public class ExamSchedulerApp extends Application {
 
         quickValidateBtn.setOnAction(e -> {
             validationDialog.close();
-            ValidationOptions options = new ValidationOptions(true, false, true, true, false, false, false);
+            ValidationOptions options = new ValidationOptions(true, false, false, true, true, false, false, false);
             performValidation(options);
         });
 
@@ -5373,6 +6329,7 @@ public class ExamSchedulerApp extends Application {
         layout.getChildren().addAll(
                 title,
                 subtitle,
+                liveCounts,
                 new Separator(),
                 criticalChecks,
                 new Separator(),
@@ -5391,85 +6348,62 @@ public class ExamSchedulerApp extends Application {
     private static class ValidationOptions {
         boolean checkStudentConflicts;
         boolean checkConsecutive;
+        boolean checkDailyLimit;
         boolean checkRoomConflicts;
         boolean checkCapacity;
         boolean checkStudentLoad;
         boolean checkRoomUtilization;
         boolean checkTimeDistribution;
 
-        ValidationOptions(boolean studentConflicts, boolean consecutive, boolean roomConflicts,
+        ValidationOptions(boolean studentConflicts, boolean consecutive, boolean dailyLimit, boolean roomConflicts,
                 boolean capacity, boolean studentLoad,
                 boolean roomUtilization, boolean timeDistribution) {
             this.checkStudentConflicts = studentConflicts;
             this.checkConsecutive = consecutive;
+            this.checkDailyLimit = dailyLimit;
             this.checkRoomConflicts = roomConflicts;
             this.checkCapacity = capacity;
             this.checkStudentLoad = studentLoad;
             this.checkRoomUtilization = roomUtilization;
             this.checkTimeDistribution = timeDistribution;
         }
+
+        /** Every check and analysis, as in the conflict report. */
+        static ValidationOptions all() {
+            return new ValidationOptions(true, true, true, true, true, true, true, true);
+        }
     }
 
     private void performValidation(ValidationOptions options) {
         messages.add("🔎 Starting comprehensive validation...");
 
-        ValidationResult result = new ValidationResult();
-        List<Exam> placedExams = dataManager.getSchedule().getExams().stream()
-                .filter(Exam::isScheduled)
-                .collect(Collectors.toList());
-
-        if (placedExams.isEmpty()) {
+        if (dataManager.getSchedule().getScheduledExams().isEmpty()) {
             showWarning("No Exams", "No exams have been placed in the schedule.");
             return;
         }
 
-        Map<Student, Set<TimeSlot>> studentScheduledSlots = new HashMap<>();
-        Map<TimeSlot, Set<String>> roomOccupancy = new HashMap<>();
-        for (Exam exam : placedExams) {
-            TimeSlot currentSlot = exam.getTimeSlot();
-            String roomID = exam.getClassroom().getClassroomID();
-            String courseCode = exam.getCourse().getCourseCode();
-            List<Student> students = exam.getEnrolledStudents();
-
-            if (options.checkRoomConflicts) {
-                if (roomOccupancy.getOrDefault(currentSlot, new HashSet<>()).contains(roomID)) {
-                    result.addCritical("Room Double-booking: " + courseCode + " conflicts with another exam at Day " +
-                            currentSlot.getDay() + ", Slot " + currentSlot.getSlotNumber() + " in Room " + roomID);
-                }
-                roomOccupancy.computeIfAbsent(currentSlot, k -> new HashSet<>()).add(roomID);
-            }
-
-            if (options.checkCapacity) {
-                int enrolled = exam.getStudentCount();
-                int capacity = exam.getClassroom().getCapacity();
-                if (enrolled > capacity) {
-                    result.addCritical("Capacity Violation: " + courseCode + " has " + enrolled +
-                            " students but room " + roomID + " capacity is only " + capacity);
-                }
-            }
-
-            for (Student student : students) {
-                Set<TimeSlot> busySlots = studentScheduledSlots.computeIfAbsent(student, k -> new HashSet<>());
-
-                if (options.checkStudentConflicts && busySlots.contains(currentSlot)) {
-                    result.addCritical("Student Conflict: " + student.getStudentID() +
-                            " has multiple exams at Day " + currentSlot.getDay() + ", Slot "
-                            + currentSlot.getSlotNumber() +
-                            " (includes " + courseCode + ")");
-                }
-
-                if (options.checkConsecutive && currentSlot.getSlotNumber() > 1) {
-                    TimeSlot previousSlot = new TimeSlot(currentSlot.getDay(), currentSlot.getSlotNumber() - 1);
-                    if (busySlots.contains(previousSlot)) {
-                        result.addWarning("Consecutive Exam: " + student.getStudentID() +
-                                " has " + courseCode + " immediately after another exam on Day "
-                                + currentSlot.getDay());
-                    }
-                }
+        showValidationResults(runValidation(options), options);
+    }
 
-                busySlots.add(currentSlot);
-            }
-        }
+    /**
+     * One {@link ScheduleValidator} pass for the selected checks; the
+     * selected analyses are formatted from the statistics of the same pass.
+     * Shared by the validation dialog and the conflict report.
+     */
+    private ValidationResult runValidation(ValidationOptions options) {
+        ValidationResult result = new ValidationResult();
+        List<Constraint> rules = new ArrayList<>();
+        if (options.checkStudentConflicts)
+            rules.add(Constraints.NO_OVERLAP);
+        if (options.checkConsecutive)
+            rules.add(Constraints.NO_BACK_TO_BACK);
+        if (options.checkDailyLimit)
+            rules.add(Constraints.maxExamsPerDay(SchedulingEngine.MAX_EXAMS_PER_DAY));
+        ScheduleValidator validator = new ScheduleValidator(rules);
+        validator.setCheckRoomConflicts(options.checkRoomConflicts);
+        validator.setCheckCapacity(options.checkCapacity);
+        ValidationReport report = validator.validate(dataManager.getSchedule());
+        result.report = report;
 
         if (!unplacedCourses.isEmpty()) {
             for (String course : unplacedCourses) {
@@ -5478,21 +6412,24 @@ public class ExamSchedulerApp extends Application {
         }
 
         if (options.checkStudentLoad) {
-            analyzeStudentLoad(result, studentScheduledSlots);
+            analyzeStudentLoad(result, report);
         }
 
         if (options.checkRoomUtilization) {
-            analyzeRoomUtilization(result, placedExams);
+            analyzeRoomUtilization(result, report);
         }
 
         if (options.checkTimeDistribution) {
-            analyzeTimeDistribution(result, placedExams);
+            analyzeTimeDistribution(result, report);
         }
-
-        showValidationResults(result, options);
+        messages.add("🔎 Checked " + dataManager.getSchedule().getScheduledExams().size() + " exams in "
+                + report.getElapsedMillis() + " ms");
+        return result;
     }
 
     private static class ValidationResult {
+        // Findings of the validator stay compact records; these lists hold the ones found here
+        ValidationReport report = new ValidationReport();
         List<String> critical = new ArrayList<>();
         List<String> warnings = new ArrayList<>();
         List<String> info = new ArrayList<>();
@@ -5515,78 +6452,142 @@ public class ExamSchedulerApp extends Application {
         }
 
         int getCriticalCount() {
-            return critical.size();
+            return critical.size() + report.getCriticalCount();
         }
 
         int getWarningCount() {
-            return warnings.size();
+            return warnings.size() + report.getWarningCount();
+        }
+
+        /** Every finding as a table row, errors first; nothing is formatted yet. */
+        List<FindingRow> getFindings() {
+            List<FindingRow> rows = new ArrayList<>(getCriticalCount() + getWarningCount());
+            critical.forEach(msg -> rows.add(new FindingRow(true, msg)));
+            for (Violation violation : report.getViolations()) {
+                if (violation.isCritical())
+                    rows.add(new FindingRow(report, violation));
+            }
+            warnings.forEach(msg -> rows.add(new FindingRow(false, msg)));
+            for (Violation violation : report.getViolations()) {
+                if (!violation.isCritical())
+                    rows.add(new FindingRow(report, violation));
+            }
+            return rows;
         }
 
     }
 
-    private void analyzeStudentLoad(ValidationResult result, Map<Student, Set<TimeSlot>> studentScheduledSlots) {
-        result.addAnalysis("--- STUDENT LOAD ANALYSIS ---");
+    /** One row of the findings table: a validator record or a message found here. */
+    private static class FindingRow {
+        private final boolean critical;
+        private final ValidationReport report;
+        private final Violation violation;
+        private final String message;
+
+        FindingRow(ValidationReport report, Violation violation) {
+            this.critical = violation.isCritical();
+            this.report = report;
+            this.violation = violation;
+            this.message = null;
+        }
+
+        FindingRow(boolean critical, String message) {
+            this.critical = critical;
+            this.report = null;
+            this.violation = null;
+            this.message = message;
+        }
+
+        boolean isCritical() {
+            return critical;
+        }
+
+        String getSeverity() {
+            return critical ? "❌ Error" : "⚠️ Warning";
+        }
+
+        String getType() {
+            if (violation != null)
+                return report.typeOf(violation);
+            int colon = message.indexOf(':');
+            return colon > 0 ? message.substring(0, colon) : "Other";
+        }
+
+        String getStudent() {
+            Student student = violation != null ? report.getStudent(violation.getStudent()) : null;
+            return student != null ? student.getStudentID() : "";
+        }
+
+        String getCourses() {
+            if (violation == null)
+                return "";
+            Exam exam = report.getExam(violation.getExam());
+            Exam other = report.getExam(violation.getOtherExam());
+            if (exam == null)
+                return "";
+            return exam.getCourse().getCourseCode() + (other != null ? ", " + other.getCourse().getCourseCode() : "");
+        }
 
-        Map<Integer, Integer> loadDistribution = new HashMap<>();
-        int maxLoad = 0;
-        int minLoad = Integer.MAX_VALUE;
-        int totalExams = 0;
+        String getWhen() {
+            if (violation == null)
+                return "";
+            TimeSlot timeSlot = report.timeSlotOf(violation);
+            return violation.getKind() == Violation.Kind.DAILY_LIMIT ? "Day " + timeSlot.getDay()
+                    : timeSlot.toDisplayString();
+        }
 
-        for (Map.Entry<Student, Set<TimeSlot>> entry : studentScheduledSlots.entrySet()) {
-            int examCount = entry.getValue().size();
-            loadDistribution.merge(examCount, 1, Integer::sum);
-            maxLoad = Math.max(maxLoad, examCount);
-            minLoad = Math.min(minLoad, examCount);
-            totalExams += examCount;
+        String getText() {
+            return violation != null ? report.format(violation) : message;
         }
 
-        int studentCount = studentScheduledSlots.size();
-        double avgLoad = studentCount > 0 ? (double) totalExams / studentCount : 0;
+        boolean matches(String query) {
+            if (query.isEmpty())
+                return true;
+            if (violation != null)
+                return report.involves(violation, query);
+            return message.toLowerCase(Locale.ROOT).contains(query.toLowerCase(Locale.ROOT));
+        }
+    }
 
-        result.addAnalysis("Total Students: " + studentCount);
-        result.addAnalysis("Average Exams per Student: " + String.format("%.2f", avgLoad));
-        result.addAnalysis("Min Exams: " + minLoad + " | Max Exams: " + maxLoad);
+    private void analyzeStudentLoad(ValidationResult result, ValidationReport report) {
+        result.addAnalysis("--- STUDENT LOAD ANALYSIS ---");
+
+        result.addAnalysis("Total Students: " + report.getStudentCount());
+        result.addAnalysis("Average Exams per Student: " + String.format("%.2f", report.getAverageLoad()));
+        result.addAnalysis("Min Exams: " + report.getMinLoad() + " | Max Exams: " + report.getMaxLoad());
         result.addAnalysis("\nLoad Distribution:");
 
-        loadDistribution.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(e -> {
-                    String bar = "█".repeat(Math.min(e.getValue() / 5, 20));
-                    result.addAnalysis(String.format("  %2d exams: %3d students %s",
-                            e.getKey(), e.getValue(), bar));
-                });
+        int[] histogram = report.getLoadHistogram();
+        for (int load = 0; load < histogram.length; load++) {
+            if (histogram[load] == 0)
+                continue;
+            String bar = "█".repeat(Math.min(histogram[load] / 5, 20));
+            result.addAnalysis(String.format("  %2d exams: %3d students %s", load, histogram[load], bar));
+        }
 
-        if (maxLoad > 8) {
-            result.addWarning("High Student Load: Some students have " + maxLoad + " exams (consider spreading)");
+        if (report.getMaxLoad() > 8) {
+            result.addWarning("High Student Load: Some students have " + report.getMaxLoad()
+                    + " exams (consider spreading)");
         }
     }
 
-    private void analyzeRoomUtilization(ValidationResult result, List<Exam> placedExams) {
+    private void analyzeRoomUtilization(ValidationResult result, ValidationReport report) {
         result.addAnalysis("\n--- ROOM UTILIZATION ANALYSIS ---");
 
-        Map<String, List<Exam>> roomExams = placedExams.stream()
-                .collect(Collectors.groupingBy(e -> e.getClassroom().getClassroomID()));
-
         double totalUtilization = 0;
         int roomCount = 0;
 
-        for (Map.Entry<String, List<Exam>> entry : roomExams.entrySet()) {
-            String roomId = entry.getKey();
-            List<Exam> exams = entry.getValue();
-
-            double avgUtil = exams.stream()
-                    .mapToDouble(e -> (e.getStudentCount() * 100.0) / e.getClassroom().getCapacity())
-                    .average().orElse(0);
-
+        for (ValidationReport.RoomUsage usage : report.getRoomUsage()) {
+            double avgUtil = usage.getAverageUtilization();
             totalUtilization += avgUtil;
             roomCount++;
 
             String status = avgUtil > 90 ? "🔴 HIGH" : (avgUtil > 70 ? "🟡 GOOD" : "🟢 LOW");
             result.addAnalysis(String.format("  Room %s: %d exams, Avg: %.1f%% %s",
-                    roomId, exams.size(), avgUtil, status));
+                    usage.getRoomId(), usage.getExamCount(), avgUtil, status));
 
             if (avgUtil < 50) {
-                result.addInfo("Underutilized: Room " + roomId + " average utilization is only " +
+                result.addInfo("Underutilized: Room " + usage.getRoomId() + " average utilization is only " +
                         String.format("%.1f%%", avgUtil));
             }
         }
@@ -5599,37 +6600,35 @@ public class ExamSchedulerApp extends Application {
         }
     }
 
-    private void analyzeTimeDistribution(ValidationResult result, List<Exam> placedExams) {
+    private void analyzeTimeDistribution(ValidationResult result, ValidationReport report) {
         result.addAnalysis("\n--- TIME DISTRIBUTION ANALYSIS ---");
 
-        Map<Integer, Long> dayDistribution = placedExams.stream()
-                .collect(Collectors.groupingBy(e -> e.getTimeSlot().getDay(), Collectors.counting()));
-
-        Map<Integer, Long> slotDistribution = placedExams.stream()
-                .collect(Collectors.groupingBy(e -> e.getTimeSlot().getSlotNumber(), Collectors.counting()));
+        int[] perDay = report.getExamsPerDay();
+        int[] perSlot = report.getExamsPerSlot();
+        List<String> slots = getTimeSlotsFromUI.get();
 
         result.addAnalysis("Exams per Day:");
-        dayDistribution.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(e -> {
-                    String bar = "█".repeat(Math.min(e.getValue().intValue(), 30));
-                    result.addAnalysis(String.format("  Day %d: %2d exams %s", e.getKey(), e.getValue(), bar));
-                });
+        int maxDay = 0;
+        int minDay = Integer.MAX_VALUE;
+        for (int d = 0; d < perDay.length; d++) {
+            if (perDay[d] == 0)
+                continue;
+            maxDay = Math.max(maxDay, perDay[d]);
+            minDay = Math.min(minDay, perDay[d]);
+            String bar = "█".repeat(Math.min(perDay[d], 30));
+            result.addAnalysis(String.format("  Day %d: %2d exams %s", d + 1, perDay[d], bar));
+        }
 
         result.addAnalysis("\nExams per Time Slot:");
-        slotDistribution.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(e -> {
-                    String bar = "█".repeat(Math.min(e.getValue().intValue(), 30));
-                    List<String> slots = getTimeSlotsFromUI.get();
-                    String slotLabel = e.getKey() <= slots.size() ? slots.get(e.getKey() - 1) : "Slot " + e.getKey();
-                    result.addAnalysis(String.format("  %s: %2d exams %s", slotLabel, e.getValue(), bar));
-                });
-
-        long maxDay = dayDistribution.values().stream().max(Long::compare).orElse(0L);
-        long minDay = dayDistribution.values().stream().min(Long::compare).orElse(0L);
+        for (int t = 0; t < perSlot.length; t++) {
+            if (perSlot[t] == 0)
+                continue;
+            String bar = "█".repeat(Math.min(perSlot[t], 30));
+            String slotLabel = t < slots.size() ? slots.get(t) : "Slot " + (t + 1);
+            result.addAnalysis(String.format("  %s: %2d exams %s", slotLabel, perSlot[t], bar));
+        }
 
-        if (maxDay > minDay * 2) {
+        if (maxDay > 0 && maxDay > minDay * 2) {
             result.addWarning("Unbalanced Schedule: Some days have significantly more exams than others");
         }
     }
@@ -5670,25 +6669,6 @@ public class ExamSchedulerApp extends Application {
             messages.add("❌ Validation FAILED: " + result.getCriticalCount() + " critical issues");
         }
 
-        if (!result.critical.isEmpty()) {
-            sb.append("═══ CRITICAL ISSUES (MUST FIX) ════════════════════════════════════\n");
-            for (int i = 0; i < result.critical.size(); i++) {
-                sb.append(String.format("%3d. ❌ %s\n", i + 1, result.critical.get(i)));
-            }
-            sb.append("\n");
-        }
-
-        if (!result.warnings.isEmpty()) {
-            sb.append("═══ WARNINGS (SHOULD FIX) ═════════════════════════════════════════\n");
-            for (int i = 0; i < Math.min(result.warnings.size(), 50); i++) {
-                sb.append(String.format("%3d. ⚠️  %s\n", i + 1, result.warnings.get(i)));
-            }
-            if (result.warnings.size() > 50) {
-                sb.append(String.format("     ... and %d more warnings\n", result.warnings.size() - 50));
-            }
-            sb.append("\n");
-        }
-
         if (!result.info.isEmpty()) {
             sb.append("═══ INFORMATION ═══════════════════════════════════════════════════\n");
             result.info.forEach(info -> sb.append("ℹ️  ").append(info).append("\n"));
@@ -5715,7 +6695,7 @@ public class ExamSchedulerApp extends Application {
         Button exportBtn = new Button("📄 Export Report");
         exportBtn.setStyle(
                 "-fx-background-color: #2196F3; -fx-text-fill: white; -fx-padding: 8px 16px; -fx-cursor: hand;");
-        exportBtn.setOnAction(e -> exportValidationReport(resultStage, sb.toString()));
+        exportBtn.setOnAction(e -> exportValidationReport(resultStage, sb.toString(), result));
 
         Button closeBtn = new Button("Close");
         closeBtn.setStyle("-fx-padding: 8px 16px; -fx-cursor: hand;");
@@ -5731,11 +6711,16 @@ public class ExamSchedulerApp extends Application {
         Label headerLabel = new Label("Validation & Analysis Report");
         headerLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-padding: 0 0 10 0;");
 
+        resultArea.setPrefRowCount(12);
+        VBox findingsPane = createFindingsPane(result);
+        VBox.setVgrow(findingsPane, Priority.ALWAYS);
+        VBox content = new VBox(10, resultArea, findingsPane);
+
         root.setTop(headerLabel);
-        root.setCenter(resultArea);
+        root.setCenter(content);
         root.setBottom(buttonBox);
 
-        Scene scene = new Scene(root, 900, 600);
+        Scene scene = new Scene(root, 1000, 750);
         ThemeManager.getInstance().registerScene(scene);
         resultStage.setScene(scene);
 
@@ -5753,15 +6738,115 @@ public class ExamSchedulerApp extends Application {
         }
     }
 
-    private void exportValidationReport(Stage owner, String reportText) {
+    private static final int FINDINGS_PAGE_SIZE = 500;
+
+    /**
+     * Findings as a paged, filterable table. A cell formats its finding only
+     * when it is shown, so reports with many thousands of findings open at once.
+     */
+    private VBox createFindingsPane(ValidationResult result) {
+        List<FindingRow> all = result.getFindings();
+        List<FindingRow> shown = new ArrayList<>();
+
+        TableView<FindingRow> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.setPlaceholder(new Label("No findings"));
+        table.getColumns().add(findingColumn("Severity", 90, FindingRow::getSeverity));
+        table.getColumns().add(findingColumn("Type", 150, FindingRow::getType));
+        table.getColumns().add(findingColumn("Student", 90, FindingRow::getStudent));
+        table.getColumns().add(findingColumn("Courses", 130, FindingRow::getCourses));
+        table.getColumns().add(findingColumn("When", 120, FindingRow::getWhen));
+        table.getColumns().add(findingColumn("Details", 420, FindingRow::getText));
+
+        ComboBox<String> severityFilter = new ComboBox<>(
+                FXCollections.observableArrayList("All", "Errors", "Warnings"));
+        severityFilter.setValue("All");
+
+        List<String> types = all.stream().map(FindingRow::getType).distinct().sorted().collect(Collectors.toList());
+        types.add(0, "All types");
+        ComboBox<String> typeFilter = new ComboBox<>(FXCollections.observableArrayList(types));
+        typeFilter.setValue("All types");
+
+        TextField searchField = new TextField();
+        searchField.setPromptText("Student, course or room");
+        HBox.setHgrow(searchField, Priority.ALWAYS);
+
+        Label countLabel = new Label();
+        Pagination pagination = new Pagination(1, 0);
+
+        IntConsumer showPage = page -> {
+            int from = Math.min(shown.size(), page * FINDINGS_PAGE_SIZE);
+            int to = Math.min(shown.size(), from + FINDINGS_PAGE_SIZE);
+            table.setItems(FXCollections.observableArrayList(shown.subList(from, to)));
+        };
+        pagination.setPageFactory(page -> {
+            showPage.accept(page);
+            return table;
+        });
+
+        Runnable applyFilter = () -> {
+            String severity = severityFilter.getValue();
+            String type = typeFilter.getValue();
+            String query = searchField.getText().trim();
+            shown.clear();
+            for (FindingRow row : all) {
+                if ("Errors".equals(severity) && !row.isCritical() || "Warnings".equals(severity) && row.isCritical())
+                    continue;
+                if (!"All types".equals(type) && !row.getType().equals(type))
+                    continue;
+                if (row.matches(query))
+                    shown.add(row);
+            }
+            countLabel.setText(String.format("%,d of %,d findings", shown.size(), all.size()));
+            pagination.setPageCount(Math.max(1, (shown.size() + FINDINGS_PAGE_SIZE - 1) / FINDINGS_PAGE_SIZE));
+            pagination.setCurrentPageIndex(0);
+            showPage.accept(0);
+        };
+        severityFilter.setOnAction(e -> applyFilter.run());
+        typeFilter.setOnAction(e -> applyFilter.run());
+        searchField.textProperty().addListener((obs, oldText, newText) -> applyFilter.run());
+        applyFilter.run();
+
+        HBox filterBar = new HBox(10, new Label("Show:"), severityFilter, typeFilter, searchField, countLabel);
+        filterBar.setAlignment(Pos.CENTER_LEFT);
+
+        Label title = new Label("Findings");
+        title.setStyle("-fx-font-weight: bold;");
+        VBox.setVgrow(pagination, Priority.ALWAYS);
+        return new VBox(8, title, filterBar, pagination);
+    }
+
+    private static TableColumn<FindingRow, String> findingColumn(String title, double width,
+            Function<FindingRow, String> value) {
+        TableColumn<FindingRow, String> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        column.setCellValueFactory(data -> new SimpleStringProperty(value.apply(data.getValue())));
+        return column;
+    }
+
+    private void exportValidationReport(Stage owner, String reportText, ValidationResult result) {
         FileChooser chooser = new FileChooser();
         chooser.setTitle("Export Validation Report");
         chooser.setInitialFileName("validation_report_" + LocalDate.now() + ".txt");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Text Files", "*.txt"),
+                new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
         File file = chooser.showSaveDialog(owner);
 
         if (file != null) {
-            try (PrintWriter pw = new PrintWriter(file)) {
-                pw.println(reportText);
+            // Findings are formatted one line at a time as they are written
+            try (PrintWriter pw = new PrintWriter(file, "UTF-8")) {
+                if (file.getName().toLowerCase(Locale.ROOT).endsWith(".csv")) {
+                    pw.write('\ufeff'); // BOM for Excel
+                    writeFindingsCsv(pw, result);
+                } else {
+                    pw.println(reportText);
+                    pw.println("═══ FINDINGS ══════════════════════════════════════════════════════");
+                    int number = 1;
+                    for (FindingRow row : result.getFindings()) {
+                        pw.printf("%5d. %s %s%n", number++, row.isCritical() ? "❌" : "⚠️ ", row.getText());
+                    }
+                }
                 showInfo("Export Success", "Validation report exported to:\n" + file.getAbsolutePath());
                 messages.add("✓ Validation report exported: " + file.getName());
             } catch (Exception e) {
@@ -5770,6 +6855,19 @@ public class ExamSchedulerApp extends Application {
         }
     }
 
+    private void writeFindingsCsv(Writer out, ValidationResult result) throws IOException {
+        result.report.writeCsv(out);
+        for (FindingRow row : result.getFindings()) {
+            if (row.violation == null)
+                out.write((row.isCritical() ? "Error" : "Warning") + "," + quoteCsv(row.getType()) + ",,,,,,"
+                        + quoteCsv(row.getText()) + "\n");
+        }
+    }
+
+    private static String quoteCsv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
     private void showConflictReport() {
         if (dataManager.getSchedule() == null || dataManager.getSchedule().getExams().isEmpty()) {
             showWarning("No Schedule", "Please generate a schedule first.");
@@ -5778,63 +6876,8 @@ public class ExamSchedulerApp extends Application {
 
         messages.add("📄 Generating comprehensive conflict report...");
 
-        ValidationResult result = new ValidationResult();
-        List<Exam> placedExams = dataManager.getSchedule().getExams().stream()
-                .filter(Exam::isScheduled)
-                .collect(Collectors.toList());
-
-        Map<Student, Set<TimeSlot>> studentScheduledSlots = new HashMap<>();
-        Map<TimeSlot, Set<String>> roomOccupancy = new HashMap<>();
-
-        for (Exam exam : placedExams) {
-            TimeSlot currentSlot = exam.getTimeSlot();
-            String roomID = exam.getClassroom().getClassroomID();
-            String courseCode = exam.getCourse().getCourseCode();
-            List<Student> students = exam.getEnrolledStudents();
-
-            if (roomOccupancy.getOrDefault(currentSlot, new HashSet<>()).contains(roomID)) {
-                result.addCritical("Room Double-booking: " + courseCode + " conflicts at Day " +
-                        currentSlot.getDay() + ", Slot " + currentSlot.getSlotNumber() + " in Room " + roomID);
-            }
-            roomOccupancy.computeIfAbsent(currentSlot, k -> new HashSet<>()).add(roomID);
-
-            int enrolled = exam.getStudentCount();
-            int capacity = exam.getClassroom().getCapacity();
-            if (enrolled > capacity) {
-                result.addCritical("Capacity Violation: " + courseCode + " has " + enrolled +
-                        " students but room " + roomID + " capacity is " + capacity);
-            }
-
-            for (Student student : students) {
-                Set<TimeSlot> busySlots = studentScheduledSlots.computeIfAbsent(student, k -> new HashSet<>());
-
-                if (busySlots.contains(currentSlot)) {
-                    result.addCritical("Student Conflict: " + student.getStudentID() +
-                            " has multiple exams at Day " + currentSlot.getDay() + ", Slot "
-                            + currentSlot.getSlotNumber());
-                }
-
-                if (currentSlot.getSlotNumber() > 1) {
-                    TimeSlot previousSlot = new TimeSlot(currentSlot.getDay(), currentSlot.getSlotNumber() - 1);
-                    if (busySlots.contains(previousSlot)) {
-                        result.addWarning("Consecutive Exam: " + student.getStudentID() +
-                                " has " + courseCode + " after another exam on Day " + currentSlot.getDay());
-                    }
-                }
-
-                busySlots.add(currentSlot);
-            }
-        }
-
-        if (!unplacedCourses.isEmpty()) {
-            for (String course : unplacedCourses) {
-                result.addCritical("Unplaced Course: " + course + " could not be scheduled");
-            }
-        }
-
-        analyzeStudentLoad(result, studentScheduledSlots);
-        analyzeRoomUtilization(result, placedExams);
-        analyzeTimeDistribution(result, placedExams);
+        ValidationResult result = runValidation(ValidationOptions.all());
+        int placedCount = dataManager.getSchedule().getScheduledExams().size();
 
         Stage dialogStage = new Stage();
         dialogStage.initModality(Modality.APPLICATION_MODAL);
@@ -5855,7 +6898,7 @@ public class ExamSchedulerApp extends Application {
 
         sb.append("═══ SUMMARY ═══════════════════════════════════════════════════════\n");
         sb.append(String.format("Total Courses: %d\n", dataManager.getCourses().size()));
-        sb.append(String.format("Placed Exams: %d\n", placedExams.size()));
+        sb.append(String.format("Placed Exams: %d\n", placedCount));
         sb.append(String.format("Unplaced Courses: %d\n", unplacedCourses.size()));
         sb.append(String.format("\nCritical Conflicts: %d\n", result.getCriticalCount()));
         sb.append(String.format("Warnings: %d\n\n", result.getWarningCount()));
@@ -5880,26 +6923,28 @@ public class ExamSchedulerApp extends Application {
             sb.append("• Review student enrollments\n\n");
         }
 
-        List<String> criticalConflicts = result.critical.stream()
-                .filter(s -> !s.contains("Unplaced"))
+        List<FindingRow> findings = result.getFindings();
+        List<FindingRow> criticalConflicts = findings.stream()
+                .filter(row -> row.isCritical() && !row.getText().contains("Unplaced"))
                 .collect(Collectors.toList());
 
         if (!criticalConflicts.isEmpty()) {
             sb.append("═══ CRITICAL CONFLICTS ════════════════════════════════════════════\n");
             for (int i = 0; i < criticalConflicts.size(); i++) {
-                sb.append(String.format("%3d. %s\n", i + 1, criticalConflicts.get(i)));
+                sb.append(String.format("%3d. %s\n", i + 1, criticalConflicts.get(i).getText()));
             }
             sb.append("\n");
         }
 
-        if (!result.warnings.isEmpty()) {
+        if (result.getWarningCount() > 0) {
             sb.append("═══ WARNINGS ══════════════════════════════════════════════════════\n");
-            int displayCount = Math.min(result.warnings.size(), 30);
+            List<FindingRow> warningRows = findings.subList(result.getCriticalCount(), findings.size());
+            int displayCount = Math.min(warningRows.size(), 30);
             for (int i = 0; i < displayCount; i++) {
-                sb.append(String.format("%3d. %s\n", i + 1, result.warnings.get(i)));
+                sb.append(String.format("%3d. %s\n", i + 1, warningRows.get(i).getText()));
             }
-            if (result.warnings.size() > 30) {
-                sb.append(String.format("     ... and %d more warnings\n", result.warnings.size() - 30));
+            if (warningRows.size() > 30) {
+                sb.append(String.format("     ... and %d more warnings\n", warningRows.size() - 30));
             }
             sb.append("\n");
         }
@@ -5918,19 +6963,19 @@ public class ExamSchedulerApp extends Application {
             sb.append("   → Or add more time slots per day\n\n");
         }
 
-        if (result.critical.stream().anyMatch(s -> s.contains("Student Conflict"))) {
+        if (result.report.getCount(Constraints.NO_OVERLAP) > 0) {
             sb.append("2. Fix student conflicts\n");
             sb.append("   → Re-generate schedule with different random seed\n");
             sb.append("   → Increase exam period length\n\n");
         }
 
-        if (result.critical.stream().anyMatch(s -> s.contains("Capacity"))) {
+        if (result.report.getCount(Violation.Kind.CAPACITY) > 0) {
             sb.append("3. Fix capacity violations\n");
             sb.append("   → Assign larger classrooms\n");
             sb.append("   → Split large courses if possible\n\n");
         }
 
-        if (result.warnings.size() > 20) {
+        if (result.getWarningCount() > 20) {
             sb.append("4. Address consecutive exam warnings\n");
             sb.append("   → Consider student fatigue\n");
             sb.append("   → Add breaks between exams if possible\n\n");
@@ -6176,7 +7221,7 @@ public class ExamSchedulerApp extends Application {
                 "CHECKED CONSTRAINTS:\n" +
                 "1. Student Conflicts (Critical)\n" +
                 "2. Room Double-booking (Critical)\n" +
-
+                "3. Daily Exam Limit (Warning)\n" +
                 "4. Consecutive Exams (Warning)\n" +
                 "5. Unplaced Courses (Critical)\n\n" +
                 "CONFLICT REPORT CONTENTS:\n" +
@@ -6780,6 +7825,8 @@ public class ExamSchedulerApp extends Application {
      */
     private void clearCurrentSession() {
         exams.clear();
+        liveValidation.reset(null);
+        refreshValidationStatus();
         messages.clear();
         unplacedCourses.clear();
         if (statsArea != null) {
@@ -6796,7 +7843,7 @@ public class ExamSchedulerApp extends Application {
     public static class ExamEntry {
         private final SimpleStringProperty id, courseId, timeSlot, roomId;
         private final SimpleIntegerProperty day, enrolled;
-        private final Exam exam;
+        private Exam exam;
 
         public ExamEntry(Exam exam, String id, String courseId, int day, String timeSlot, String roomId, int enrolled) {
             this.exam = exam;
@@ -6812,6 +7859,10 @@ public class ExamSchedulerApp extends Application {
             return exam;
         }
 
+        public void setExam(Exam exam) {
+            this.exam = exam;
+        }
+
         public String getId() {
             return id.get();
         }